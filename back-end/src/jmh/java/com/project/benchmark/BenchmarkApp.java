@@ -0,0 +1,139 @@
+package com.project.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.code.CodeApplication;
+import com.project.code.Model.Review;
+import com.project.code.Repo.ReviewRepository;
+import com.project.code.Service.ProductSearchIndex;
+
+/**
+ * Shared benchmark state: a full application context on an in-memory H2 database
+ * and an in-memory review store, seeded from {@code insert_data.sql} and
+ * {@code reviews.json} and scaled up to {@link #products} products.
+ * <p>
+ * The seed products are cloned (name and SKU suffixed) until the requested size
+ * is reached; every clone is stocked by one store and gets one review cloned
+ * from {@code reviews.json}. The data directory defaults to the repository root
+ * and can be changed with {@code -Dbench.data.dir=...}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class BenchmarkApp {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int products;
+
+    public ConfigurableApplicationContext context;
+    public ObjectMapper objectMapper;
+
+    /** Store/product pairs that have reviews in {@code reviews.json}. */
+    public List<long[]> reviewedProducts;
+
+    private int stores;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        context = new SpringApplicationBuilder(CodeApplication.class, FakeReviewRepository.Config.class)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:bench-" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "spring.data.mongodb.repositories.type=none",
+                "spring.main.banner-mode=off",
+                "spring.main.web-application-type=none",
+                "logging.level.root=WARN",
+                "app.inventory.snapshot-check-interval-ms=3600000")
+            .run();
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        Path dataDir = Path.of(System.getProperty("bench.data.dir", ".."));
+        seedDatabase(context.getBean(JdbcTemplate.class), Files.readString(dataDir.resolve("insert_data.sql")));
+        seedReviews(context.getBean(ReviewRepository.class), dataDir.resolve("reviews.json"));
+
+        //The search index is built when the application starts, before the seed data existed
+        context.getBean(ProductSearchIndex.class).load();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        SpringApplication.exit(context);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Loads the products, stores, inventory and customers of the seed script and
+     * clones the products until the requested catalog size is reached.
+     */
+    private void seedDatabase(JdbcTemplate jdbc, String script) {
+        for (String statement : script.split(";\\s*\\n")) {
+            String sql = statement.strip();
+            String lower = sql.toLowerCase(Locale.ROOT);
+            if (lower.startsWith("insert into product") || lower.startsWith("insert into store")
+                || lower.startsWith("insert into inventory") || lower.startsWith("insert into customer")) {
+                jdbc.execute(sql);
+            }
+        }
+
+        List<Object[]> seed = jdbc.query("SELECT name, category, price, sku FROM product ORDER BY id",
+            (rs, row) -> new Object[] {rs.getString(1), rs.getString(2), rs.getDouble(3), rs.getString(4)});
+        stores = jdbc.queryForObject("SELECT COUNT(*) FROM store", Integer.class);
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int id = seed.size() + 1; id <= products; id++) {
+            Object[] template = seed.get((id - 1) % seed.size());
+            int copy = (id - 1) / seed.size();
+            batch.add(new Object[] {template[0] + " #" + copy, template[1], template[2], template[3] + "-" + copy});
+            if (batch.size() == BATCH_SIZE || id == products) {
+                jdbc.batchUpdate("INSERT INTO product (name, category, price, sku) VALUES (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        jdbc.update("INSERT INTO inventory (product_id, store_id, stock_level) "
+            + "SELECT id, MOD(id, ?) + 1, 1000 FROM product WHERE id > ?", stores, seed.size());
+
+        //Orders must never run out of stock during a measurement
+        jdbc.update("UPDATE inventory SET stock_level = 1000000000");
+    }
+
+    /**
+     * Loads {@code reviews.json} and clones one review for every product of the scaled catalog.
+     */
+    private void seedReviews(ReviewRepository reviewRepository, Path file) throws IOException {
+        List<Review> templates = objectMapper.readValue(file.toFile(), new TypeReference<List<Review>>() {});
+
+        List<Review> reviews = new ArrayList<>(templates);
+        reviewedProducts = new ArrayList<>();
+        for (Review review : templates) {
+            reviewedProducts.add(new long[] {review.getStoreId(), review.getProductId()});
+        }
+        for (long productId = 51; productId <= products; productId++) {
+            Review template = templates.get((int) (productId % templates.size()));
+            reviews.add(new Review(template.getCustomerId(), productId, productId % stores + 1,
+                template.getRating(), template.getComment()));
+        }
+        reviewRepository.saveAll(reviews);
+    }
+
+}
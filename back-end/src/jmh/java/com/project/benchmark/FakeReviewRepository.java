@@ -0,0 +1,77 @@
+package com.project.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import com.project.code.Model.Review;
+import com.project.code.Repo.ReviewRepository;
+
+/**
+ * In-memory stand-in for the MongoDB review collection.
+ * <p>
+ * Only the operations used by the benchmarked endpoints are implemented; reviews
+ * are indexed by store and product, like the MongoDB query the real repository runs.
+ * </p>
+ */
+final class FakeReviewRepository {
+
+    private final Map<String, List<Review>> byStoreAndProduct = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    private FakeReviewRepository() {
+    }
+
+    static ReviewRepository create() {
+        FakeReviewRepository store = new FakeReviewRepository();
+        return (ReviewRepository) Proxy.newProxyInstance(
+            ReviewRepository.class.getClassLoader(),
+            new Class<?>[] {ReviewRepository.class},
+            (proxy, method, args) -> switch (method.getName()) {
+                case "findByStoreIdAndProductId" -> store.find((Long) args[0], (Long) args[1]);
+                case "saveAll" -> store.saveAll((Iterable<?>) args[0]);
+                case "count" -> store.count();
+                case "toString" -> "FakeReviewRepository";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(method.getName());
+            });
+    }
+
+    private List<Review> find(Long storeId, Long productId) {
+        return List.copyOf(byStoreAndProduct.getOrDefault(storeId + ":" + productId, List.of()));
+    }
+
+    private List<Review> saveAll(Iterable<?> reviews) {
+        List<Review> saved = new ArrayList<>();
+        for (Object item : reviews) {
+            Review review = (Review) item;
+            review.setId(Long.toHexString(ids.incrementAndGet()));
+            byStoreAndProduct.computeIfAbsent(review.getStoreId() + ":" + review.getProductId(), key -> new ArrayList<>())
+                .add(review);
+            saved.add(review);
+        }
+        return saved;
+    }
+
+    private long count() {
+        return ids.get();
+    }
+
+    /** Registers the fake in place of the MongoDB repository (disabled with {@code spring.data.mongodb.repositories.type=none}). */
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        ReviewRepository reviewRepository() {
+            return create();
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.project.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator for comparing the platform-thread and
+ * virtual-thread modes of a running server.
+ * <p>
+ * Each of the {@code clients} simulated clients sends a request, waits for the
+ * response and immediately sends the next one, for {@code seconds} seconds.
+ * Requests are sent asynchronously, so thousands of clients do not need
+ * thousands of threads in the generator itself. Prints throughput, error count
+ * and latency percentiles.
+ * </p>
+ * Usage: {@code LoadTest <url> [clients=5000] [seconds=60]}, e.g. run it once against
+ * {@code mvn spring-boot:run} and once against {@code mvn -Pjava21 spring-boot:run}.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: LoadTest <url> [clients] [seconds]");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0]);
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+
+        HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .timeout(Duration.ofSeconds(30))
+            .GET()
+            .build();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+        CompletableFuture<?>[] loops = new CompletableFuture<?>[clients];
+        for (int i = 0; i < clients; i++) {
+            loops[i] = loop(httpClient, request, deadline, latencies, errors);
+        }
+        CompletableFuture.allOf(loops).join();
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        System.out.printf("clients=%d duration=%ds requests=%d errors=%d throughput=%.1f req/s%n",
+            clients, seconds, sorted.length, errors.get(), sorted.length / (double) seconds);
+        System.out.printf("latency ms: p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+            percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99), percentile(sorted, 1.0));
+    }
+
+    private static CompletableFuture<Void> loop(HttpClient httpClient, HttpRequest request, long deadline,
+            ConcurrentLinkedQueue<Long> latencies, AtomicLong errors) {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .handle((response, failure) -> {
+                if (failure != null || response.statusCode() >= 400) {
+                    errors.incrementAndGet();
+                } else {
+                    latencies.add(System.nanoTime() - start);
+                }
+                return null;
+            })
+            .thenCompose(ignored -> loop(httpClient, request, deadline, latencies, errors));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+}
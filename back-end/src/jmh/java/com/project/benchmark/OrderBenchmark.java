@@ -0,0 +1,78 @@
+package com.project.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.code.Model.OrderDetails;
+import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Model.PurchaseProductDTO;
+import com.project.code.Service.OrderService;
+
+/**
+ * Order placement ({@code POST /store/placeOrder}) with a three-line basket.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class OrderBenchmark {
+
+    @State(Scope.Thread)
+    public static class Basket {
+
+        private static final long[] PRODUCT_IDS = {1, 11, 21};
+        private static final double[] PRICES = {799.99, 1069.99, 949.99};
+
+        OrderService orderService;
+        int next;
+
+        @Setup
+        public void setUp(BenchmarkApp app) {
+            orderService = app.bean(OrderService.class);
+        }
+
+        PlaceOrderRequestDTO nextOrder() {
+            List<PurchaseProductDTO> lines = new ArrayList<>();
+            double total = 0;
+            for (int i = 0; i < PRODUCT_IDS.length; i++) {
+                PurchaseProductDTO line = new PurchaseProductDTO();
+                line.setId(PRODUCT_IDS[i]);
+                line.setPrice(PRICES[i]);
+                line.setQuantity(1);
+                line.setTotal(PRICES[i]);
+                lines.add(line);
+                total += PRICES[i];
+            }
+
+            //Cycle through a fixed set of customers so most orders hit an existing one
+            int customer = next++ % 100;
+            PlaceOrderRequestDTO request = new PlaceOrderRequestDTO();
+            request.setStoreId(1L);
+            request.setCustomerName("Bench Customer " + customer);
+            request.setCustomerEmail("bench" + customer + "@bench.test");
+            request.setCustomerPhone("555-" + customer);
+            request.setPurchaseProduct(lines);
+            request.setTotalPrice(total);
+            return request;
+        }
+    }
+
+    @Benchmark
+    public OrderDetails placeOrder(Basket basket) {
+        return basket.orderService.saveOrder(basket.nextOrder());
+    }
+
+}
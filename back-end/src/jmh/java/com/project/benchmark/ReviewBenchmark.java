@@ -0,0 +1,54 @@
+package com.project.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.code.Controller.ReviewController;
+
+/**
+ * Review listing ({@code GET /reviews/{storeId}/{productId}}), including customer
+ * name resolution and JSON serialization of the response.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReviewBenchmark {
+
+    @State(Scope.Thread)
+    public static class Endpoint {
+
+        ReviewController reviewController;
+        ObjectMapper objectMapper;
+        List<long[]> reviewedProducts;
+        int next;
+
+        @Setup
+        public void setUp(BenchmarkApp app) {
+            reviewController = app.bean(ReviewController.class);
+            objectMapper = app.objectMapper;
+            reviewedProducts = app.reviewedProducts;
+        }
+    }
+
+    @Benchmark
+    public byte[] getReviews(Endpoint endpoint) throws JsonProcessingException {
+        long[] target = endpoint.reviewedProducts.get(endpoint.next++ % endpoint.reviewedProducts.size());
+        return endpoint.objectMapper.writeValueAsBytes(endpoint.reviewController.getReviews(target[0], target[1], null, null));
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.project.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
+
+/**
+ * Review lookups on a real MongoDB with and without the {@code Review} indexes.
+ * <p>
+ * Seeds two collections with the same {@code reviews} review documents (once; they are
+ * reused by later runs) in the {@code reviews_bench} database of {@code -Dbench.mongo.uri}
+ * (default {@code mongodb://localhost:27017}). Only one of them has the
+ * {@code (storeId, productId, _id desc)} and {@code (productId, rating)} indexes.
+ * </p>
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReviewIndexBenchmark {
+
+    private static final int STORES = 10;
+    private static final int PRODUCTS = 20_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000000"})
+    public int reviews;
+
+    private MongoClient client;
+    private MongoCollection<Document> indexed;
+    private MongoCollection<Document> unindexed;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        client = MongoClients.create(System.getProperty("bench.mongo.uri", "mongodb://localhost:27017"));
+        indexed = client.getDatabase("reviews_bench").getCollection("reviews_indexed");
+        unindexed = client.getDatabase("reviews_bench").getCollection("reviews_unindexed");
+
+        seed(indexed);
+        seed(unindexed);
+        indexed.createIndex(Indexes.compoundIndex(Indexes.ascending("storeId", "productId"), Indexes.descending("_id")));
+        indexed.createIndex(Indexes.ascending("productId", "rating"));
+
+        random = new SplittableRandom(42);
+    }
+
+    private void seed(MongoCollection<Document> collection) {
+        if (collection.countDocuments() == reviews) {
+            return;
+        }
+        collection.drop();
+
+        SplittableRandom seedRandom = new SplittableRandom(7);
+        List<Document> batch = new ArrayList<>(10_000);
+        for (int i = 0; i < reviews; i++) {
+            batch.add(new Document("customerId", (long) seedRandom.nextInt(100_000))
+                .append("productId", (long) seedRandom.nextInt(PRODUCTS))
+                .append("storeId", (long) seedRandom.nextInt(STORES))
+                .append("rating", 1 + seedRandom.nextInt(5))
+                .append("comment", "Review " + i));
+            if (batch.size() == 10_000) {
+                collection.insertMany(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            collection.insertMany(batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public int findByStoreAndProductIndexed() {
+        return findByStoreAndProduct(indexed);
+    }
+
+    @Benchmark
+    public int findByStoreAndProductUnindexed() {
+        return findByStoreAndProduct(unindexed);
+    }
+
+    @Benchmark
+    public int newestPageIndexed() {
+        return newestPage(indexed);
+    }
+
+    @Benchmark
+    public int newestPageUnindexed() {
+        return newestPage(unindexed);
+    }
+
+    private int findByStoreAndProduct(MongoCollection<Document> collection) {
+        int found = 0;
+        for (Document ignored : collection.find(Filters.and(
+                Filters.eq("storeId", (long) random.nextInt(STORES)),
+                Filters.eq("productId", (long) random.nextInt(PRODUCTS))))) {
+            found++;
+        }
+        return found;
+    }
+
+    private int newestPage(MongoCollection<Document> collection) {
+        int found = 0;
+        for (Document ignored : collection.find(Filters.and(
+                Filters.eq("storeId", (long) random.nextInt(STORES)),
+                Filters.eq("productId", (long) random.nextInt(PRODUCTS))))
+                .sort(Sorts.descending("_id"))
+                .limit(PAGE_SIZE)) {
+            found++;
+        }
+        return found;
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.project.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.code.Controller.InventoryController;
+import com.project.code.Controller.ProductController;
+
+/**
+ * Product search endpoints, including JSON serialization of the response.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SearchBenchmark {
+
+    @State(Scope.Thread)
+    public static class Endpoints {
+
+        ProductController productController;
+        InventoryController inventoryController;
+        ObjectMapper objectMapper;
+
+        @Setup
+        public void setUp(BenchmarkApp app) {
+            productController = app.bean(ProductController.class);
+            inventoryController = app.bean(InventoryController.class);
+            objectMapper = app.objectMapper;
+        }
+    }
+
+    /** {@code GET /product/searchProduct/{name}} */
+    @Benchmark
+    public byte[] searchCatalog(Endpoints endpoints) throws JsonProcessingException {
+        return endpoints.objectMapper.writeValueAsBytes(endpoints.productController.searchProduct("galaxy"));
+    }
+
+    /** {@code GET /product/category/{name}/{category}} */
+    @Benchmark
+    public byte[] searchCatalogByCategory(Endpoints endpoints) throws JsonProcessingException {
+        return endpoints.objectMapper.writeValueAsBytes(endpoints.productController.filterByCategoryProduct("tv", "TV and AV"));
+    }
+
+    /** {@code GET /inventory/search/{name}/{storeId}} */
+    @Benchmark
+    public byte[] searchStore(Endpoints endpoints) throws JsonProcessingException {
+        return endpoints.objectMapper.writeValueAsBytes(endpoints.inventoryController.searchProduct("sony", 3L));
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.project.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.collection.spi.PersistentBag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.project.code.Model.Product;
+import com.project.code.Model.ProductDTO;
+import com.project.code.Model.ReviewDTO;
+
+/**
+ * JSON serialization of catalog and review responses: the entities and maps the
+ * endpoints used to return against the record DTOs, with and without Blackbird.
+ * <p>
+ * No application context is started; the mappers are built like Spring Boot's,
+ * with the Hibernate module. The entity products carry an uninitialized
+ * {@code inventories} collection, as loaded products do. The size of every
+ * response is printed once per trial, e.g. run with
+ * {@code -Djmh.args="-p size=1000 SerializationBenchmark"}.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class SerializationBenchmark {
+
+    @State(Scope.Thread)
+    public static class Responses {
+
+        /** Number of products or reviews per response. */
+        @Param({"100", "1000"})
+        public int size;
+
+        /** {@code entity}: what the endpoints returned before, {@code dto}: the record views. */
+        @Param({"entity", "dto"})
+        public String view;
+
+        @Param({"default", "blackbird"})
+        public String mapper;
+
+        ObjectMapper objectMapper;
+        Map<String, Object> catalog;
+        Map<String, Object> reviews;
+
+        @Setup
+        public void setUp() throws JsonProcessingException {
+            Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+            objectMapper = mapper.equals("blackbird")
+                ? builder.modulesToInstall(new Hibernate6Module(), new BlackbirdModule()).build()
+                : builder.modulesToInstall(new Hibernate6Module()).build();
+
+            List<Object> products = new ArrayList<>(size);
+            List<Object> reviewList = new ArrayList<>(size);
+            for (int i = 1; i <= size; i++) {
+                Product product = new Product();
+                product.setId((long) i);
+                product.setName("Galaxy S" + i + " Ultra 256GB");
+                product.setCategory("Mobile");
+                product.setPrice(999.99 + i);
+                product.setSku("SKU-MOB-" + (100000 + i));
+                product.setVersion(3L);
+                product.setInventories(new PersistentBag<>());
+                products.add(view.equals("dto") ? ProductDTO.of(product) : product);
+
+                String id = String.format("65f1c0a2b3d4e5f6a7b8%04x", i);
+                String comment = "Great phone, the battery lasts two days and the camera is excellent.";
+                if (view.equals("dto")) {
+                    reviewList.add(new ReviewDTO(id, comment, 1 + i % 5, "Customer " + i));
+                } else {
+                    Map<String, Object> review = new HashMap<>();
+                    review.put("id", id);
+                    review.put("review", comment);
+                    review.put("rating", 1 + i % 5);
+                    review.put("customerName", "Customer " + i);
+                    reviewList.add(review);
+                }
+            }
+            catalog = Map.of("products", products);
+            reviews = Map.of("reviews", reviewList);
+
+            System.out.printf("%n%s/%s, %d per response: catalog %d bytes, reviews %d bytes%n", view, mapper, size,
+                objectMapper.writeValueAsBytes(catalog).length, objectMapper.writeValueAsBytes(reviews).length);
+        }
+    }
+
+    /** {@code GET /product} */
+    @Benchmark
+    public byte[] catalog(Responses responses) throws JsonProcessingException {
+        return responses.objectMapper.writeValueAsBytes(responses.catalog);
+    }
+
+    /** {@code GET /reviews/{storeId}/{productId}} */
+    @Benchmark
+    public byte[] reviews(Responses responses) throws JsonProcessingException {
+        return responses.objectMapper.writeValueAsBytes(responses.reviews);
+    }
+
+}
@@ -0,0 +1,171 @@
+package com.project.code.Controller;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.project.code.Service.SalesRollupService;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+
+/**
+ * Controller for the sales analytics of a store.
+ * <p>
+ * Every endpoint is answered from the daily sales rollup maintained by the
+ * {@link SalesRollupService}, so the cost depends on the number of days and
+ * products in the range, not on the size of the order history. Date ranges are
+ * ISO dates ({@code 2024-05-31}), both ends included, and default to the last
+ * 30 days.
+ * </p>
+ */
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+    private static final int DEFAULT_TOP_SELLERS = 10;
+    private static final int MAX_TOP_SELLERS = 1000;
+    private static final int DEFAULT_VELOCITY_DAYS = 28;
+    private static final int MAX_VELOCITY_DAYS = 366;
+
+    /**
+     * Retrieves the best selling products of a store by units sold.
+     * @param storeId The ID of the store.
+     * @param from The first day (defaults to 29 days before {@code to}).
+     * @param to The last day (defaults to today).
+     * @param limit The maximum number of products.
+     * @param response The HTTP response to set status.
+     * @return A map with the {@code topSellers} (product ID, name, category, units and revenue).
+     */
+    @GetMapping("top-sellers/{storeId}")
+    public Map<String, Object> getTopSellers(
+        @PathVariable Long storeId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @RequestParam(required = false) Integer limit,
+        HttpServletResponse response
+    ) {
+        Map<String, Object> map = new HashMap<>();
+
+        LocalDate last = to == null ? LocalDate.now() : to;
+        LocalDate first = from == null ? last.minusDays(DEFAULT_RANGE_DAYS - 1) : from;
+        if (first.isAfter(last)) {
+            map.put("message", "The start date must not be after the end date");
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return map;
+        }
+        int size = (limit == null || limit <= 0) ? DEFAULT_TOP_SELLERS : Math.min(limit, MAX_TOP_SELLERS);
+
+        map.put("from", first);
+        map.put("to", last);
+        map.put("topSellers", salesRollupService.getTopSellers(storeId, first, last, size));
+        return map;
+    }
+
+
+    /**
+     * Retrieves the units sold and the revenue of a store per product category.
+     * @param storeId The ID of the store.
+     * @param from The first day (defaults to 29 days before {@code to}).
+     * @param to The last day (defaults to today).
+     * @param response The HTTP response to set status.
+     * @return A map with the {@code categories}, highest revenue first.
+     */
+    @GetMapping("revenue-by-category/{storeId}")
+    public Map<String, Object> getRevenueByCategory(
+        @PathVariable Long storeId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        HttpServletResponse response
+    ) {
+        Map<String, Object> map = new HashMap<>();
+
+        LocalDate last = to == null ? LocalDate.now() : to;
+        LocalDate first = from == null ? last.minusDays(DEFAULT_RANGE_DAYS - 1) : from;
+        if (first.isAfter(last)) {
+            map.put("message", "The start date must not be after the end date");
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return map;
+        }
+
+        map.put("from", first);
+        map.put("to", last);
+        map.put("categories", salesRollupService.getRevenueByCategory(storeId, first, last));
+        return map;
+    }
+
+
+    /**
+     * Retrieves the sales velocity (average units per day) of the products a store sold recently,
+     * with their stock level and the number of days that stock lasts at that rate.
+     * @param storeId The ID of the store.
+     * @param days The number of days to average over, today included.
+     * @param response The HTTP response to set status.
+     * @return A map with the {@code products}, fastest selling first.
+     */
+    @GetMapping("velocity/{storeId}")
+    public Map<String, Object> getVelocity(
+        @PathVariable Long storeId,
+        @RequestParam(required = false) Integer days,
+        HttpServletResponse response
+    ) {
+        Map<String, Object> map = new HashMap<>();
+
+        int window = days == null ? DEFAULT_VELOCITY_DAYS : days;
+        if (window <= 0 || window > MAX_VELOCITY_DAYS) {
+            map.put("message", "days must be between 1 and " + MAX_VELOCITY_DAYS);
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return map;
+        }
+
+        map.put("days", window);
+        map.put("products", salesRollupService.getVelocity(storeId, window));
+        return map;
+    }
+
+
+    /**
+     * Recomputes the daily sales rollup of a date range from the orders, e.g. to backfill
+     * the history placed before the rollup existed. The most recent days are also rebuilt
+     * nightly, see {@code app.sales.rollup-rebuild-cron}.
+     * @param from The first day to rebuild.
+     * @param to The last day to rebuild (defaults to today).
+     * @param response The HTTP response to set status.
+     * @return A map with the number of {@code rows} written.
+     */
+    @PostMapping("rollup/rebuild")
+    public Map<String, Object> rebuildRollup(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        HttpServletResponse response
+    ) {
+        Map<String, Object> map = new HashMap<>();
+
+        LocalDate last = to == null ? LocalDate.now() : to;
+        if (from.isAfter(last)) {
+            map.put("message", "The start date must not be after the end date");
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return map;
+        }
+
+        int rows = salesRollupService.rebuild(from, last);
+
+        map.put("message", "Rebuilt daily sales from " + from + " to " + last);
+        map.put("rows", rows);
+        return map;
+    }
+
+}
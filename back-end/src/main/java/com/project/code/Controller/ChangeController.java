@@ -0,0 +1,100 @@
+package com.project.code.Controller;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.project.code.Service.ChangeStreamService;
+import com.project.code.Service.ChangeStreamService.ChangePage;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+
+/**
+ * Controller for the change stream of the inventory, catalogue and orders.
+ * <p>
+ * Every committed change has an offset in the change log. Instead of downloading
+ * whole store catalogues, a client keeps the offset of the last change it applied
+ * and asks only for the following ones, either by polling {@code GET /changes}
+ * or by staying subscribed to {@code GET /changes/stream}.
+ * </p>
+ */
+@RestController
+@RequestMapping("/changes")
+public class ChangeController {
+
+    @Autowired
+    private ChangeStreamService changeStreamService;
+
+    private static final int DEFAULT_LIMIT = 500;
+    private static final int MAX_LIMIT = 10_000;
+
+    /**
+     * Retrieves the changes recorded from an offset on.
+     * @param from The offset of the first change (defaults to 0).
+     * @param storeId Only return the changes of this store and those not tied to a store (all if omitted).
+     * @param limit The maximum number of log entries to read.
+     * @param response The HTTP response to set status.
+     * @return A map with the {@code changes}, the {@code nextOffset} to poll from and the {@code headOffset}.
+     */
+    @GetMapping
+    public Map<String, Object> getChanges(
+        @RequestParam(required = false) Long from,
+        @RequestParam(required = false) Long storeId,
+        @RequestParam(required = false) Integer limit,
+        HttpServletResponse response
+    ) {
+        Map<String, Object> map = new HashMap<>();
+
+        long first = from == null ? 0 : from;
+        if (first < 0) {
+            map.put("message", "The offset must not be negative");
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return map;
+        }
+        int size = (limit == null || limit <= 0) ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+
+        ChangePage page = changeStreamService.read(first, storeId, size);
+        map.put("changes", page.changes());
+        map.put("nextOffset", page.nextOffset());
+        map.put("headOffset", changeStreamService.getHeadOffset());
+        return map;
+    }
+
+
+    /**
+     * Streams the changes as server-sent events, named after the change type, with the offset as event ID.
+     * <p>
+     * Without {@code from} only new changes are sent. A reconnecting client resumes after
+     * the last event it received through the standard {@code Last-Event-ID} header.
+     * </p>
+     * @param from The offset of the first change to send.
+     * @param storeId Only stream the changes of this store and those not tied to a store (all if omitted).
+     * @param lastEventId The ID of the last event received, sent by the client when reconnecting.
+     * @param response The HTTP response to set status.
+     * @return The event stream, or null if the offset is invalid.
+     */
+    @GetMapping(value = "stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+        @RequestParam(required = false) Long from,
+        @RequestParam(required = false) Long storeId,
+        @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+        HttpServletResponse response
+    ) {
+        long first = lastEventId != null ? lastEventId + 1 : from != null ? from : changeStreamService.getHeadOffset();
+        if (first < 0) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return null;
+        }
+        return changeStreamService.subscribe(first, storeId);
+    }
+
+}
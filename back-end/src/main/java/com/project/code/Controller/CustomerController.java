@@ -0,0 +1,75 @@
+package com.project.code.Controller;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.project.code.Model.OrderSummaryView;
+import com.project.code.Repo.CustomerRepository;
+import com.project.code.Repo.OrderDetailsRepository;
+import com.project.code.config.PageSizePolicy;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * REST Controller for customer data.
+ * <p>
+ * A customer's order history is never loaded with the customer itself; it is
+ * served here one page at a time, newest orders first.
+ * </p>
+ */
+@RestController
+@RequestMapping("/customer")
+public class CustomerController {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderDetailsRepository orderDetailsRepository;
+
+    @Autowired
+    private PageSizePolicy pageSizePolicy;
+
+
+    /**
+     * Retrieves one page of a customer's order history.
+     * @param id The ID of the customer.
+     * @param before Return only orders with an ID lower than this one (the {@code nextCursor} of the previous page).
+     * @param size The maximum number of orders per page.
+     * @param response The HTTP response for 404 handling.
+     * @return A map containing the orders and the {@code nextCursor} (null on the last page).
+     */
+    @GetMapping("/{id}/orders")
+    public Map<String, Object> getOrderHistory(
+        @PathVariable Long id,
+        @RequestParam(required = false) Long before,
+        @RequestParam(required = false) Integer size,
+        HttpServletResponse response
+    ) {
+        Map<String, Object> map = new HashMap<>();
+
+        if (!customerRepository.existsById(id)) {
+            map.put("message", "Customer not found with id: " + id);
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return map;
+        }
+
+        int limit = pageSizePolicy.clamp(size);
+        List<OrderSummaryView> page = orderDetailsRepository.findHistoryPage(id, before == null ? Long.MAX_VALUE : before, Limit.of(limit));
+
+        map.put("orders", page);
+        map.put("nextCursor", page.size() < limit ? null : page.get(page.size() - 1).getId());
+
+        return map;
+    }
+
+}
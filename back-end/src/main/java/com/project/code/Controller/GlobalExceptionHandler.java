@@ -4,7 +4,9 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -35,12 +37,51 @@ public Map<String, Object> handleJsonParseExeption(HttpMessageNotReadableExcepti
     return map;
 }
 
+// 3. Define the `handleDataIntegrityViolation` Method:
+//    - Creates rely on the database constraints instead of checking first, so a duplicate surfaces here.
+//    - Responds with a readable message for the violated constraint (the constraint name is looked up in the
+//      exception messages, which every database includes), never the raw SQL error.
+//    - A duplicate responds **409 Conflict**; a reference to a missing product or store responds **404 Not Found**.
+
+private static final Map<String, String> CONSTRAINT_MESSAGES = Map.of(
+    "uk_product_name", "Product already present in database",
+    "uk_product_sku", "A product with this SKU already exists",
+    "uk_inventory_product_store", "Data already present in inventory",
+    "fk_inventory_product", "Product not found",
+    "fk_inventory_store", "Store not found"
+);
+
 @ExceptionHandler(DataIntegrityViolationException.class)
+public ResponseEntity<Map<String, String>> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+    Map<String, String> map = new HashMap<>();
+
+    String message = "The data conflicts with existing data";
+    HttpStatus status = HttpStatus.CONFLICT;
+    for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+        String text = String.valueOf(cause.getMessage()).toLowerCase();
+        String known = CONSTRAINT_MESSAGES.keySet().stream().filter(text::contains).findFirst().orElse(null);
+        if (known != null) {
+            message = CONSTRAINT_MESSAGES.get(known);
+            if (known.startsWith("fk_")) {
+                status = HttpStatus.NOT_FOUND;
+            }
+            break;
+        }
+    }
+    map.put("message", message);
+
+    return ResponseEntity.status(status).body(map);
+}
+
+// 4. Define the `handleOptimisticLockingFailure` Method:
+//    - An update carrying a version that is no longer current (the entity was changed meanwhile) responds **409 Conflict**.
+
+@ExceptionHandler(OptimisticLockingFailureException.class)
 @ResponseStatus(HttpStatus.CONFLICT)
-public Map<String, String> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+public Map<String, String> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
     Map<String, String> map = new HashMap<>();
 
-    map.put("message", ex.getMessage());
+    map.put("message", "The data was changed by another request, reload it and try again");
 
     return map;
 }
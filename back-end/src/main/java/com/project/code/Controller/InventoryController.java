@@ -1,21 +1,42 @@
 package com.project.code.Controller;
 
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.project.code.Model.CombinedRequest;
 import com.project.code.Model.Inventory;
+import com.project.code.Model.InventoryDTO;
 import com.project.code.Model.Product;
-import com.project.code.Repo.InventoryRepository;
-import com.project.code.Repo.ProductRepository;
+import com.project.code.Model.PurchaseProductDTO;
 import com.project.code.Service.ServiceClass;
+import com.project.code.Service.ContentVersionService;
+import com.project.code.Service.InventoryCsvService;
 import com.project.code.Service.InventoryService;
+import com.project.code.Service.InventorySnapshotService;
+import com.project.code.Service.LowStockMonitor;
+import com.project.code.Service.ProductService;
+import com.project.code.Service.SseLowStockSink;
+import com.project.code.Service.StockAvailabilityService;
+import com.project.code.config.PageSizePolicy;
 
 import jakarta.servlet.http.HttpServletResponse;
 
@@ -31,7 +52,9 @@ import org.springframework.web.bind.annotation.DeleteMapping;
  * Controller for managing Inventory and stock levels across different stores.
  * <p>
  * Provides endpoints for updating stock, validating quantity availability,
- * and filtering products based on store-specific inventory.
+ * and filtering products based on store-specific inventory. Store reads are
+ * served from the {@link InventorySnapshotService} instead of the database.
+ * Low-stock alerts raised by the {@link LowStockMonitor} are listed and streamed here.
  * </p>
  */
 @RestController
@@ -39,16 +62,34 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 public class InventoryController {
 
     @Autowired
-    private ProductRepository productRepository;
+    private ServiceClass serviceClass;
 
     @Autowired
-    private InventoryRepository inventoryRepository;
+    private InventoryService inventoryService;
 
     @Autowired
-    private ServiceClass serviceClass;
+    private ProductService productService;
 
     @Autowired
-    private InventoryService inventoryService;
+    private InventorySnapshotService inventorySnapshotService;
+
+    @Autowired
+    private StockAvailabilityService stockAvailabilityService;
+
+    @Autowired
+    private InventoryCsvService inventoryCsvService;
+
+    @Autowired
+    private LowStockMonitor lowStockMonitor;
+
+    @Autowired
+    private SseLowStockSink sseLowStockSink;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private PageSizePolicy pageSizePolicy;
 
     /**
      * Updates both product details and its associated inventory stock level.
@@ -71,18 +112,12 @@ public class InventoryController {
             return map;
         }
 
-        productRepository.save(product);
+        productService.saveProduct(product);
 
         map.put("message", "Successfully updated product with id: " + product.getId());
         
         if (inventory != null) {
-            Inventory result = serviceClass.getInventoryId(inventory);
-            if (result != null) {
-                inventory.setId(result.getId());
-                //inventoryRepository.save(inventory);
-                // This logic was moved to InventoryService
-                inventoryService.saveInventory(inventory);
-            } else {
+            if (!inventoryService.updateStockLevel(inventory)) {
                 map.put("message", "No data available for this product");
                 response.setStatus(HttpServletResponse.SC_NO_CONTENT);
                 return map;
@@ -96,6 +131,11 @@ public class InventoryController {
     
     /**
      * Records a new inventory entry.
+     * <p>
+     * The entry is inserted directly; if the product is already stocked at the store the
+     * unique constraint rejects it and the {@link GlobalExceptionHandler} answers 409;
+     * an unknown product or store is answered 404 the same way.
+     * </p>
      * @param inventory The inventory object to save.
      * @param response The HTTP response to set status.
      * @return Success or conflict message.
@@ -104,14 +144,15 @@ public class InventoryController {
     public Map<String, String> saveInventory(@RequestBody Inventory inventory, HttpServletResponse response) {
         Map<String, String> map = new HashMap<>();
 
-        if (serviceClass.validateInventory(inventory)) {
-            inventoryService.saveInventory(inventory);
-        } else {
-            map.put("message", "Data already present in inventory");
-            response.setStatus(HttpServletResponse.SC_CONFLICT);
+        if (inventory.getProduct() == null || inventory.getStore() == null) {
+            map.put("message", "Product and store are required");
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             return map;
         }
 
+        inventory.setId(null);
+        inventoryService.saveInventory(inventory);
+
         map.put(("message"), "Product added to inventory successfully");
         response.setStatus(HttpServletResponse.SC_CREATED);
         return map;
@@ -119,16 +160,50 @@ public class InventoryController {
 
 
     /**
-     * Retrieves all products associated with a specific store.
+     * Retrieves the products associated with a specific store.
+     * <p>
+     * When {@code after} or {@code size} is given, one keyset page is returned
+     * together with the {@code nextCursor} for the following page.
+     * </p>
+     * <p>
+     * The response carries the version of the store's inventory as ETag; a request
+     * whose {@code If-None-Match} matches it is answered 304 Not Modified without
+     * reading the inventory.
+     * </p>
      * @param storeid The ID of the store.
-     * @return List of products
+     * @param after Return only products with an ID greater than this one.
+     * @param size The maximum number of products per page.
+     * @param request The request, for the conditional headers.
+     * @param response The HTTP response to set headers.
+     * @return List of products with their stock level, null if not modified.
      */
     @GetMapping("/{storeid}")
-    public Map<String, Object> getAllProducts(@PathVariable Long storeid) {
+    public Map<String, Object> getAllProducts(
+        @PathVariable Long storeid,
+        @RequestParam(required = false) Long after,
+        @RequestParam(required = false) Integer size,
+        WebRequest request,
+        HttpServletResponse response
+    ) {
         Map<String, Object> map = new HashMap<>();
 
-        List<Product> result = productRepository.findProductsByStoreId(storeid);
-        map.put("products", result);
+        //Taken before the snapshot is read, so a concurrent change can only make the ETag older than the body
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (request.checkNotModified(contentVersionService.getStoreETag(storeid))) {
+            return null;
+        }
+
+        if (after == null && size == null) {
+            List<InventoryDTO> result = inventorySnapshotService.getSnapshot(storeid).getInventory();
+            map.put("products", result);
+            return map;
+        }
+
+        int limit = pageSizePolicy.clamp(size);
+        List<InventoryDTO> page = inventorySnapshotService.getSnapshot(storeid).getPage(after == null ? 0L : after, limit);
+
+        map.put("products", page);
+        map.put("nextCursor", page.size() < limit ? null : page.get(page.size() - 1).id());
 
         return map;
     }
@@ -154,22 +229,24 @@ public class InventoryController {
         Map<String, Object> map = new HashMap<>();
 
         if (category == null) {
-            map.put("product", productRepository.findByNameLike(storeid, name));
+            map.put("product", productService.searchStoreProducts(name, null, inventorySnapshotService.getSnapshot(storeid)));
             return map;
         } else if (name == null) {
             System.out.println("name is null");
-            map.put("product", productRepository.findByCategoryAndStoreId(storeid, category));
+            map.put("product", inventorySnapshotService.getSnapshot(storeid).getInventory().stream()
+                .filter(product -> category.equals(product.category()))
+                .toList());
             return map;
         }
 
-        map.put("product", productRepository.findByNameAndCategory(storeid, name, category));
+        map.put("product", productService.searchStoreProducts(name, category, inventorySnapshotService.getSnapshot(storeid)));
         return map;
     }
 
 
     /**
-     * Searches for products by a partial name match.
-     * @param name The product name to search.
+     * Searches the products of a store by name, SKU or category, most relevant first.
+     * @param name The text to search for.
      * @param storeId The store ID to search.
      * @return A map containing the result of the search.
      */
@@ -177,7 +254,7 @@ public class InventoryController {
     public Map<String, Object> searchProduct(@PathVariable String name, @PathVariable Long storeId) {
         Map<String, Object> map = new HashMap<>();
 
-        map.put("product", productRepository.findByNameLike(storeId, name));
+        map.put("product", productService.searchStoreProducts(name, null, inventorySnapshotService.getSnapshot(storeId)));
 
         return map;
     }
@@ -199,7 +276,7 @@ public class InventoryController {
             return map;
         }
 
-        inventoryRepository.deleteByProductId(id);
+        inventoryService.deleteByProductId(id);
         response.setStatus(HttpServletResponse.SC_OK);
         map.put("message", "Deleted product successfully with id: " + id);
 
@@ -209,6 +286,10 @@ public class InventoryController {
 
     /**
      * Validates if the requested quantity is available in stock.
+     * <p>
+     * Answered from memory by the {@link StockAvailabilityService}, which also
+     * accounts for stock reserved by orders in progress.
+     * </p>
      * @param quantity The quantity to check for.
      * @param storeId The store ID to check for.
      * @param productId The product ID to check for.
@@ -220,9 +301,93 @@ public class InventoryController {
         @PathVariable Long storeId,
         @PathVariable Long productId
     ) {
-        // Inventory result = inventoryRepository.findByProductIdAndStoreId(productId, storeId);
-        // This logic was moved to InventoryService
-        return inventoryService.checkStockAvailability() >= quantity;
+        return stockAvailabilityService.isAvailable(storeId, productId, quantity);
+    }
+
+
+    /**
+     * Validates a whole cart against the stock of a store in one call.
+     * @param storeId The store ID to check for.
+     * @param cart The cart lines (product ID and quantity).
+     * @return A map with {@code available} (true if every line can be ordered)
+     *         and the {@code unavailable} product IDs.
+     */
+    @PostMapping("validate/{storeId}")
+    public Map<String, Object> validateCart(@PathVariable Long storeId, @RequestBody List<PurchaseProductDTO> cart) {
+        Map<String, Object> map = new HashMap<>();
+
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        Set<Long> unavailable = new LinkedHashSet<>();
+        for (PurchaseProductDTO line : cart) {
+            if (line.getQuantity() == null || line.getQuantity() <= 0) {
+                unavailable.add(line.getId());
+            } else {
+                quantities.merge(line.getId(), line.getQuantity(), Integer::sum);
+            }
+        }
+        unavailable.addAll(stockAvailabilityService.validateCart(storeId, quantities));
+
+        map.put("available", unavailable.isEmpty());
+        map.put("unavailable", unavailable);
+        return map;
+    }
+
+
+    /**
+     * Imports stock levels in bulk from a CSV body ({@code sku,storeId,stockLevel} per line),
+     * e.g. {@code curl -H 'Content-Type: text/csv' --data-binary @stock.csv .../inventory/import}.
+     * Existing inventory rows are overwritten, new ones are created.
+     * @param csv The request body.
+     * @return A map with the number of {@code imported} and {@code rejected} rows and the first {@code errors}.
+     */
+    @PostMapping(value = "import", consumes = "text/csv")
+    public Map<String, Object> importInventory(InputStream csv) {
+        Map<String, Object> map = new HashMap<>();
+
+        InventoryCsvService.ImportResult result =
+            inventoryCsvService.importCsv(new InputStreamReader(csv, StandardCharsets.UTF_8));
+
+        map.put("message", "Imported " + result.imported() + " inventory rows");
+        map.put("imported", result.imported());
+        map.put("rejected", result.rejected());
+        map.put("errors", result.errors());
+        return map;
+    }
+
+
+    /**
+     * Streams every inventory row as CSV ({@code sku,storeId,stockLevel}), the format accepted by the import.
+     * @return The streamed response body.
+     */
+    @GetMapping(value = "export", produces = "text/csv")
+    public StreamingResponseBody exportInventory() {
+        return out -> inventoryCsvService.exportCsv(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+    }
+
+
+    /**
+     * Lists the products of a store whose stock is at or below their reorder point.
+     * @param storeId The ID of the store.
+     * @return A map with the active {@code alerts}, lowest days of stock first.
+     */
+    @GetMapping("alerts/{storeId}")
+    public Map<String, Object> getLowStockAlerts(@PathVariable Long storeId) {
+        Map<String, Object> map = new HashMap<>();
+
+        map.put("alerts", lowStockMonitor.getActiveAlerts(storeId));
+
+        return map;
+    }
+
+
+    /**
+     * Streams low-stock alerts as server-sent events ({@code low-stock}) as they are raised.
+     * @param storeId Only stream the alerts of this store (all stores if omitted).
+     * @return The event stream.
+     */
+    @GetMapping(value = "alerts/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLowStockAlerts(@RequestParam(required = false) Long storeId) {
+        return sseLowStockSink.subscribe(storeId);
     }
 
 
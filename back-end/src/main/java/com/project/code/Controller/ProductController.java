@@ -5,15 +5,27 @@ import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.project.code.Model.InventoryDTO;
 import com.project.code.Model.Product;
+import com.project.code.Model.ProductDTO;
 import com.project.code.Repo.InventoryRepository;
 import com.project.code.Repo.ProductRepository;
+import com.project.code.Service.ContentVersionService;
 import com.project.code.Service.ServiceClass;
 import com.project.code.Service.ProductService;
+import com.project.code.Service.StreamingService;
+import com.project.code.config.PageSizePolicy;
+import com.project.code.config.ReplicaRoutingDataSource;
 
 import jakarta.servlet.http.HttpServletResponse;
 
@@ -23,6 +35,7 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 
 /**
@@ -32,6 +45,10 @@ import org.springframework.web.bind.annotation.PutMapping;
  * {@link ServiceClass} and {@link ProductService} to ensure business
  * logic and data integrity.
  * </p>
+ * <p>
+ * Reads answer with {@link ProductDTO} and {@link InventoryDTO} views rather than
+ * the entities, so the JSON carries the product columns only.
+ * </p>
  */
 @RestController
 @RequestMapping("/product")
@@ -49,9 +66,22 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private StreamingService streamingService;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    @Autowired
+    private PageSizePolicy pageSizePolicy;
+
 
     /**
-     * Creates a new product after validating its existence.
+     * Creates a new product.
+     * <p>
+     * The product is inserted directly; a duplicate name or SKU is rejected by the
+     * unique constraints and answered with 409 by the {@link GlobalExceptionHandler}.
+     * </p>
      * @param product The product entity to persist.
      * @param response The HTTP response for status setting.
      * @return A map containing success or conflict messages.
@@ -60,13 +90,9 @@ public class ProductController {
     public Map<String, String> addProduct(@RequestBody Product product, HttpServletResponse response) {
         Map<String, String> map = new HashMap<>();
 
-        if (!serviceClass.validateProduct(product)) {
-            map.put("message", "Product already present in database");
-            response.setStatus(HttpServletResponse.SC_CONFLICT);
-            return map;
-        }
-
-        productRepository.save(product);
+        // Duplicate names and SKUs are rejected by the unique constraints, no lookup before the insert
+        product.setId(null);
+        productService.saveProduct(product);
         map.put("message", "Product added successfully");
         response.setStatus(HttpServletResponse.SC_CREATED);
 
@@ -76,15 +102,20 @@ public class ProductController {
 
     /**
      * Retrieves a single product by ist unique ID.
+     * <p>
+     * The response carries the product's version as ETag; a request whose
+     * {@code If-None-Match} matches it is answered 304 Not Modified from the cache.
+     * </p>
      * @param id The ID of the product.
+     * @param request The request, for the conditional headers.
      * @param response The HTTP response for 404 handling.
-     * @return The product data or an error message.
+     * @return The product data or an error message, null if not modified.
      */
     @GetMapping("/product/{id}")
-    public Map<String, Object> getProductById(@PathVariable Long id, HttpServletResponse response) {
+    public Map<String, Object> getProductById(@PathVariable Long id, WebRequest request, HttpServletResponse response) {
         Map<String, Object> map = new HashMap<>();
 
-        Product result = productRepository.findByid(id);
+        ProductDTO result = productService.findById(id);
 
         if (result == null) {
             map.put("message", "Product not found with id: " + id);
@@ -92,6 +123,11 @@ public class ProductController {
             return map;
         }
 
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (request.checkNotModified(contentVersionService.getProductETag(result))) {
+            return null;
+        }
+
         map.put("products", result);
 
         return map;
@@ -109,9 +145,12 @@ public class ProductController {
         Map<String, String> map = new HashMap<>();
 
         try {
-            productRepository.save(product);
+            productService.saveProduct(product);
             map.put("message", "Data updated successfully");
             response.setStatus(HttpServletResponse.SC_OK);
+        } catch (OptimisticLockingFailureException e) {
+            map.put("message", "Product was changed by another request, reload it and try again");
+            response.setStatus(HttpServletResponse.SC_CONFLICT);
         } catch (Exception e) {
             map.put("message", "Error occurred: " + e.getMessage());
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
@@ -120,50 +159,107 @@ public class ProductController {
         return map;
     }
 
-    
+
+    /**
+     * Filters products by a partial name and/or a category.
+     * <p>
+     * The frontend sends the string "null" for an omitted parameter.
+     * </p>
+     * @param name The text to search for, or "null".
+     * @param category The category to filter by, or "null".
+     * @return A map containing the matching products.
+     */
     @GetMapping("/category/{name}/{category}")
     public Map<String, Object> filterByCategoryProduct(@PathVariable String name, @PathVariable String category) {
         Map<String, Object> map = new HashMap<>();
 
         if (name.equals("null")) {
-            map.put("products", productRepository.findByCategory(category));
+            map.put("products", productService.findByCategory(category));
             return map;
         } else if (category.equals("null")) {
-            map.put("products", productRepository.findProductBySubNameAndCategory(name, category));
+            map.put("products", productService.searchProducts(name, null));
             return map;
         }
 
-        map.put("products", productRepository.findProductBySubName(name));
+        map.put("products", productService.searchProducts(name, category));
 
         return map;
     }
 
 
     /**
-     * Lists all products available in the system.
-     * @return A map containing a list of all products.
+     * Lists the products available in the system.
+     * <p>
+     * Without parameters the whole catalog is returned. When {@code after} or
+     * {@code size} is given, one keyset page is returned instead, together with
+     * the {@code nextCursor} to pass as {@code after} for the following page
+     * (null on the last page).
+     * </p>
+     * <p>
+     * The response carries the catalogue version as ETag; a request whose
+     * {@code If-None-Match} matches it is answered 304 Not Modified without
+     * reading the products.
+     * </p>
+     * @param after Return only products with an ID greater than this one.
+     * @param size The maximum number of products per page.
+     * @param request The request, for the conditional headers.
+     * @param response The HTTP response to set headers.
+     * @return A map containing a list of products, null if not modified.
      */
     @GetMapping
-    public Map<String, Object>  listProduct() {
+    public Map<String, Object>  listProduct(
+        @RequestParam(required = false) Long after,
+        @RequestParam(required = false) Integer size,
+        WebRequest request,
+        HttpServletResponse response
+    ) {
         Map<String, Object> map = new HashMap<>();
 
-        map.put("products", productRepository.findAll());
+        //Taken before the products are read, so a concurrent change can only make the ETag older than the body
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (request.checkNotModified(contentVersionService.getCatalogueETag())) {
+            return null;
+        }
+
+        if (after == null && size == null) {
+            map.put("products", productService.findAll());
+            return map;
+        }
+
+        int limit = pageSizePolicy.clamp(size);
+        //The ETag was taken before the read, so only a replica that has applied the change it names may answer
+        long afterId = after == null ? 0L : after;
+        List<ProductDTO> page = ReplicaRoutingDataSource.onReplicaCaughtUpTo(contentVersionService.getCatalogueChangedAt(),
+            () -> productRepository.findDTOPageAfter(afterId, Limit.of(limit)));
+
+        map.put("products", page);
+        map.put("nextCursor", page.size() < limit ? null : page.get(page.size() - 1).id());
 
         return map;
     }
 
 
+    /**
+     * Streams the whole catalog as {@code {"products": [...]}} without materializing it in memory.
+     * @return The streamed response body.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public StreamingResponseBody streamProducts() {
+        return streamingService.streamProducts();
+    }
+
+
     /**
      * Filters product by category and store.
      * @param category The category to filter by.
      * @param storeId The store ID to filter by.
-     * @return A map containing a list of products filtered by category and store ID.
+     * @return A map containing a list of products filtered by category and store ID, with their stock level.
      */
     @GetMapping("filter/{category}/{storeId}")
     public Map<String, Object> getProductByCategoryAndStoreId(@PathVariable String category, @PathVariable Long storeId) {
         Map<String, Object> map = new HashMap<>();
 
-        List<Product> result = productRepository.findProductByCategory(category, storeId);
+        List<InventoryDTO> result = inventoryRepository.findDTOByCategoryAndStoreId(category, storeId);
 
         map.put("product", result);
 
@@ -181,7 +277,7 @@ public class ProductController {
     public Map<String, String> deleteProduct(@PathVariable Long id) {
         Map<String, String> map = new HashMap<>();
 
-        if (!serviceClass.ValidateProductId(id)) {
+        if (!serviceClass.validateProductId(id)) {
             map.put("message", "Id " + id + " not present in database");
             return map;
         }
@@ -198,17 +294,18 @@ public class ProductController {
 
 
     /**
-     * Searches for products by a partial name match.
-     * @param name The name to search for.
+     * Searches for products by name, SKU or category, most relevant first.
+     * @param name The text to search for.
      * @return A map containing the result of the search.
      */
     @GetMapping("/searchProduct/{name}")
     public Map<String, Object> searchProduct(@PathVariable String name) {
         Map<String, Object> map = new HashMap<>();
         
-        map.put("products", productRepository.findProductBySubName(name));
+        map.put("products", productService.searchProducts(name, null));
 
         return map;
     }
+
      
 }
\ No newline at end of file
@@ -2,19 +2,32 @@ package com.project.code.Controller;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import com.project.code.Model.Customer;
 import com.project.code.Model.Review;
-import com.project.code.Repo.CustomerRepository;
+import com.project.code.Model.ReviewDTO;
+import com.project.code.Model.ReviewRating;
 import com.project.code.Repo.ReviewRepository;
+import com.project.code.Service.CustomerNameResolver;
+import com.project.code.Service.ReviewRatingService;
+import com.project.code.Service.StreamingService;
+import com.project.code.config.PageSizePolicy;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import jakarta.servlet.http.HttpServletResponse;
 
 
 @RestController
@@ -34,51 +47,182 @@ public class ReviewController {
 ReviewRepository reviewRepository;
 
 @Autowired
-CustomerRepository customerRepository;
+CustomerNameResolver customerNameResolver;
+
+@Autowired
+StreamingService streamingService;
+
+@Autowired
+ReviewRatingService reviewRatingService;
+
+@Autowired
+PageSizePolicy pageSizePolicy;
 
 // 3. Define the `getReviews` Method:
 //    - Annotate with `@GetMapping("/{storeId}/{productId}")` to fetch reviews for a specific product in a store by `storeId` and `productId`.
 //    - Accept `storeId` and `productId` via `@PathVariable`.
 //    - Fetch reviews using `findByStoreIdAndProductId()` method from `ReviewRepository`.
-//    - Filter reviews to include only `comment`, `rating`, and the `customerName` associated with the review.
-//    - Use `findById(review.getCustomerId())` from `CustomerRepository` to get customer name.
+//    - Filter reviews to include only `comment`, `rating`, and the `customerName` associated with the review (`ReviewDTO`).
+//    - Resolve all customer names at once with `CustomerNameResolver` (one query for the whole page, cached).
 //    - Return filtered reviews in a `Map<String, Object>` with key `reviews`.
+//    - With `before` and/or `size`, return one page of reviews instead, newest first, plus the `nextCursor`
+//      (the ID to pass as `before` for the next page, null on the last page).
 
 @GetMapping("/{storeId}/{productId}")
-public Map<String, Object> getReviews(@PathVariable Long storeId, @PathVariable Long productId) {
+public Map<String, Object> getReviews(
+    @PathVariable Long storeId,
+    @PathVariable Long productId,
+    @RequestParam(required = false) String before,
+    @RequestParam(required = false) Integer size
+) {
     Map<String, Object> map = new HashMap<>();
 
+    if (before != null || size != null) {
+        int limit = pageSizePolicy.clamp(size);
+        List<Review> page = before == null
+            ? reviewRepository.findByStoreIdAndProductIdOrderByIdDesc(storeId, productId, Limit.of(limit))
+            : reviewRepository.findByStoreIdAndProductIdAndIdLessThanOrderByIdDesc(storeId, productId, before, Limit.of(limit));
+
+        List<Long> customerIds = new ArrayList<>(page.size());
+        for (Review review : page) {
+            customerIds.add(review.getCustomerId());
+        }
+
+        map.put("reviews", withCustomerNames(page, customerNameResolver.resolveNames(customerIds)));
+        map.put("nextCursor", page.size() < limit ? null : page.get(page.size() - 1).getId());
+        return map;
+    }
+
     List<Review> reviews = reviewRepository.findByStoreIdAndProductId(storeId, productId);
 
-    List<Map<String, Object>> reviewsWithCustomerNames = new ArrayList<>();
+    List<Long> customerIds = new ArrayList<>(reviews.size());
+    for (Review review : reviews) {
+        customerIds.add(review.getCustomerId());
+    }
+
+    map.put("reviews", withCustomerNames(reviews, customerNameResolver.resolveNames(customerIds)));
+
+    return map;
+}
+
+private static List<ReviewDTO> withCustomerNames(List<Review> reviews, Map<Long, String> customerNames) {
+    List<ReviewDTO> reviewsWithCustomerNames = new ArrayList<>(reviews.size());
 
     for (Review review : reviews) {
-        Map<String, Object> reviewMap = new HashMap<>();
-        reviewMap.put("review", review.getComment());
-        reviewMap.put("rating", review.getRating());
+        reviewsWithCustomerNames.add(new ReviewDTO(review.getId(), review.getComment(), review.getRating(),
+            customerNames.getOrDefault(review.getCustomerId(), "Unknown")));
+    }
 
-        Customer customer = customerRepository.findByid(review.getCustomerId());
+    return reviewsWithCustomerNames;
+}
 
-        if (customer != null) {
-            reviewMap.put("customerName", customer.getName());
-        } else {
-            reviewMap.put("customerName", "Unknown");
-        }
+// 4. Define the `getAllReviews` Method:
+//    - Without parameters, returns every review.
+//    - With `after` and/or `size`, returns one keyset page ordered by review ID plus the `nextCursor` for the next page.
+
+@GetMapping
+public Map<String, Object> getAllReviews(
+    @RequestParam(required = false) String after,
+    @RequestParam(required = false) Integer size
+) {
+    Map<String, Object> map = new HashMap<>();
 
-        reviewsWithCustomerNames.add(reviewMap);
+    if (after == null && size == null) {
+        map.put("reviews", reviewRepository.findAll());
+        return map;
     }
 
-    map.put("reviews", reviewsWithCustomerNames);
+    int limit = pageSizePolicy.clamp(size);
+    List<Review> page = after == null
+        ? reviewRepository.findAllByOrderByIdAsc(Limit.of(limit))
+        : reviewRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit));
+
+    map.put("reviews", page);
+    map.put("nextCursor", page.size() < limit ? null : page.get(page.size() - 1).getId());
 
     return map;
 }
 
-@GetMapping
-public Map<String, Object> getAllReviews() {
+// 5. Define the `streamReviews` Method:
+//    - Streams every review as `{"reviews": [...]}` from a Mongo cursor without materializing the collection.
+
+@GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+public StreamingResponseBody streamReviews() {
+    return streamingService.streamReviews();
+}
+
+// 6. Define the `addReview` Method:
+//    - Saves a review (rating 1 to 5) and increments its product's rating aggregate in `ReviewRatingService`.
+//    - Returns 201, or 400 when a required field is missing or the rating is out of range.
+
+@PostMapping
+public Map<String, Object> addReview(@RequestBody Review review, HttpServletResponse response) {
+    Map<String, Object> map = new HashMap<>();
+
+    if (review.getCustomerId() == null || review.getStoreId() == null || review.getProductId() == null
+            || review.getRating() == null
+            || review.getRating() < ReviewRatingService.MIN_RATING || review.getRating() > ReviewRatingService.MAX_RATING) {
+        map.put("message", "customerId, storeId, productId and a rating from "
+            + ReviewRatingService.MIN_RATING + " to " + ReviewRatingService.MAX_RATING + " are required");
+        response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        return map;
+    }
+
+    review.setId(null);
+    Review saved = reviewRepository.save(review);
+    reviewRatingService.reviewAdded(saved);
+
+    map.put("message", "Review added successfully");
+    map.put("id", saved.getId());
+    response.setStatus(HttpServletResponse.SC_CREATED);
+    return map;
+}
+
+// 7. Define the `getRatings` Method:
+//    - Returns the rating aggregates (count, average, per-star histogram) of a page of products of a store in one call,
+//      e.g. `GET /reviews/ratings/1?productIds=3,4,5`. Products without reviews report a count of 0.
+
+@GetMapping("/ratings/{storeId}")
+public Map<String, Object> getRatings(
+    @PathVariable Long storeId,
+    @RequestParam List<Long> productIds,
+    HttpServletResponse response
+) {
+    Map<String, Object> map = new HashMap<>();
+
+    if (productIds.size() > pageSizePolicy.getMaxSize()) {
+        map.put("message", "At most " + pageSizePolicy.getMaxSize() + " products per request");
+        response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        return map;
+    }
+
+    Map<Long, ReviewRating> ratings = reviewRatingService.getRatings(storeId, productIds);
+
+    Map<Long, Object> result = new LinkedHashMap<>();
+    for (Long productId : productIds) {
+        ReviewRating rating = ratings.get(productId);
+        Map<String, Object> ratingMap = new HashMap<>();
+        ratingMap.put("count", rating == null ? 0 : rating.getCount());
+        ratingMap.put("average", rating == null ? 0.0 : rating.getAverage());
+        ratingMap.put("stars", rating == null ? Map.of() : rating.getStars());
+        result.put(productId, ratingMap);
+    }
+
+    map.put("ratings", result);
+    return map;
+}
+
+// 8. Define the `rebuildRatings` Method:
+//    - Recomputes every rating aggregate from the reviews (also runs nightly, see `app.reviews.ratings-rebuild-cron`).
+
+@PostMapping("/ratings/rebuild")
+public Map<String, Object> rebuildRatings() {
     Map<String, Object> map = new HashMap<>();
 
-    map.put("reviews", reviewRepository.findAll());
+    long total = reviewRatingService.rebuild();
 
+    map.put("message", "Rebuilt rating aggregates");
+    map.put("products", total);
     return map;
 }
 
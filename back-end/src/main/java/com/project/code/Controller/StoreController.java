@@ -1,27 +1,39 @@
 package com.project.code.Controller;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.project.code.Model.OrderResultDTO;
 import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Model.QueuedOrder;
 import com.project.code.Model.Store;
 import com.project.code.Repo.StoreRepository;
+import com.project.code.Service.AsyncOrderService;
+import com.project.code.Service.BulkOrderService;
+import com.project.code.Service.IdempotencyKeyReusedException;
 import com.project.code.Service.OrderService;
+import com.project.code.Service.PriceMismatchException;
+import com.project.code.config.ReadYourWritesInterceptor;
 
 import jakarta.servlet.http.HttpServletResponse;
 
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 
 /**
  * REST Controller for managing Store operations and order placement.
  * Handles store registration, existence validation, and transaction processing.
+ * A client that placed an order reads from the primary database for a while
+ * (see {@link ReadYourWritesInterceptor}).
  */
 @RestController
 @RequestMapping("/store")
@@ -33,6 +45,15 @@ public class StoreController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private BulkOrderService bulkOrderService;
+
+    @Autowired
+    private AsyncOrderService asyncOrderService;
+
+    @Autowired
+    private ReadYourWritesInterceptor readYourWritesInterceptor;
+
     /**
      * Registers a new store in the system.
      * @param store The store entity to be saved.
@@ -58,6 +79,10 @@ public class StoreController {
 
     /**
      * Processes an order placement request.
+     * <p>
+     * Prices and totals are computed by the server; if the request carries prices
+     * that are no longer current, the order is rejected with 409 Conflict.
+     * </p>
      * @param placeOrderRequest DTO containing order details.
      * @param response The HTTP response object used to set status codes.
      * @return A map containing a success or error message.
@@ -68,8 +93,12 @@ public class StoreController {
 
         try {
             orderService.saveOrder(placeOrderRequest);
+            readYourWritesInterceptor.stick(response);
             map.put("message", "Order placed successfully");
             response.setStatus(HttpServletResponse.SC_CREATED);
+        } catch(PriceMismatchException e) {
+            map.put("Error", "Could not place order: " + e.getMessage());
+            response.setStatus(HttpServletResponse.SC_CONFLICT);
         } catch(Exception e) {
             map.put("Error", "Could not place order: " + e.getMessage());
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
@@ -77,5 +106,106 @@ public class StoreController {
 
         return map;
     }
+
+
+    /**
+     * Accepts an order for asynchronous placement.
+     * <p>
+     * The order is stored in a durable queue and placed in the background; the
+     * response (202 Accepted) carries a {@code token} to poll with
+     * {@link #getQueuedOrder(String, HttpServletResponse)}. Retries that send the
+     * same {@code Idempotency-Key} header get the original token back and never
+     * place the order twice; a key reused for a different order is rejected (422).
+     * </p>
+     * @param placeOrderRequest DTO containing order details.
+     * @param idempotencyKey Optional client generated key identifying this order.
+     * @param response The HTTP response object used to set status codes.
+     * @return A map containing the token and the current status of the order.
+     */
+    @PostMapping("/placeOrder/async")
+    public Map<String, Object> placeOrderAsync(
+        @RequestBody PlaceOrderRequestDTO placeOrderRequest,
+        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+        HttpServletResponse response
+    ) {
+        Map<String, Object> map = new HashMap<>();
+
+        if (placeOrderRequest.getStoreId() == null || placeOrderRequest.getPurchaseProduct() == null
+            || placeOrderRequest.getPurchaseProduct().isEmpty()) {
+            map.put("message", "Store and products are required");
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return map;
+        }
+
+        QueuedOrder queued;
+        try {
+            queued = asyncOrderService.enqueue(placeOrderRequest, idempotencyKey);
+        } catch (IdempotencyKeyReusedException e) {
+            map.put("message", e.getMessage());
+            response.setStatus(HttpStatus.UNPROCESSABLE_ENTITY.value());
+            return map;
+        }
+        readYourWritesInterceptor.stick(response);
+        map.put("token", queued.getToken());
+        map.put("status", queued.getStatus());
+        map.put("message", "Order accepted");
+        response.setStatus(HttpServletResponse.SC_ACCEPTED);
+
+        return map;
+    }
+
+
+    /**
+     * Returns the status of an order accepted by {@link #placeOrderAsync}.
+     * @param token The token returned when the order was accepted.
+     * @param response The HTTP response object used to set status codes.
+     * @return A map with the status, the placed order ID once completed, or the failure message.
+     */
+    @GetMapping("/orders/{token}")
+    public Map<String, Object> getQueuedOrder(@PathVariable String token, HttpServletResponse response) {
+        Map<String, Object> map = new HashMap<>();
+
+        QueuedOrder queued = asyncOrderService.findByToken(token);
+        if (queued == null) {
+            map.put("message", "No order found for token: " + token);
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return map;
+        }
+
+        map.put("token", queued.getToken());
+        map.put("status", queued.getStatus());
+        map.put("orderId", queued.getOrderId());
+        map.put("message", queued.getMessage());
+
+        return map;
+    }
+
+
+    /**
+     * Processes many orders in one request (e.g. a POS offline sync).
+     * <p>
+     * Orders are placed in grouped transactions; a failing order does not prevent
+     * the others from being placed.
+     * </p>
+     * @param placeOrderRequests The orders to place.
+     * @param response The HTTP response, to pin the client's next reads to the primary.
+     * @return A map with the per-order results and the number of placed and failed orders.
+     */
+    @PostMapping("/placeOrders")
+    public Map<String, Object> placeOrders(@RequestBody List<PlaceOrderRequestDTO> placeOrderRequests, HttpServletResponse response) {
+        Map<String, Object> map = new HashMap<>();
+
+        List<OrderResultDTO> results = bulkOrderService.saveOrders(placeOrderRequests);
+        long placed = results.stream().filter(OrderResultDTO::isSuccess).count();
+        if (placed > 0) {
+            readYourWritesInterceptor.stick(response);
+        }
+
+        map.put("results", results);
+        map.put("placed", placed);
+        map.put("failed", results.size() - placed);
+
+        return map;
+    }
    
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+package com.project.code.Model;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A committed change to the inventory, the catalogue or the orders, as recorded
+ * in the change log and streamed from {@code GET /changes/stream}.
+ * <p>
+ * Events carry the delta, not the whole store: an order lists the quantities it
+ * took, an inventory update the new stock level of one product.
+ * </p>
+ * @param offset The position of the event in the change log, starting at 0 (-1 until appended).
+ * @param type What changed.
+ * @param timestamp When the change was committed.
+ * @param storeId The ID of the store concerned, or null if the change is not tied to one store.
+ * @param productId The ID of the product concerned, or null if the change is not tied to one product.
+ * @param data The details of the change, depending on the type.
+ */
+public record ChangeEvent(
+    long offset,
+    Type type,
+    Instant timestamp,
+    Long storeId,
+    Long productId,
+    Map<String, Object> data
+) {
+
+    public enum Type {
+        /** An order was placed; {@code data} holds the order ID, total and items (product ID, quantity, price). */
+        ORDER_PLACED,
+        /** An inventory entry was created or saved; {@code data} holds the stock level. */
+        INVENTORY_SAVED,
+        /** The stock level of an inventory entry was overwritten; {@code data} holds the new stock level. */
+        STOCK_UPDATED,
+        /** A product was removed from the inventory of every store. */
+        INVENTORY_REMOVED,
+        /** Stock levels of a store were set by a CSV import; the store's inventory should be read again. */
+        INVENTORY_IMPORTED,
+        /** A product was created or updated; {@code data} holds its name, category, price and SKU. */
+        PRODUCT_SAVED,
+        /** A product was deleted together with its inventory. */
+        PRODUCT_DELETED
+    }
+
+    /**
+     * @param offset The position assigned by the change log.
+     * @return A copy of this event at that position.
+     */
+    public ChangeEvent withOffset(long offset) {
+        return new ChangeEvent(offset, type, timestamp, storeId, productId, data);
+    }
+}
@@ -41,8 +41,9 @@ public class Customer {
 
     /** The list of orders associated with the Customer.
      *  Mapped by the "customer" field in the OrderDetails entity.
+     *  Loaded lazily; use the paginated order history instead of walking it.
      */
-    @OneToMany(mappedBy = "customer", fetch = FetchType.EAGER, cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "customer", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     @JsonManagedReference
     private List<OrderDetails> orders;
 
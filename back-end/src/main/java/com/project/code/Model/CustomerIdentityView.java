@@ -0,0 +1,16 @@
+package com.project.code.Model;
+
+/**
+ * Read-only projection of a {@link Customer} carrying only its identity (ID and email).
+ * <p>
+ * Used on the order path to find an existing customer without loading the
+ * entity or its order history.
+ * </p>
+ */
+public interface CustomerIdentityView {
+
+    Long getId();
+
+    String getEmail();
+
+}
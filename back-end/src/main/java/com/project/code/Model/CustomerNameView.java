@@ -0,0 +1,16 @@
+package com.project.code.Model;
+
+/**
+ * Read-only projection of a {@link Customer} carrying only its ID and name.
+ * <p>
+ * Used where only the customer's name is needed, so that neither the full
+ * entity nor its order history is loaded.
+ * </p>
+ */
+public interface CustomerNameView {
+
+    Long getId();
+
+    String getName();
+
+}
@@ -8,8 +8,12 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
+// A product has at most one inventory row per store; bulk imports upsert on this key.
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_inventory_product_store", columnNames = {"product_id", "store_id"}))
 public class Inventory {
    // 1. Add 'id' field:
 //    - Type: private long 
@@ -0,0 +1,32 @@
+package com.project.code.Model;
+
+/**
+ * Response view of a product stocked by a store: the product's columns and its stock level there.
+ * @param id The ID of the product.
+ * @param name The name of the product.
+ * @param category The category of the product.
+ * @param price The unit price.
+ * @param sku The SKU of the product.
+ * @param version The version of the product, to send back with an update.
+ * @param stockLevel The stock level of the product at the store.
+ */
+public record InventoryDTO(
+    Long id,
+    String name,
+    String category,
+    Double price,
+    String sku,
+    Long version,
+    Integer stockLevel
+) {
+
+    /**
+     * @param product A product entity, e.g. from a store snapshot.
+     * @param stockLevel The stock level of the product at the store.
+     * @return The view of the stocked product.
+     */
+    public static InventoryDTO of(Product product, int stockLevel) {
+        return new InventoryDTO(product.getId(), product.getName(), product.getCategory(), product.getPrice(),
+            product.getSku(), product.getVersion(), stockLevel);
+    }
+}
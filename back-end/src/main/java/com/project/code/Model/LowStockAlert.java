@@ -0,0 +1,24 @@
+package com.project.code.Model;
+
+import java.time.Instant;
+
+/**
+ * Raised when the stock of a product at a store falls to or below its reorder point.
+ * @param storeId The ID of the store.
+ * @param productId The ID of the product.
+ * @param productName The name of the product.
+ * @param stockLevel The stock level when the alert was last evaluated.
+ * @param reorderPoint The reorder point the stock level was compared with.
+ * @param unitsPerDay The recent sales velocity the reorder point was derived from.
+ * @param raisedAt When the stock first fell to the reorder point.
+ */
+public record LowStockAlert(
+    Long storeId,
+    Long productId,
+    String productName,
+    int stockLevel,
+    int reorderPoint,
+    double unitsPerDay,
+    Instant raisedAt
+) {
+}
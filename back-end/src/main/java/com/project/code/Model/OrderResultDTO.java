@@ -0,0 +1,52 @@
+package com.project.code.Model;
+
+
+public class OrderResultDTO {
+    private int index;
+    private boolean success;
+    private Long orderId;
+    private String message;
+
+    public OrderResultDTO() {}
+
+    public OrderResultDTO(int index, boolean success, Long orderId, String message) {
+        this.index = index;
+        this.success = success;
+        this.orderId = orderId;
+        this.message = message;
+    }
+
+    // Getters and Setters
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
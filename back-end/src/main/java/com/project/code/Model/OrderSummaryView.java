@@ -0,0 +1,18 @@
+package com.project.code.Model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of an {@link OrderDetails} header for order history listings.
+ */
+public interface OrderSummaryView {
+
+    Long getId();
+
+    Long getStoreId();
+
+    Double getTotalPrice();
+
+    LocalDateTime getDate();
+
+}
@@ -12,11 +12,15 @@ import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
-@Table(name = "product", uniqueConstraints = @UniqueConstraint(columnNames = "sku"))
+@Table(name = "product", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_product_sku", columnNames = "sku"),
+    @UniqueConstraint(name = "uk_product_name", columnNames = "name")
+})
 public class Product {
 
 // 1. Add 'id' field:
@@ -69,6 +73,11 @@ private String sku;
 @JsonManagedReference("inventory-product")
 private List<Inventory> inventories;
 
+// Version of the product, incremented by every update (optimistic locking and ETags).
+
+@Version
+private Long version;
+
 // 7. Add @Entity annotation:
 //    - Use @Entity above the class name to mark it as a JPA entity.
 
@@ -125,6 +134,14 @@ public void setInventories(List<Inventory> inventories) {
     this.inventories = inventories;
 }
 
+public Long getVersion() {
+    return version;
+}
+
+public void setVersion(Long version) {
+    this.version = version;
+}
+
 }
 
 
@@ -0,0 +1,34 @@
+package com.project.code.Model;
+
+/**
+ * Response view of a {@link Product}: its columns only, without the inventory association.
+ * <p>
+ * Catalog reads select these straight from the database with constructor
+ * expressions, so no entity is managed, no association can be lazy-loaded while
+ * the response is written, and the cached views cannot be modified by callers.
+ * </p>
+ * @param id The ID of the product.
+ * @param name The name of the product.
+ * @param category The category of the product.
+ * @param price The unit price.
+ * @param sku The SKU of the product.
+ * @param version The version of the product, to send back with an update.
+ */
+public record ProductDTO(
+    Long id,
+    String name,
+    String category,
+    Double price,
+    String sku,
+    Long version
+) {
+
+    /**
+     * @param product A product entity, e.g. from an in-memory index.
+     * @return The view of the product.
+     */
+    public static ProductDTO of(Product product) {
+        return new ProductDTO(product.getId(), product.getName(), product.getCategory(), product.getPrice(),
+            product.getSku(), product.getVersion());
+    }
+}
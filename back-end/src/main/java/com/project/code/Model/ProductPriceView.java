@@ -0,0 +1,15 @@
+package com.project.code.Model;
+
+/**
+ * Read-only projection of a {@link Product} carrying only its ID and unit price.
+ * <p>
+ * Used to fill the in-memory price table without loading the product entities.
+ * </p>
+ */
+public interface ProductPriceView {
+
+    Long getId();
+
+    Double getPrice();
+
+}
@@ -0,0 +1,154 @@
+package com.project.code.Model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+/**
+ * An order accepted for asynchronous placement (outbox row).
+ * <p>
+ * The original request is stored as JSON together with the token returned to the
+ * client and the optional idempotency key sent by it. A background worker places
+ * the order and records the outcome on this row in the same transaction.
+ * </p>
+ */
+@Entity
+@Table(name = "queued_order", indexes = {
+    @Index(name = "idx_queued_order_status", columnList = "status, id")
+})
+public class QueuedOrder {
+
+    /** Processing state of a queued order. */
+    public enum Status {
+        PENDING, PROCESSING, COMPLETED, FAILED
+    }
+
+    /** Unique Identifier, also the processing order of the queue. */
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Opaque token returned to the client to poll the order status. */
+    @Column(nullable = false, unique = true, length = 36)
+    private String token;
+
+    /** Client supplied key that makes retries of the same request return the same queued order. */
+    @Column(unique = true)
+    private String idempotencyKey;
+
+    /** SHA-256 of the payload: a reused idempotency key must come with the same order. */
+    @Column(length = 64)
+    private String payloadHash;
+
+    /** The order request as JSON. */
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    /** The ID of the placed order once completed. */
+    private Long orderId;
+
+    /** The failure reason, if any. */
+    private String message;
+
+    /** The instance processing the order while PROCESSING. */
+    @Column(length = 64)
+    private String claimedBy;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public QueuedOrder() {}
+
+    public QueuedOrder(String token, String idempotencyKey, String payload, String payloadHash) {
+        this.token = token;
+        this.idempotencyKey = idempotencyKey;
+        this.payload = payload;
+        this.payloadHash = payloadHash;
+        this.status = Status.PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public String getPayloadHash() {
+        return payloadHash;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Marks the order as placed.
+     * @param orderId The ID of the placed order.
+     */
+    public void complete(Long orderId) {
+        this.status = Status.COMPLETED;
+        this.orderId = orderId;
+        this.message = null;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Marks the order as rejected.
+     * @param message The reason it could not be placed.
+     */
+    public void fail(String message) {
+        this.status = Status.FAILED;
+        this.message = message;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+}
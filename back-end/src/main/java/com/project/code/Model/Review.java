@@ -1,11 +1,18 @@
 package com.project.code.Model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import jakarta.validation.constraints.NotNull;
 
+// Indexes (created and checked at startup by ReviewIndexService):
+//    - storeId, productId, then _id descending: the reviews of a product, newest first (ObjectIds grow over time).
+//    - productId, rating: the reviews of a product by rating, across stores.
+
 @Document(collection = "reviews")
+@CompoundIndex(name = "store_product_recency", def = "{'storeId': 1, 'productId': 1, '_id': -1}")
+@CompoundIndex(name = "product_rating", def = "{'productId': 1, 'rating': 1}")
 public class Review {
 
 @Id
@@ -83,6 +90,14 @@ public Review(Long customerId, Long productId, Long storeId, Integer rating, Str
 // 10. Add Getters and Setters:
 //    - Add getter and setter methods for all fields (customerId, productId, storeId, rating, comment).
 
+public String getId() {
+    return id;
+}
+
+public void setId(String id) {
+    this.id = id;
+}
+
 public Long getCustomerId() {
     return customerId;
 }
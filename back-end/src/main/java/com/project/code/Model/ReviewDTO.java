@@ -0,0 +1,16 @@
+package com.project.code.Model;
+
+/**
+ * Response view of a {@link Review} with the name of its customer instead of the customer's ID.
+ * @param id The ID of the review, also the paging cursor.
+ * @param review The comment of the review.
+ * @param rating The rating, from 1 to 5.
+ * @param customerName The name of the customer, "Unknown" if it could not be resolved.
+ */
+public record ReviewDTO(
+    String id,
+    String review,
+    Integer rating,
+    String customerName
+) {
+}
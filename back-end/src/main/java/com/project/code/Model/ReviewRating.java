@@ -0,0 +1,85 @@
+package com.project.code.Model;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Materialized rating aggregate of one product in one store.
+ * <p>
+ * Kept next to the {@code reviews} collection and incremented on every review
+ * insert, so that a product's average rating and star histogram can be shown
+ * without reading its reviews. The document ID is the {@code {storeId, productId}}
+ * pair, the same shape the rebuild aggregation groups by.
+ * </p>
+ */
+@Document(collection = "review_ratings")
+public class ReviewRating {
+
+    /** The composite document ID: one aggregate per store and product. */
+    public static class Key {
+
+        private Long storeId;
+        private Long productId;
+
+        public Key() {}
+
+        public Key(Long storeId, Long productId) {
+            this.storeId = storeId;
+            this.productId = productId;
+        }
+
+        public Long getStoreId() {
+            return storeId;
+        }
+
+        public Long getProductId() {
+            return productId;
+        }
+    }
+
+    @Id
+    private Key id;
+
+    private long count;
+
+    private long sum;
+
+    // Number of reviews per star, keyed "1" to "5".
+    private Map<String, Long> stars = new HashMap<>();
+
+    private Date updatedAt;
+
+    public ReviewRating() {}
+
+    public Key getId() {
+        return id;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public Map<String, Long> getStars() {
+        return stars;
+    }
+
+    public Date getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * @return The average rating, or 0 when the product has no reviews.
+     */
+    public double getAverage() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.project.code.Model;
+
+import java.util.Collection;
+
+/**
+ * Published once a change to the stock of a store has been committed and applied
+ * to the store's in-memory snapshot (orders, inventory updates, imports, repaired drift).
+ * <p>
+ * The event names what changed, not the new levels: listeners read the current
+ * levels from the snapshot, so events handled late or out of order still see the
+ * latest stock.
+ * </p>
+ * @param storeId The ID of the store.
+ * @param productIds The IDs of the products whose stock changed, or null if any product of the store may have changed.
+ */
+public record StockChangedEvent(Long storeId, Collection<Long> productIds) {
+}
@@ -0,0 +1,79 @@
+package com.project.code.Repo;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC-level repository for the {@code change_outbox} table of the change stream.
+ * <p>
+ * The events of a transaction are inserted with one batch under a common batch ID,
+ * which is what they are deleted by once appended to the change log. These methods
+ * join the surrounding Spring transaction.
+ * </p>
+ */
+@Repository
+public class ChangeOutboxJdbcRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO change_outbox (batch_id, event) VALUES (?, ?)";
+
+    private static final String FIND_ALL_SQL = "SELECT batch_id, event FROM change_outbox ORDER BY id";
+
+    /** An event waiting in the outbox, as JSON. */
+    public record OutboxRow(String batchId, String event) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+
+    /**
+     * Records the events of a transaction in a single batch.
+     * @param batchId The ID shared by the events.
+     * @param events The events as JSON.
+     */
+    public void insert(String batchId, List<String> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setString(1, batchId);
+                ps.setString(2, events.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return events.size();
+            }
+        });
+    }
+
+
+    /**
+     * Returns every event still in the outbox, in the order they were recorded.
+     * @return The committed events not deleted yet.
+     */
+    public List<OutboxRow> findAll() {
+        return jdbcTemplate.query(FIND_ALL_SQL, (rs, rowNum) -> new OutboxRow(rs.getString(1), rs.getString(2)));
+    }
+
+
+    /**
+     * Deletes the events of several batches with a single statement.
+     * @param batchIds The IDs of the batches.
+     * @return The number of events deleted.
+     */
+    public int deleteBatches(Collection<String> batchIds) {
+        if (batchIds.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(batchIds.size(), "?"));
+        return jdbcTemplate.update("DELETE FROM change_outbox WHERE batch_id IN (" + placeholders + ")", batchIds.toArray());
+    }
+}
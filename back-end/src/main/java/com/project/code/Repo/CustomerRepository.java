@@ -1,9 +1,14 @@
 package com.project.code.Repo;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.project.code.Model.Customer;
+import com.project.code.Model.CustomerIdentityView;
+import com.project.code.Model.CustomerNameView;
+import java.util.Collection;
 import java.util.List;
 
 
@@ -43,6 +48,18 @@ public List<Customer> findByName(String name);
 
 public List<Customer> findByPhone(String phone);
 
+// Find the ID of the customer with the given email (ID and email only, no order history), used when placing an order.
+@Query("SELECT c.id AS id, c.email AS email FROM Customer c WHERE c.email = :email")
+public CustomerIdentityView findIdentityByEmail(@Param("email") String email);
+
+// Find the IDs of all customers matching any of the given emails (used to resolve a whole batch of orders at once).
+@Query("SELECT c.id AS id, c.email AS email FROM Customer c WHERE c.email IN :emails")
+public List<CustomerIdentityView> findIdentitiesByEmailIn(@Param("emails") Collection<String> emails);
+
+// Resolve the names of many customers with a single query (ID and name only, no order history).
+@Query("SELECT c.id AS id, c.name AS name FROM Customer c WHERE c.id IN :ids")
+public List<CustomerNameView> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+
 // 4. Add @Repository annotation:
 //    - Mark the interface with @Repository to indicate that it's a Spring Data JPA repository.
 //    - This annotation is optional if you extend JpaRepository, as Spring Data automatically registers the repository, but it's good practice to add it for clarity.
@@ -0,0 +1,102 @@
+package com.project.code.Repo;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC-level repository for bulk inventory import and export.
+ * <p>
+ * Stock rows are upserted as one JDBC batch per chunk
+ * ({@code INSERT ... ON DUPLICATE KEY UPDATE} on the product/store unique key) and
+ * exported through a forward-only cursor, so neither side goes through the
+ * persistence context. These methods join the surrounding Spring transaction.
+ * </p>
+ */
+@Repository
+public class InventoryJdbcRepository {
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private static final String UPSERT_STOCK_SQL =
+        "INSERT INTO inventory (product_id, store_id, stock_level) VALUES (?, ?, ?) "
+        + "ON DUPLICATE KEY UPDATE stock_level = VALUES(stock_level)";
+
+    private static final String SELECT_STOCK_SQL =
+        "SELECT p.sku, i.store_id, i.stock_level FROM inventory i JOIN product p ON p.id = i.product_id ORDER BY i.id";
+
+    /** One stock level of one product in one store. */
+    public record StockRow(long productId, long storeId, int stockLevel) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+
+    /**
+     * Loads the ID of every product keyed by SKU with a single query.
+     * @return The product IDs keyed by SKU.
+     */
+    public Map<String, Long> findProductIdsBySku() {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT sku, id FROM product", (RowCallbackHandler) rs -> ids.put(rs.getString(1), rs.getLong(2)));
+        return ids;
+    }
+
+
+    /**
+     * Loads the ID of every store with a single query.
+     * @return The store IDs.
+     */
+    public Set<Long> findStoreIds() {
+        Set<Long> ids = new HashSet<>();
+        jdbcTemplate.query("SELECT id FROM store", (RowCallbackHandler) rs -> ids.add(rs.getLong(1)));
+        return ids;
+    }
+
+
+    /**
+     * Inserts or overwrites the stock level of several products in a single batch.
+     * @param rows The stock rows to write.
+     */
+    public void upsertStock(List<StockRow> rows) {
+        jdbcTemplate.batchUpdate(UPSERT_STOCK_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                StockRow row = rows.get(i);
+                ps.setLong(1, row.productId());
+                ps.setLong(2, row.storeId());
+                ps.setInt(3, row.stockLevel());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+
+    /**
+     * Reads every stock row (SKU, store ID, stock level) through a cursor, one row at a time.
+     * @param handler Called once per row, in inventory ID order.
+     */
+    public void streamStock(RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(SELECT_STOCK_SQL);
+            ps.setFetchSize(EXPORT_FETCH_SIZE);
+            return ps;
+        }, handler);
+    }
+
+}
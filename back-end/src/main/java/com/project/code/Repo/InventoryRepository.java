@@ -1,15 +1,17 @@
 package com.project.code.Repo;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.project.code.Model.Inventory;
-
-import jakarta.transaction.Transactional;
+import com.project.code.Model.InventoryDTO;
 
 @Repository
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
@@ -37,7 +39,38 @@ public Inventory findByProductIdAndStoreId(Long productId, Long storeId);
       
 // Example: public List<Inventory> findByStore_Id(Long storeId);
 
-public List<Inventory> findByStore_Id(Long storeId);
+//    - **findWithProductByStoreId**:
+//      - Loads all inventory rows of a store together with their products in a single query.
+//      - Return type: List<Inventory>
+//      - Parameter: Long storeId
+//      - Read-only transaction, so it can be served by a read replica.
+
+@Transactional(readOnly = true)
+@Query("SELECT i FROM Inventory i JOIN FETCH i.product WHERE i.store.id = :storeId")
+public List<Inventory> findWithProductByStoreId(@Param("storeId") Long storeId);
+
+// Filters on the store_id column directly; the derived query joined the store table and could not use the store index.
+@Query("SELECT i FROM Inventory i WHERE i.store.id = :storeId")
+public List<Inventory> findByStore_Id(@Param("storeId") Long storeId);
+
+//    - **findByStoreIdAndProductIdIn**:
+//      - Loads the inventory rows (with their products) of a whole basket in a single query.
+//      - Return type: List<Inventory>
+//      - Parameters: Long storeId, Collection<Long> productIds
+
+@Query("SELECT i FROM Inventory i JOIN FETCH i.product WHERE i.store.id = :storeId AND i.product.id IN :productIds")
+public List<Inventory> findByStoreIdAndProductIdIn(@Param("storeId") Long storeId, @Param("productIds") Collection<Long> productIds);
+
+//    - **findDTOByCategoryAndStoreId**:
+//      - Selects the products of a category stocked by a store, with their stock level, straight into InventoryDTO records.
+//      - Return type: List<InventoryDTO>
+//      - Parameters: String category, Long storeId
+//      - Read-only transaction, so it can be served by a read replica.
+
+@Transactional(readOnly = true)
+@Query("SELECT new com.project.code.Model.InventoryDTO(p.id, p.name, p.category, p.price, p.sku, p.version, i.stockLevel) "
+    + "FROM Inventory i JOIN i.product p WHERE p.category = :category AND i.store.id = :storeId ORDER BY p.id")
+public List<InventoryDTO> findDTOByCategoryAndStoreId(@Param("category") String category, @Param("storeId") Long storeId);
 
 //    - **deleteByProductId**:
 //      - This method will allow you to delete all inventory records related to a specific product ID.
@@ -49,4 +82,10 @@ public List<Inventory> findByStore_Id(Long storeId);
 @Transactional
 public void deleteByProductId(Long productId);
 
+// Overwrites the stock level of an existing inventory row in one statement; returns 0 when there is no such row.
+@Modifying(flushAutomatically = true, clearAutomatically = true)
+@Transactional
+@Query("UPDATE Inventory i SET i.stockLevel = :stockLevel WHERE i.product.id = :productId AND i.store.id = :storeId")
+public int updateStockLevel(@Param("productId") Long productId, @Param("storeId") Long storeId, @Param("stockLevel") Integer stockLevel);
+
 }
@@ -1,12 +1,22 @@
 package com.project.code.Repo;
 
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.project.code.Model.OrderDetails;
+import com.project.code.Model.OrderSummaryView;
 
 @Repository
 public interface OrderDetailsRepository extends JpaRepository<OrderDetails, Long> {
+
+@Query("SELECT o.id AS id, o.store.id AS storeId, o.totalPrice AS totalPrice, o.date AS date FROM OrderDetails o "
+    + "WHERE o.customer.id = :customerId AND o.id < :beforeId ORDER BY o.id DESC")
+public List<OrderSummaryView> findHistoryPage(@Param("customerId") Long customerId, @Param("beforeId") Long beforeId, Limit limit);
 // 1. Add the repository interface:
 //    - Extend JpaRepository<OrderDetails, Long> to inherit basic CRUD functionality.
 //    - This allows the repository to perform operations like save, delete, update, and find without having to implement these methods manually.
@@ -0,0 +1,136 @@
+package com.project.code.Repo;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import com.project.code.Model.OrderDetails;
+import com.project.code.Model.OrderItem;
+
+/**
+ * JDBC-level repository for the write-heavy parts of order placement.
+ * <p>
+ * Order items and stock deductions are sent as JDBC batches, so a basket costs
+ * one round trip per table instead of one statement per line item. These methods
+ * join the surrounding Spring transaction.
+ * </p>
+ */
+@Repository
+public class OrderJdbcRepository {
+
+    private static final String DECREMENT_STOCK_SQL =
+        "UPDATE inventory SET stock_level = stock_level - ? "
+        + "WHERE product_id = ? AND store_id = ? AND stock_level >= ?";
+
+    private static final String INSERT_ORDER_HEADER_SQL =
+        "INSERT INTO order_details (customer_id, store_id, total_price, date) VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_ORDER_ITEM_SQL =
+        "INSERT INTO order_item (order_id, product_id, quantity, price) VALUES (?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+
+    /**
+     * Atomically deducts stock for several products of one store in a single batch.
+     * @param storeId The ID of the store.
+     * @param quantities Quantity to deduct, keyed by product ID.
+     * @return The IDs of the products whose stock was insufficient (empty if every deduction succeeded).
+     */
+    public List<Long> decrementStock(Long storeId, Map<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(quantities.entrySet());
+
+        int[] counts = jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, Integer> entry = entries.get(i);
+                ps.setInt(1, entry.getValue());
+                ps.setLong(2, entry.getKey());
+                ps.setLong(3, storeId);
+                ps.setInt(4, entry.getValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+
+        List<Long> failed = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                failed.add(entries.get(i).getKey());
+            }
+        }
+        return failed;
+    }
+
+
+    /**
+     * Inserts several order headers in a single batch and assigns the generated IDs back to them.
+     * @param orders The orders to insert; customer, store, total price and date are read.
+     */
+    public void insertOrderHeaders(List<OrderDetails> orders) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+            connection -> connection.prepareStatement(INSERT_ORDER_HEADER_SQL, Statement.RETURN_GENERATED_KEYS),
+            new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    OrderDetails order = orders.get(i);
+                    ps.setLong(1, order.getCustomer().getId());
+                    ps.setLong(2, order.getStore().getId());
+                    ps.setDouble(3, order.getTotalPrice());
+                    ps.setTimestamp(4, Timestamp.valueOf(order.getDate()));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return orders.size();
+                }
+            },
+            keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < orders.size(); i++) {
+            orders.get(i).setId(((Number) keys.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+
+    /**
+     * Inserts order items, possibly belonging to several orders, in a single batch.
+     * @param items The items to insert; order, product, quantity and price are read.
+     */
+    public void insertOrderItems(List<OrderItem> items) {
+        jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                OrderItem item = items.get(i);
+                ps.setLong(1, item.getOrder().getId());
+                ps.setLong(2, item.getProduct().getId());
+                ps.setInt(3, item.getQuantity());
+                ps.setDouble(4, item.getPrice());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return items.size();
+            }
+        });
+    }
+
+}
@@ -1,13 +1,23 @@
 package com.project.code.Repo;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.project.code.Model.Product;
+import com.project.code.Model.ProductDTO;
+import com.project.code.Model.ProductPriceView;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
@@ -51,6 +61,7 @@ public List<Product> findByPriceBetween(Double minPrice, Double maxPrice);
 
 // Example: public Product findBySku(String sku);
 
+@Transactional(readOnly = true)
 public Product findBySku(String sku);
 
 //    - **findByName**:
@@ -97,4 +108,41 @@ public List<Product> findProductByCategory(@Param("category") String category, @
 @Query("SELECT i FROM Product i WHERE LOWER(i.name) LIKE LOWER(CONCAT('%', :pname, '%')) AND i.category = :category")
 public List<Product> findProductBySubNameAndCategory(@Param("pname") String pname, @Param("category") String category);
 
-}
\ No newline at end of file
+// Read-only views of the catalog: constructor expressions select the columns straight into ProductDTO records,
+// without managed entities or associations. They run in read-only transactions, so they can be served by a read replica.
+@Transactional(readOnly = true)
+@Query("SELECT new com.project.code.Model.ProductDTO(p.id, p.name, p.category, p.price, p.sku, p.version) FROM Product p WHERE p.id = :id")
+public ProductDTO findDTOById(@Param("id") Long id);
+
+@Transactional(readOnly = true)
+@Query("SELECT new com.project.code.Model.ProductDTO(p.id, p.name, p.category, p.price, p.sku, p.version) FROM Product p ORDER BY p.id")
+public List<ProductDTO> findAllDTO();
+
+@Transactional(readOnly = true)
+@Query("SELECT new com.project.code.Model.ProductDTO(p.id, p.name, p.category, p.price, p.sku, p.version) FROM Product p WHERE p.category = :category ORDER BY p.id")
+public List<ProductDTO> findDTOByCategory(@Param("category") String category);
+
+// Keyset (seek) pagination: the next page of products after a given ID, in ID order.
+@Transactional(readOnly = true)
+@Query("SELECT new com.project.code.Model.ProductDTO(p.id, p.name, p.category, p.price, p.sku, p.version) FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+public List<ProductDTO> findDTOPageAfter(@Param("afterId") Long afterId, Limit limit);
+
+// Keyset pagination over the products of a specific store, in product ID order.
+@Query("SELECT i.product FROM Inventory i WHERE i.store.id = :storeId AND i.product.id > :afterId ORDER BY i.product.id")
+public List<Product> findPageByStoreIdAfter(@Param("storeId") Long storeId, @Param("afterId") Long afterId, Limit limit);
+
+// Find the current version of a product (optimistic locking of updates that do not carry one).
+@Query("SELECT p.version FROM Product p WHERE p.id = :id")
+public Long findVersionById(@Param("id") Long id);
+
+// Load the unit prices of many products with a single query (ID and price only).
+@Transactional(readOnly = true)
+@Query("SELECT p.id AS id, p.price AS price FROM Product p WHERE p.id IN :ids")
+public List<ProductPriceView> findPricesByIdIn(@Param("ids") Collection<Long> ids);
+
+// Stream every product view in ID order with a server-side cursor; must be consumed inside a transaction.
+@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+@Query("SELECT new com.project.code.Model.ProductDTO(p.id, p.name, p.category, p.price, p.sku, p.version) FROM Product p ORDER BY p.id")
+public Stream<ProductDTO> streamAllDTO();
+
+}
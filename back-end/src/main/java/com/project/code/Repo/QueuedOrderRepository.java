@@ -0,0 +1,56 @@
+package com.project.code.Repo;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.code.Model.QueuedOrder;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface QueuedOrderRepository extends JpaRepository<QueuedOrder, Long> {
+
+public QueuedOrder findByToken(String token);
+
+public QueuedOrder findByIdempotencyKey(String idempotencyKey);
+
+// Locks the row until the end of the transaction, so that only one worker places a queued order.
+@Lock(LockModeType.PESSIMISTIC_WRITE)
+@Query("SELECT q FROM QueuedOrder q WHERE q.id = :id")
+public QueuedOrder findByIdForUpdate(@Param("id") Long id);
+
+@Query("SELECT q.id FROM QueuedOrder q WHERE q.status = :status ORDER BY q.id")
+public List<Long> findIdsByStatus(@Param("status") QueuedOrder.Status status, Limit limit);
+
+@Query("SELECT q.id FROM QueuedOrder q WHERE q.status = :status AND q.claimedBy = :claimedBy ORDER BY q.id")
+public List<Long> findIdsByStatusAndClaimedBy(@Param("status") QueuedOrder.Status status, @Param("claimedBy") String claimedBy);
+
+// Moves the rows still in a status to another one on behalf of an instance; rows changed meanwhile are left alone.
+@Modifying
+@Transactional
+@Query("UPDATE QueuedOrder q SET q.status = :to, q.claimedBy = :claimedBy, q.updatedAt = :now WHERE q.id IN :ids AND q.status = :from")
+public int updateStatus(@Param("ids") Collection<Long> ids, @Param("from") QueuedOrder.Status from, @Param("to") QueuedOrder.Status to, @Param("claimedBy") String claimedBy, @Param("now") LocalDateTime now);
+
+// Moves the rows an instance claimed out of a status, clearing the claim.
+@Modifying
+@Transactional
+@Query("UPDATE QueuedOrder q SET q.status = :to, q.claimedBy = NULL, q.updatedAt = :now WHERE q.status = :from AND q.claimedBy = :claimedBy")
+public int updateStatusClaimedBy(@Param("claimedBy") String claimedBy, @Param("from") QueuedOrder.Status from, @Param("to") QueuedOrder.Status to, @Param("now") LocalDateTime now);
+
+// Moves the rows left in a status since before a cutoff (e.g. claims whose lease expired), clearing their claim.
+@Modifying
+@Transactional
+@Query("UPDATE QueuedOrder q SET q.status = :to, q.claimedBy = NULL, q.updatedAt = :now WHERE q.status = :from AND q.updatedAt < :before")
+public int updateStatusBefore(@Param("from") QueuedOrder.Status from, @Param("to") QueuedOrder.Status to, @Param("before") LocalDateTime before, @Param("now") LocalDateTime now);
+
+}
@@ -2,6 +2,7 @@ package com.project.code.Repo;
 
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
@@ -25,4 +26,15 @@ public interface ReviewRepository extends MongoRepository<Review, String> {
 
 public List<Review> findByStoreIdAndProductId(Long storeId, Long productId);
 
+// The reviews of a product, newest first (ObjectIds grow over time), one keyset page at a time:
+// the first page, and the page of reviews older than a given ID. Served by the store_product_recency index.
+public List<Review> findByStoreIdAndProductIdOrderByIdDesc(Long storeId, Long productId, Limit limit);
+
+public List<Review> findByStoreIdAndProductIdAndIdLessThanOrderByIdDesc(Long storeId, Long productId, String id, Limit limit);
+
+// Keyset (seek) pagination on the document ID: the first page, and the page after a given ID.
+public List<Review> findAllByOrderByIdAsc(Limit limit);
+
+public List<Review> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
 }
@@ -0,0 +1,158 @@
+package com.project.code.Repo;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC-level repository for the {@code daily_sales} rollup.
+ * <p>
+ * Sales are added with one {@code INSERT ... ON DUPLICATE KEY UPDATE} batch per order
+ * (or bulk chunk) and read with range scans on the (store, day, product) primary key,
+ * so the analytics queries never touch {@code order_details} or {@code order_item}.
+ * These methods join the surrounding Spring transaction.
+ * </p>
+ */
+@Repository
+public class SalesJdbcRepository {
+
+    private static final String ADD_SALES_SQL =
+        "INSERT INTO daily_sales (store_id, sale_date, product_id, units, revenue, order_count) VALUES (?, ?, ?, ?, ?, ?) "
+        + "ON DUPLICATE KEY UPDATE units = units + VALUES(units), revenue = revenue + VALUES(revenue), "
+        + "order_count = order_count + VALUES(order_count)";
+
+    private static final String DELETE_SALES_SQL =
+        "DELETE FROM daily_sales WHERE sale_date >= ? AND sale_date < ?";
+
+    private static final String REBUILD_SALES_SQL =
+        "INSERT INTO daily_sales (store_id, sale_date, product_id, units, revenue, order_count) "
+        + "SELECT d.store_id, CAST(d.date AS DATE), i.product_id, SUM(i.quantity), SUM(i.price), COUNT(DISTINCT d.id) "
+        + "FROM order_details d JOIN order_item i ON i.order_id = d.id "
+        + "WHERE d.date >= ? AND d.date < ? AND d.store_id IS NOT NULL AND i.product_id IS NOT NULL "
+        + "GROUP BY d.store_id, CAST(d.date AS DATE), i.product_id";
+
+    private static final String TOP_SELLERS_SQL =
+        "SELECT s.product_id, p.name, p.category, SUM(s.units) AS units, SUM(s.revenue) AS revenue "
+        + "FROM daily_sales s JOIN product p ON p.id = s.product_id "
+        + "WHERE s.store_id = ? AND s.sale_date >= ? AND s.sale_date <= ? "
+        + "GROUP BY s.product_id, p.name, p.category ORDER BY units DESC, s.product_id LIMIT ?";
+
+    private static final String REVENUE_BY_CATEGORY_SQL =
+        "SELECT p.category, SUM(s.units) AS units, SUM(s.revenue) AS revenue "
+        + "FROM daily_sales s JOIN product p ON p.id = s.product_id "
+        + "WHERE s.store_id = ? AND s.sale_date >= ? AND s.sale_date <= ? "
+        + "GROUP BY p.category ORDER BY revenue DESC, p.category";
+
+    private static final String UNITS_BY_PRODUCT_SQL =
+        "SELECT product_id, SUM(units) FROM daily_sales "
+        + "WHERE store_id = ? AND sale_date >= ? AND sale_date <= ? GROUP BY product_id";
+
+    /** The sales of one product in one store on one day. */
+    public record SalesRow(long storeId, LocalDate saleDate, long productId, long units, double revenue, long orderCount) {
+    }
+
+    /** The sales of one product over a date range. */
+    public record ProductSales(long productId, String name, String category, long units, double revenue) {
+    }
+
+    /** The sales of one product category over a date range. */
+    public record CategorySales(String category, long units, double revenue) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+
+    /**
+     * Adds sales to the rollup in a single batch, creating the rows that do not exist yet.
+     * @param rows The sales to add, at most one per store, day and product.
+     */
+    public void addSales(List<SalesRow> rows) {
+        jdbcTemplate.batchUpdate(ADD_SALES_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                SalesRow row = rows.get(i);
+                ps.setLong(1, row.storeId());
+                ps.setDate(2, Date.valueOf(row.saleDate()));
+                ps.setLong(3, row.productId());
+                ps.setLong(4, row.units());
+                ps.setDouble(5, row.revenue());
+                ps.setLong(6, row.orderCount());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+
+    /**
+     * Recomputes the rollup of a date range from the orders.
+     * @param from The first day to rebuild.
+     * @param to The day after the last day to rebuild.
+     * @return The number of rollup rows written.
+     */
+    public int rebuildSales(LocalDate from, LocalDate to) {
+        jdbcTemplate.update(DELETE_SALES_SQL, Date.valueOf(from), Date.valueOf(to));
+        return jdbcTemplate.update(REBUILD_SALES_SQL,
+            Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.atStartOfDay()));
+    }
+
+
+    /**
+     * Finds the best selling products of a store by units sold.
+     * @param storeId The ID of the store.
+     * @param from The first day (inclusive).
+     * @param to The last day (inclusive).
+     * @param limit The maximum number of products.
+     * @return The products, most units sold first.
+     */
+    public List<ProductSales> findTopSellers(long storeId, LocalDate from, LocalDate to, int limit) {
+        return jdbcTemplate.query(TOP_SELLERS_SQL,
+            (rs, n) -> new ProductSales(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4), rs.getDouble(5)),
+            storeId, Date.valueOf(from), Date.valueOf(to), limit);
+    }
+
+
+    /**
+     * Sums the sales of a store per product category.
+     * @param storeId The ID of the store.
+     * @param from The first day (inclusive).
+     * @param to The last day (inclusive).
+     * @return The categories, highest revenue first.
+     */
+    public List<CategorySales> findRevenueByCategory(long storeId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(REVENUE_BY_CATEGORY_SQL,
+            (rs, n) -> new CategorySales(rs.getString(1), rs.getLong(2), rs.getDouble(3)),
+            storeId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+
+    /**
+     * Sums the units sold by a store per product.
+     * @param storeId The ID of the store.
+     * @param from The first day (inclusive).
+     * @param to The last day (inclusive).
+     * @return The units sold keyed by product ID; products without sales are absent.
+     */
+    public Map<Long, Long> findUnitsByProduct(long storeId, LocalDate from, LocalDate to) {
+        Map<Long, Long> units = new HashMap<>();
+        jdbcTemplate.query(UNITS_BY_PRODUCT_SQL, (RowCallbackHandler) rs -> units.put(rs.getLong(1), rs.getLong(2)),
+            storeId, Date.valueOf(from), Date.valueOf(to));
+        return units;
+    }
+
+}
@@ -0,0 +1,330 @@
+package com.project.code.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.code.Model.OrderDetails;
+import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Model.QueuedOrder;
+import com.project.code.Repo.QueuedOrderRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Asynchronous order placement backed by the {@code queued_order} outbox table.
+ * <p>
+ * {@link #enqueue} only stores the request and returns a token; the order is
+ * placed later by a pool of workers that drain the queue in micro-batches. Each
+ * micro-batch is placed in one transaction, and the status of every queued
+ * order is updated in the same transaction as the order itself, so an order is
+ * applied exactly once even if the application stops mid-batch. If a
+ * micro-batch fails, its orders are retried one transaction each so that one
+ * bad order does not fail the others.
+ * </p>
+ * <p>
+ * Several instances may drain the same queue. A drain claims pending orders
+ * under the name of its instance ({@code app.orders.async.instance-id}, the
+ * host name by default) and only places the orders it actually claimed. The
+ * claimed orders a drain does not finish (worker failure, interrupt) are
+ * released back to the queue when the drain ends, and those left by a previous
+ * run of the same instance when it starts again. Claims older than
+ * {@code app.orders.async.lease-ms} (e.g. of another instance that stopped) are
+ * requeued by {@link #requeueExpired()}. A worker locks the row and only places
+ * an order that is still claimed by its instance, so a requeued order is never
+ * placed twice.
+ * </p>
+ * <p>
+ * Retries carrying the same idempotency key return the existing queued order
+ * instead of creating a new one, so they never deduct stock twice. The key is
+ * bound to the order it was first sent with: reusing it for a different order
+ * is rejected.
+ * </p>
+ */
+@Service
+public class AsyncOrderService {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncOrderService.class);
+
+    @Autowired
+    private QueuedOrderRepository queuedOrderRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final int batchSize;
+    private final int workers;
+    private final long leaseMs;
+    private final String instanceId;
+    private final ExecutorService workerPool;
+
+    /**
+     * @param batchSize Number of orders placed per transaction.
+     * @param workers Number of micro-batches placed concurrently.
+     * @param leaseMs How long a claimed order may stay in processing before it is requeued.
+     * @param instanceId Name recorded on the orders this instance claims; the host name if blank.
+     */
+    public AsyncOrderService(
+        @Value("${app.orders.async.batch-size:20}") int batchSize,
+        @Value("${app.orders.async.workers:2}") int workers,
+        @Value("${app.orders.async.lease-ms:60000}") long leaseMs,
+        @Value("${app.orders.async.instance-id:}") String instanceId
+    ) {
+        this.batchSize = batchSize;
+        this.workers = workers;
+        this.leaseMs = leaseMs;
+        this.instanceId = instanceId.isBlank() ? hostName() : instanceId;
+        this.workerPool = Executors.newFixedThreadPool(workers);
+    }
+
+
+    /**
+     * Accepts an order for asynchronous placement.
+     * @param request The order to place.
+     * @param idempotencyKey Optional client key; a repeated key returns the already queued order.
+     * @return The queued order (new or existing).
+     * @throws IdempotencyKeyReusedException If the key was already used for a different order.
+     */
+    public QueuedOrder enqueue(PlaceOrderRequestDTO request, String idempotencyKey) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid order request", e);
+        }
+        String payloadHash = sha256(payload);
+
+        if (idempotencyKey != null) {
+            QueuedOrder existing = queuedOrderRepository.findByIdempotencyKey(idempotencyKey);
+            if (existing != null) {
+                return sameOrder(existing, payloadHash);
+            }
+        }
+
+        try {
+            return queuedOrderRepository.save(new QueuedOrder(UUID.randomUUID().toString(), idempotencyKey, payload, payloadHash));
+        } catch (DataIntegrityViolationException e) {
+            //A concurrent retry with the same key won the insert
+            QueuedOrder existing = idempotencyKey == null ? null : queuedOrderRepository.findByIdempotencyKey(idempotencyKey);
+            if (existing == null) {
+                throw e;
+            }
+            return sameOrder(existing, payloadHash);
+        }
+    }
+
+
+    /**
+     * Looks up a queued order by its token.
+     * @param token The token returned by {@link #enqueue}.
+     * @return The queued order, or null if the token is unknown.
+     */
+    public QueuedOrder findByToken(String token) {
+        return queuedOrderRepository.findByToken(token);
+    }
+
+
+    /**
+     * Requeues the orders this instance was processing when it stopped, before it drains again.
+     * <p>
+     * Their transactions never committed (otherwise they would be COMPLETED or
+     * FAILED), so placing them again cannot apply them twice. Orders claimed by
+     * other instances are left to {@link #requeueExpired()}.
+     * </p>
+     * @return The number of orders requeued.
+     */
+    @PostConstruct
+    public int recover() {
+        int requeued = queuedOrderRepository.updateStatusClaimedBy(
+            instanceId, QueuedOrder.Status.PROCESSING, QueuedOrder.Status.PENDING, LocalDateTime.now());
+        if (requeued > 0) {
+            log.warn("Requeued {} orders left in processing by instance {}", requeued, instanceId);
+        }
+        return requeued;
+    }
+
+
+    /**
+     * Requeues orders claimed longer than the lease ago and still not placed, e.g.
+     * by an instance that stopped while draining them.
+     * @return The number of orders requeued.
+     */
+    @Scheduled(
+        initialDelayString = "${app.orders.async.lease-ms:60000}",
+        fixedDelayString = "${app.orders.async.lease-ms:60000}"
+    )
+    public int requeueExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int requeued = queuedOrderRepository.updateStatusBefore(
+            QueuedOrder.Status.PROCESSING, QueuedOrder.Status.PENDING, now.minusNanos(leaseMs * 1_000_000), now);
+        if (requeued > 0) {
+            log.warn("Requeued {} orders whose processing lease expired", requeued);
+        }
+        return requeued;
+    }
+
+
+    /**
+     * Places every pending order, {@code workers} micro-batches at a time.
+     * @return The number of queued orders processed.
+     */
+    @Scheduled(
+        initialDelayString = "${app.orders.async.poll-interval-ms:250}",
+        fixedDelayString = "${app.orders.async.poll-interval-ms:250}"
+    )
+    public synchronized int drain() {
+        int processed = 0;
+
+        while (true) {
+            List<Long> pending = queuedOrderRepository.findIdsByStatus(QueuedOrder.Status.PENDING, Limit.of(batchSize * workers));
+            if (pending.isEmpty()) {
+                return processed;
+            }
+            //Another instance may claim some of them first: carry on with the ones this instance got
+            queuedOrderRepository.updateStatus(pending, QueuedOrder.Status.PENDING, QueuedOrder.Status.PROCESSING,
+                instanceId, LocalDateTime.now());
+            List<Long> ids = queuedOrderRepository.findIdsByStatusAndClaimedBy(QueuedOrder.Status.PROCESSING, instanceId);
+            if (ids.isEmpty()) {
+                continue;
+            }
+
+            List<Callable<Void>> batches = new ArrayList<>();
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<Long> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                batches.add(() -> {
+                    placeBatch(batch);
+                    return null;
+                });
+            }
+            try {
+                for (Future<Void> future : workerPool.invokeAll(batches)) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return processed;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Queued order worker failed", e.getCause());
+            } finally {
+                //This instance's orders neither placed nor rejected go back to the queue
+                queuedOrderRepository.updateStatusClaimedBy(instanceId, QueuedOrder.Status.PROCESSING, QueuedOrder.Status.PENDING,
+                    LocalDateTime.now());
+            }
+            processed += ids.size();
+        }
+    }
+
+
+    @PreDestroy
+    public void shutdown() {
+        workerPool.shutdown();
+    }
+
+
+    /**
+     * Places a micro-batch in one transaction, or one transaction per order if that fails.
+     */
+    private void placeBatch(List<Long> ids) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Long id : ids) {
+                    place(id);
+                }
+            });
+        } catch (RuntimeException batchFailure) {
+            for (Long id : ids) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> place(id));
+                } catch (RuntimeException e) {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        QueuedOrder queued = queuedOrderRepository.findByIdForUpdate(id);
+                        if (claimed(queued)) {
+                            queued.fail("Could not place order: " + e.getMessage());
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    /**
+     * Places one queued order and marks it completed. Must run inside a transaction.
+     * Orders no longer claimed by this instance (placed by another worker, or requeued) are skipped.
+     */
+    private void place(Long id) {
+        QueuedOrder queued = queuedOrderRepository.findByIdForUpdate(id);
+        if (!claimed(queued)) {
+            return;
+        }
+
+        PlaceOrderRequestDTO request;
+        try {
+            request = objectMapper.readValue(queued.getPayload(), PlaceOrderRequestDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable queued order " + id, e);
+        }
+
+        OrderDetails order = orderService.saveOrder(request);
+        queued.complete(order.getId());
+    }
+
+    private boolean claimed(QueuedOrder queued) {
+        return queued.getStatus() == QueuedOrder.Status.PROCESSING && instanceId.equals(queued.getClaimedBy());
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return UUID.randomUUID().toString();
+        }
+    }
+
+    private static QueuedOrder sameOrder(QueuedOrder existing, String payloadHash) {
+        if (existing.getPayloadHash() != null && !existing.getPayloadHash().equals(payloadHash)) {
+            throw new IdempotencyKeyReusedException("The Idempotency-Key was already used for a different order");
+        }
+        return existing;
+    }
+
+    private static String sha256(String payload) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
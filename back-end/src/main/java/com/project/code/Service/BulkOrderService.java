@@ -0,0 +1,338 @@
+package com.project.code.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.code.Model.Customer;
+import com.project.code.Model.CustomerIdentityView;
+import com.project.code.Model.Inventory;
+import com.project.code.Model.OrderDetails;
+import com.project.code.Model.OrderItem;
+import com.project.code.Model.OrderResultDTO;
+import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Model.PurchaseProductDTO;
+import com.project.code.Model.Store;
+import com.project.code.Repo.CustomerRepository;
+import com.project.code.Repo.InventoryRepository;
+import com.project.code.Repo.OrderJdbcRepository;
+import com.project.code.Repo.StoreRepository;
+import com.project.code.Service.PricingService.PricedLine;
+import com.project.code.Service.PricingService.Quote;
+
+/**
+ * Service class for placing many orders in one call (e.g. a POS offline sync).
+ * <p>
+ * Orders are processed in chunks, each in its own transaction. Within a chunk,
+ * customers, stores and inventory rows are resolved with one query per table,
+ * stock is checked against an in-memory copy of the loaded inventory, and the
+ * accepted orders are written with JDBC batches. Stock deltas are aggregated per
+ * inventory row before the conditional decrements are issued. Each order is
+ * priced by the {@link PricingService}; an order whose prices do not match the
+ * current prices is rejected on its own.
+ * </p>
+ * <p>
+ * If a chunk cannot be committed as a whole (e.g. stock was changed concurrently
+ * by another order), its orders are retried one by one through
+ * {@link OrderService#saveOrder(PlaceOrderRequestDTO)} so that each order still
+ * gets an accurate result.
+ * </p>
+ */
+@Service
+public class BulkOrderService {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private OrderJdbcRepository orderJdbcRepository;
+
+    @Autowired
+    private StockAvailabilityService stockAvailabilityService;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private PriceTable priceTable;
+
+    @Autowired
+    private ChangeStreamService changeStreamService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.orders.bulk-chunk-size:100}")
+    private int chunkSize;
+
+
+    /**
+     * Places a list of orders, returning one result per order in request order.
+     * @param orders The orders to place.
+     * @return The per-order results.
+     */
+    public List<OrderResultDTO> saveOrders(List<PlaceOrderRequestDTO> orders) {
+        List<OrderResultDTO> results = new ArrayList<>(orders.size());
+
+        for (int from = 0; from < orders.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, orders.size());
+            results.addAll(processChunk(orders.subList(from, to), from));
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Places one chunk of orders in a single transaction, falling back to
+     * per-order transactions if the chunk fails.
+     * @param chunk The orders of the chunk.
+     * @param offset The index of the first order of the chunk in the original request.
+     * @return The per-order results of the chunk.
+     */
+    private List<OrderResultDTO> processChunk(List<PlaceOrderRequestDTO> chunk, int offset) {
+        try {
+            return transactionTemplate.execute(status -> saveChunk(chunk, offset));
+        } catch (RuntimeException e) {
+            List<OrderResultDTO> results = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                results.add(saveSingle(chunk.get(i), offset + i));
+            }
+            return results;
+        }
+    }
+
+
+    private OrderResultDTO saveSingle(PlaceOrderRequestDTO order, int index) {
+        try {
+            OrderDetails saved = orderService.saveOrder(order);
+            return new OrderResultDTO(index, true, saved.getId(), "Order placed successfully");
+        } catch (RuntimeException e) {
+            return new OrderResultDTO(index, false, null, "Could not place order: " + e.getMessage());
+        }
+    }
+
+
+    /**
+     * Validates and writes a chunk of orders. Must run inside a transaction.
+     */
+    private List<OrderResultDTO> saveChunk(List<PlaceOrderRequestDTO> chunk, int offset) {
+        OrderResultDTO[] results = new OrderResultDTO[chunk.size()];
+
+        //Resolve all stores of the chunk in one query
+        Set<Long> storeIds = new HashSet<>();
+        for (PlaceOrderRequestDTO order : chunk) {
+            if (order.getStoreId() != null) {
+                storeIds.add(order.getStoreId());
+            }
+        }
+        Map<Long, Store> stores = new HashMap<>();
+        for (Store store : storeRepository.findAllById(storeIds)) {
+            stores.put(store.getId(), store);
+        }
+
+        //Load every inventory row touched by the chunk, one query per store
+        Set<Long> chunkProductIds = new HashSet<>();
+        Map<Long, Map<Long, Inventory>> inventories = new HashMap<>();
+        Map<Long, Map<Long, Integer>> remaining = new HashMap<>();
+        for (Long storeId : stores.keySet()) {
+            Set<Long> productIds = new HashSet<>();
+            for (PlaceOrderRequestDTO order : chunk) {
+                if (storeId.equals(order.getStoreId()) && order.getPurchaseProduct() != null) {
+                    for (PurchaseProductDTO line : order.getPurchaseProduct()) {
+                        productIds.add(line.getId());
+                        chunkProductIds.add(line.getId());
+                    }
+                }
+            }
+            Map<Long, Inventory> byProduct = new HashMap<>();
+            Map<Long, Integer> stock = new HashMap<>();
+            for (Inventory inventory : inventoryRepository.findByStoreIdAndProductIdIn(storeId, productIds)) {
+                byProduct.put(inventory.getProduct().getId(), inventory);
+                stock.put(inventory.getProduct().getId(), inventory.getStockLevel());
+            }
+            inventories.put(storeId, byProduct);
+            remaining.put(storeId, stock);
+        }
+
+        //Load the prices of the whole chunk at once, so pricing each order stays in memory
+        priceTable.getPrices(chunkProductIds);
+
+        //Accept orders in request order against the in-memory stock, aggregating the deltas
+        List<Integer> accepted = new ArrayList<>();
+        List<Quote> quotes = new ArrayList<>();
+        Map<Long, Map<Long, Integer>> deltas = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            PlaceOrderRequestDTO order = chunk.get(i);
+            String error = validate(order, stores, remaining);
+            Quote quote = null;
+            if (error == null) {
+                try {
+                    quote = pricingService.quote(order);
+                } catch (RuntimeException e) {
+                    error = e.getMessage();
+                }
+            }
+            if (error != null) {
+                results[i] = new OrderResultDTO(offset + i, false, null, "Could not place order: " + error);
+                continue;
+            }
+
+            Map<Long, Integer> stock = remaining.get(order.getStoreId());
+            Map<Long, Integer> storeDeltas = deltas.computeIfAbsent(order.getStoreId(), id -> new LinkedHashMap<>());
+            for (PurchaseProductDTO line : order.getPurchaseProduct()) {
+                stock.merge(line.getId(), -line.getQuantity(), Integer::sum);
+                storeDeltas.merge(line.getId(), line.getQuantity(), Integer::sum);
+            }
+            accepted.add(i);
+            quotes.add(quote);
+        }
+
+        if (accepted.isEmpty()) {
+            return List.of(results);
+        }
+
+        //Reserve the deltas against the in-memory counters shared with single orders
+        for (Map.Entry<Long, Map<Long, Integer>> entry : deltas.entrySet()) {
+            List<Long> unavailable = stockAvailabilityService.reserve(entry.getKey(), entry.getValue());
+            if (!unavailable.isEmpty()) {
+                throw new IllegalStateException("Stock reserved concurrently for product ID: " + unavailable.get(0));
+            }
+        }
+
+        //Resolve or create each distinct customer once
+        Map<String, Customer> customers = resolveCustomers(chunk, accepted);
+
+        //Write all headers and all items of the chunk in one batch each
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderDetails> headers = new ArrayList<>(accepted.size());
+        for (int n = 0; n < accepted.size(); n++) {
+            PlaceOrderRequestDTO order = chunk.get(accepted.get(n));
+            headers.add(new OrderDetails(customers.get(order.getCustomerEmail()), stores.get(order.getStoreId()),
+                PriceTable.toAmount(quotes.get(n).totalCents()).doubleValue(), now));
+        }
+        orderJdbcRepository.insertOrderHeaders(headers);
+
+        List<OrderItem> items = new ArrayList<>();
+        for (int n = 0; n < accepted.size(); n++) {
+            PlaceOrderRequestDTO order = chunk.get(accepted.get(n));
+            Map<Long, Inventory> byProduct = inventories.get(order.getStoreId());
+            for (PricedLine line : quotes.get(n).lines()) {
+                items.add(new OrderItem(headers.get(n), byProduct.get(line.productId()).getProduct(),
+                    line.quantity(), PriceTable.toAmount(line.totalCents()).doubleValue()));
+            }
+        }
+        orderJdbcRepository.insertOrderItems(items);
+
+        //Apply the aggregated stock deltas; any shortfall means a concurrent change, so retry per order
+        for (Map.Entry<Long, Map<Long, Integer>> entry : deltas.entrySet()) {
+            List<Long> insufficient = inventoryService.reserveStock(entry.getKey(), entry.getValue());
+            if (!insufficient.isEmpty()) {
+                throw new IllegalStateException("Stock changed concurrently for product ID: " + insufficient.get(0));
+            }
+        }
+
+        //Add the items of every accepted order to the daily sales rollup in one batch
+        salesRollupService.recordSales(items);
+
+        for (int n = 0; n < accepted.size(); n++) {
+            int i = accepted.get(n);
+            results[i] = new OrderResultDTO(offset + i, true, headers.get(n).getId(), "Order placed successfully");
+            changeStreamService.orderPlaced(headers.get(n), quotes.get(n));
+        }
+        return List.of(results);
+    }
+
+
+    /**
+     * Checks a single order against the loaded stores and the remaining in-memory stock.
+     * @return An error message, or null if the order can be placed.
+     */
+    private String validate(PlaceOrderRequestDTO order, Map<Long, Store> stores, Map<Long, Map<Long, Integer>> remaining) {
+        if (order.getCustomerEmail() == null) {
+            return "Customer email is required";
+        }
+        if (order.getStoreId() == null || !stores.containsKey(order.getStoreId())) {
+            return "Store not found with ID: " + order.getStoreId();
+        }
+        if (order.getPurchaseProduct() == null || order.getPurchaseProduct().isEmpty()) {
+            return "Order has no products";
+        }
+
+        Map<Long, Integer> requested = new HashMap<>();
+        for (PurchaseProductDTO line : order.getPurchaseProduct()) {
+            if (line.getQuantity() == null || line.getQuantity() <= 0) {
+                return "Invalid quantity for product ID: " + line.getId();
+            }
+            requested.merge(line.getId(), line.getQuantity(), Integer::sum);
+        }
+
+        Map<Long, Integer> stock = remaining.get(order.getStoreId());
+        for (Map.Entry<Long, Integer> entry : requested.entrySet()) {
+            Integer available = stock.get(entry.getKey());
+            if (available == null || available < entry.getValue()) {
+                return "Insufficient stock for product ID: " + entry.getKey();
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * Looks up all customers of the accepted orders with a single query and
+     * creates the missing ones, each distinct email only once.
+     */
+    private Map<String, Customer> resolveCustomers(List<PlaceOrderRequestDTO> chunk, List<Integer> accepted) {
+        Map<String, PlaceOrderRequestDTO> byEmail = new LinkedHashMap<>();
+        for (int i : accepted) {
+            byEmail.putIfAbsent(chunk.get(i).getCustomerEmail(), chunk.get(i));
+        }
+
+        Map<String, Customer> customers = new HashMap<>();
+        for (CustomerIdentityView customer : customerRepository.findIdentitiesByEmailIn(byEmail.keySet())) {
+            customers.putIfAbsent(customer.getEmail(), customerRepository.getReferenceById(customer.getId()));
+        }
+
+        List<Customer> created = new ArrayList<>();
+        for (Map.Entry<String, PlaceOrderRequestDTO> entry : byEmail.entrySet()) {
+            if (!customers.containsKey(entry.getKey())) {
+                Customer customer = new Customer();
+                customer.setName(entry.getValue().getCustomerName());
+                customer.setEmail(entry.getKey());
+                customer.setPhone(entry.getValue().getCustomerPhone());
+                created.add(customer);
+            }
+        }
+        for (Customer customer : customerRepository.saveAll(created)) {
+            customers.put(customer.getEmail(), customer);
+        }
+
+        return customers;
+    }
+
+}
@@ -0,0 +1,437 @@
+package com.project.code.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.code.Model.ChangeEvent;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Append-only local log of {@link ChangeEvent}s, one JSON document per line.
+ * <p>
+ * The offset of an event is its position in the log, so offsets are dense and
+ * survive restarts. The log is split into segment files of
+ * {@code app.changes.segment-events} events, named after the offset of their
+ * first event ({@code changes.log.00000000000000000000}, ...). When a segment is
+ * full, the sparse index of its line positions is written next to it
+ * ({@code .index}) and a new segment is started; only the most recent
+ * {@code app.changes.retained-segments} segments are kept, older offsets are no
+ * longer returned.
+ * </p>
+ * <p>
+ * The most recent events ({@code app.changes.memory-events}) are also kept in
+ * memory, which serves subscribers that are close to the head without touching
+ * the files; older offsets are read from their segment, seeking with its index.
+ * Opening the log loads the indexes of the full segments and only scans the
+ * current one; a line left half-written by a crash is truncated. A lock file is
+ * held while open, so a second application pointed at the same log fails to
+ * start instead of interleaving its writes.
+ * </p>
+ * <p>
+ * Appends are written to the file before they become readable, but are only
+ * forced to disk by {@link #force()}.
+ * </p>
+ */
+@Service
+public class ChangeLog {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLog.class);
+
+    /** The position of every INDEX_INTERVAL-th line of a segment is kept to seek into it. */
+    private static final int INDEX_INTERVAL = 1024;
+
+    private static final String INDEX_SUFFIX = ".index";
+
+    /** A segment file: its first offset, number of events and sparse index. */
+    private static final class Segment {
+        private final long first;
+        private final Path file;
+        private final List<Long> index;
+        private long count;
+
+        private Segment(long first, Path file, List<Long> index, long count) {
+            this.first = first;
+            this.file = file;
+            this.index = index;
+            this.count = count;
+        }
+    }
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final ChangeEvent[] recent;
+    private final long segmentEvents;
+    private final int retainedSegments;
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+
+    private FileChannel lockChannel;
+    private Segment active;
+    private FileChannel channel;
+    private long nextOffset;
+    private long recentFrom;
+    private long size;
+
+    /**
+     * @param path The base name of the segment files.
+     * @param memoryEvents Number of most recent events kept in memory.
+     * @param segmentEvents Number of events per segment file.
+     * @param retainedSegments Number of segment files kept, the current one included.
+     * @param objectMapper Mapper used to write and read the events.
+     */
+    public ChangeLog(
+        @Value("${app.changes.log-path:data/changes.log}") String path,
+        @Value("${app.changes.memory-events:10000}") int memoryEvents,
+        @Value("${app.changes.segment-events:100000}") long segmentEvents,
+        @Value("${app.changes.retained-segments:20}") int retainedSegments,
+        ObjectMapper objectMapper
+    ) {
+        this.path = Path.of(path).toAbsolutePath();
+        this.objectMapper = objectMapper;
+        this.recent = new ChangeEvent[Math.max(memoryEvents, 1)];
+        this.segmentEvents = Math.max(segmentEvents, 1);
+        this.retainedSegments = Math.max(retainedSegments, 1);
+    }
+
+
+    /**
+     * Opens the log, creating it if needed: loads the indexes of the full segments and scans the current one.
+     * @throws IOException if a segment cannot be read.
+     */
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        Files.createDirectories(path.getParent());
+        lockChannel = FileChannel.open(Path.of(path + ".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            lockChannel.close();
+            throw new IllegalStateException("The change log " + path + " is already in use");
+        }
+
+        //A log written before segments were introduced becomes the first segment
+        if (Files.isRegularFile(path)) {
+            Files.move(path, segmentFile(0));
+        }
+
+        List<Long> firsts = new ArrayList<>();
+        String prefix = path.getFileName() + ".";
+        try (Stream<Path> files = Files.list(path.getParent())) {
+            files.map(file -> file.getFileName().toString())
+                .filter(name -> name.startsWith(prefix) && name.length() == prefix.length() + 20)
+                .map(name -> name.substring(prefix.length()))
+                .filter(first -> first.chars().allMatch(Character::isDigit))
+                .forEach(first -> firsts.add(Long.parseLong(first)));
+        }
+        firsts.sort(null);
+        if (firsts.isEmpty()) {
+            firsts.add(0L);
+        }
+
+        for (int i = 0; i < firsts.size() - 1; i++) {
+            Segment segment = loadSealed(firsts.get(i));
+            segments.put(segment.first, segment);
+        }
+
+        //Keep the raw lines of the tail, only those are parsed
+        long first = firsts.get(firsts.size() - 1);
+        active = new Segment(first, segmentFile(first), new ArrayList<>(), 0);
+        byte[][] tail = new byte[recent.length][];
+        long end = scan(active, tail);
+        segments.put(first, active);
+
+        channel = FileChannel.open(active.file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (end < channel.size()) {
+            log.warn("Truncating {} bytes of an incomplete event at the end of {}", channel.size() - end, active.file);
+            channel.truncate(end);
+        }
+        size = end;
+        nextOffset = first + active.count;
+        channel.position(size);
+
+        recentFrom = Math.max(first, nextOffset - recent.length);
+        for (long o = recentFrom; o < nextOffset; o++) {
+            recent[(int) (o % recent.length)] = objectMapper.readValue(tail[(int) ((o - first) % tail.length)], ChangeEvent.class);
+        }
+        if (active.count >= segmentEvents) {
+            roll();
+        }
+        log.info("Opened change log {} at offset {} ({} segments)", path, nextOffset, segments.size());
+    }
+
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+        if (lockChannel != null) {
+            lockChannel.close();
+        }
+    }
+
+
+    /**
+     * Appends an event at the head of the log, starting a new segment once the current one is full.
+     * @param event The event; its offset is ignored.
+     * @return The event with the offset it was written at.
+     */
+    public synchronized ChangeEvent append(ChangeEvent event) {
+        ChangeEvent appended = event.withOffset(nextOffset);
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(appended);
+            ByteBuffer buffer = ByteBuffer.allocate(json.length + 1).put(json).put((byte) '\n').flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (active.count % INDEX_INTERVAL == 0) {
+                active.index.add(size);
+            }
+            size += json.length + 1;
+            active.count++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to the change log " + path, e);
+        }
+
+        recent[(int) (nextOffset % recent.length)] = appended;
+        nextOffset++;
+        recentFrom = Math.max(recentFrom, nextOffset - recent.length);
+
+        if (active.count >= segmentEvents) {
+            try {
+                roll();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start a new segment of the change log " + path, e);
+            }
+        }
+        return appended;
+    }
+
+
+    /**
+     * Forces the appended events to disk.
+     */
+    public synchronized void force() {
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not sync the change log " + path, e);
+        }
+    }
+
+
+    /**
+     * Returns the offset the next event will be written at.
+     * @return The head offset, i.e. the number of events ever appended.
+     */
+    public synchronized long getHeadOffset() {
+        return nextOffset;
+    }
+
+
+    /**
+     * Returns the offset of the oldest event still kept.
+     * @return The offset of the first event of the oldest segment.
+     */
+    public synchronized long getFirstOffset() {
+        return segments.firstKey();
+    }
+
+
+    /**
+     * Reads consecutive events starting at an offset, within one segment.
+     * @param from The offset of the first event; an offset no longer kept reads from the oldest event.
+     * @param limit The maximum number of events.
+     * @return The events, in offset order; empty if {@code from} is at or past the head.
+     */
+    public List<ChangeEvent> read(long from, int limit) {
+        long start;
+        long end;
+        long seekOffset;
+        long seekPosition;
+        Path file;
+        synchronized (this) {
+            start = Math.max(from, segments.firstKey());
+            end = Math.min(nextOffset, start + limit);
+            if (start >= end) {
+                return List.of();
+            }
+            if (start >= recentFrom) {
+                List<ChangeEvent> events = new ArrayList<>((int) (end - start));
+                for (long o = start; o < end; o++) {
+                    events.add(recent[(int) (o % recent.length)]);
+                }
+                return events;
+            }
+            Segment segment = segments.floorEntry(start).getValue();
+            end = Math.min(end, segment.first + segment.count);
+            int slot = (int) ((start - segment.first) / INDEX_INTERVAL);
+            seekOffset = segment.first + (long) slot * INDEX_INTERVAL;
+            seekPosition = segment.index.get(slot);
+            file = segment.file;
+        }
+
+        //The lines before the head are complete and never rewritten, so the file is read without the lock
+        List<ChangeEvent> events = new ArrayList<>((int) (end - start));
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            in.skipNBytes(seekPosition);
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            long offset = seekOffset;
+            int b;
+            while (offset < end && (b = in.read()) != -1) {
+                if (b != '\n') {
+                    if (offset >= start) {
+                        line.write(b);
+                    }
+                    continue;
+                }
+                if (offset >= start) {
+                    events.add(objectMapper.readValue(line.toByteArray(), ChangeEvent.class));
+                    line.reset();
+                }
+                offset++;
+            }
+        } catch (NoSuchFileException e) {
+            //The segment was dropped by the retention meanwhile, continue from the oldest one kept
+            return read(from, limit);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the change log " + path, e);
+        }
+        return events;
+    }
+
+
+    /**
+     * Seals the current segment by writing its index, starts the next one and drops the segments beyond the retention.
+     */
+    private void roll() throws IOException {
+        writeIndex(active);
+        channel.close();
+
+        active = new Segment(nextOffset, segmentFile(nextOffset), new ArrayList<>(), 0);
+        segments.put(active.first, active);
+        channel = FileChannel.open(active.file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        size = 0;
+
+        while (segments.size() > retainedSegments) {
+            Map.Entry<Long, Segment> oldest = segments.pollFirstEntry();
+            try {
+                Files.deleteIfExists(oldest.getValue().file);
+                Files.deleteIfExists(indexFile(oldest.getValue().file));
+            } catch (IOException e) {
+                log.warn("Could not delete the change log segment {}", oldest.getValue().file, e);
+            }
+        }
+    }
+
+    private Segment loadSealed(long first) throws IOException {
+        Path file = segmentFile(first);
+        Path indexFile = indexFile(file);
+        if (Files.isRegularFile(indexFile)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+                long count = in.readLong();
+                int slots = in.readInt();
+                List<Long> index = new ArrayList<>(slots);
+                for (int i = 0; i < slots; i++) {
+                    index.add(in.readLong());
+                }
+                return new Segment(first, file, index, count);
+            } catch (IOException e) {
+                log.warn("Could not read the index of the change log segment {}, rebuilding it", file, e);
+            }
+        }
+        Segment segment = new Segment(first, file, new ArrayList<>(), 0);
+        scan(segment, null);
+        writeIndex(segment);
+        return segment;
+    }
+
+    /**
+     * Counts and indexes the complete lines of a segment, keeping the last ones in {@code tail} if given.
+     * @return The position following the last complete line.
+     */
+    private long scan(Segment segment, byte[][] tail) throws IOException {
+        if (!Files.exists(segment.file)) {
+            return 0;
+        }
+        long position = 0;
+        long lineStart = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(segment.file))) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) != -1) {
+                position++;
+                if (b != '\n') {
+                    if (tail != null) {
+                        line.write(b);
+                    }
+                    continue;
+                }
+                if (segment.count % INDEX_INTERVAL == 0) {
+                    segment.index.add(lineStart);
+                }
+                if (tail != null) {
+                    tail[(int) (segment.count % tail.length)] = line.toByteArray();
+                    line.reset();
+                }
+                segment.count++;
+                lineStart = position;
+            }
+        }
+        return lineStart;
+    }
+
+    private void writeIndex(Segment segment) throws IOException {
+        Path indexFile = indexFile(segment.file);
+        Path temporary = Path.of(indexFile + ".tmp");
+        try (OutputStream file = Files.newOutputStream(temporary);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeLong(segment.count);
+            out.writeInt(segment.index.size());
+            for (long position : segment.index) {
+                out.writeLong(position);
+            }
+        }
+        Files.move(temporary, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path segmentFile(long first) {
+        return Path.of(path + "." + String.format("%020d", first));
+    }
+
+    private static Path indexFile(Path segmentFile) {
+        return Path.of(segmentFile + INDEX_SUFFIX);
+    }
+}
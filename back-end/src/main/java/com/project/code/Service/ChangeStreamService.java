@@ -0,0 +1,445 @@
+package com.project.code.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.code.Model.ChangeEvent;
+import com.project.code.Model.Inventory;
+import com.project.code.Model.OrderDetails;
+import com.project.code.Model.Product;
+import com.project.code.Repo.ChangeOutboxJdbcRepository;
+import com.project.code.Repo.ChangeOutboxJdbcRepository.OutboxRow;
+import com.project.code.Service.PricingService.PricedLine;
+import com.project.code.Service.PricingService.Quote;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Change-data-capture of the inventory, catalogue and order mutations.
+ * <p>
+ * The services publish a {@link ChangeEvent} for every write. The events of a
+ * transaction are inserted into the {@code change_outbox} table just before it
+ * commits, so they are committed or rolled back with the change itself, and are
+ * appended to the {@link ChangeLog} once it has committed. The outbox rows are
+ * deleted in batches ({@code app.changes.outbox-flush-ms}) after the log has been
+ * forced to disk; events whose append failed are retried then, and rows left by a
+ * crash are appended when the application starts again. An event can therefore
+ * be appended twice after a crash, but a committed change is never lost. Clients
+ * follow the log from an offset of their choice with {@link #subscribe(long, Long)}
+ * and receive each change once, instead of polling whole store catalogues.
+ * </p>
+ * <p>
+ * Every subscriber has its own cursor. When events are appended, the subscribers
+ * behind the head are drained on a fixed pool of {@code app.changes.stream-threads}
+ * background threads, one batch at a time and at most one drain per subscriber
+ * queued, so replaying history and following live changes are the same code path,
+ * a client replaying a long history takes turns with the others and a slow client
+ * never holds up the writers.
+ * </p>
+ */
+@Service
+public class ChangeStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeStreamService.class);
+
+    private static final long TIMEOUT_MS = 30 * 60 * 1000L;
+    private static final int BATCH_SIZE = 500;
+
+    /** The changes read from the log, and the offset to continue from. */
+    public record ChangePage(List<ChangeEvent> changes, long nextOffset) {
+    }
+
+    private static final class Subscriber {
+        private final Long storeId;
+        private final SseEmitter emitter;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile long next;
+
+        private Subscriber(Long storeId, SseEmitter emitter, long next) {
+            this.storeId = storeId;
+            this.emitter = emitter;
+            this.next = next;
+        }
+    }
+
+    /** The events of one transaction, and how many of them were appended to the log. */
+    private static final class Batch {
+        private final String id;
+        private final List<ChangeEvent> events = new ArrayList<>();
+        private int appended;
+
+        private Batch() {
+            this(UUID.randomUUID().toString());
+        }
+
+        private Batch(String id) {
+            this.id = id;
+        }
+    }
+
+    private static final int MAX_DELETED_BATCHES = 500;
+
+    @Autowired
+    private ChangeLog changeLog;
+
+    @Autowired
+    private ChangeOutboxJdbcRepository changeOutboxJdbcRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Queue<Batch> unappended = new ConcurrentLinkedQueue<>();
+    private final Queue<String> appended = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * @param streamThreads Number of threads sending events to the subscribers.
+     */
+    public ChangeStreamService(@Value("${app.changes.stream-threads:4}") int streamThreads) {
+        int threads = Math.max(streamThreads, 1);
+        //At most one drain per subscriber is queued, so the queue is bounded by the number of subscribers
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, "change-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+
+    /**
+     * Appends the events left in the outbox by a previous run that stopped before appending them.
+     */
+    @PostConstruct
+    public void recover() {
+        Batch batch = null;
+        int recovered = 0;
+        for (OutboxRow row : changeOutboxJdbcRepository.findAll()) {
+            if (batch == null || !batch.id.equals(row.batchId())) {
+                if (batch != null) {
+                    unappended.add(batch);
+                }
+                batch = new Batch(row.batchId());
+            }
+            try {
+                batch.events.add(objectMapper.readValue(row.event(), ChangeEvent.class));
+            } catch (JsonProcessingException e) {
+                log.error("Skipping an unreadable change of batch {} in the outbox", row.batchId(), e);
+            }
+            recovered++;
+        }
+        if (batch != null) {
+            unappended.add(batch);
+        }
+        if (recovered > 0) {
+            log.warn("Appending {} changes left in the outbox to the change log", recovered);
+            flushOutbox();
+        }
+    }
+
+
+    /**
+     * Records a change in the outbox with the current transaction and appends it to
+     * the log once the transaction commits. Without a transaction, the change is
+     * recorded and appended immediately.
+     * @param type What changed.
+     * @param storeId The ID of the store concerned, or null.
+     * @param productId The ID of the product concerned, or null.
+     * @param data The details of the change.
+     */
+    public void publish(ChangeEvent.Type type, Long storeId, Long productId, Map<String, Object> data) {
+        ChangeEvent event = new ChangeEvent(-1, type, Instant.now(), storeId, productId, data);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Batch batch = new Batch();
+            batch.events.add(event);
+            record(batch);
+            append(batch);
+            return;
+        }
+
+        Batch batch = (Batch) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            Batch created = new Batch();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    record(created);
+                }
+
+                @Override
+                public void afterCommit() {
+                    append(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeStreamService.this);
+                }
+            });
+            batch = created;
+        }
+        batch.events.add(event);
+    }
+
+
+    /**
+     * Records a placed order with the quantity and price of each line.
+     * @param order The saved order header.
+     * @param quote The priced lines of the order.
+     */
+    public void orderPlaced(OrderDetails order, Quote quote) {
+        List<Map<String, Object>> items = new ArrayList<>(quote.lines().size());
+        for (PricedLine line : quote.lines()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("productId", line.productId());
+            item.put("quantity", line.quantity());
+            item.put("price", PriceTable.toAmount(line.totalCents()));
+            items.add(item);
+        }
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("orderId", order.getId());
+        data.put("totalPrice", PriceTable.toAmount(quote.totalCents()));
+        data.put("items", items);
+        publish(ChangeEvent.Type.ORDER_PLACED, order.getStore().getId(), null, data);
+    }
+
+
+    /**
+     * Records the new stock level of an inventory entry.
+     * @param type {@link ChangeEvent.Type#INVENTORY_SAVED} or {@link ChangeEvent.Type#STOCK_UPDATED}.
+     * @param inventory The inventory carrying the product, the store and the stock level.
+     */
+    public void inventoryChanged(ChangeEvent.Type type, Inventory inventory) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("stockLevel", inventory.getStockLevel());
+        publish(type, inventory.getStore().getId(), inventory.getProduct().getId(), data);
+    }
+
+
+    /**
+     * Records a created or updated product.
+     * @param product The saved product.
+     */
+    public void productSaved(Product product) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("name", product.getName());
+        data.put("category", product.getCategory());
+        data.put("price", product.getPrice());
+        data.put("sku", product.getSku());
+        publish(ChangeEvent.Type.PRODUCT_SAVED, null, product.getId(), data);
+    }
+
+
+    /**
+     * Reads the changes from an offset, for clients that poll.
+     * @param from The offset of the first change.
+     * @param storeId Only return the changes of this store (and those not tied to a store), or all if null.
+     * @param limit The maximum number of log entries to scan.
+     * @return The matching changes, in offset order, with the offset following the last entry scanned.
+     */
+    public ChangePage read(long from, Long storeId, int limit) {
+        List<ChangeEvent> events = changeLog.read(from, limit);
+        long next = events.isEmpty() ? Math.max(from, 0) : events.get(events.size() - 1).offset() + 1;
+        return new ChangePage(events.stream().filter(event -> matches(event, storeId)).toList(), next);
+    }
+
+
+    /**
+     * Returns the offset the next change will be recorded at.
+     * @return The head offset.
+     */
+    public long getHeadOffset() {
+        return changeLog.getHeadOffset();
+    }
+
+
+    /**
+     * Registers a subscriber that receives every change from an offset on, as server-sent
+     * events named after the change type with the offset as event ID.
+     * @param from The offset of the first change to send.
+     * @param storeId Only send the changes of this store (and those not tied to a store), or all if null.
+     * @return The emitter to return from the controller.
+     */
+    public SseEmitter subscribe(long from, Long storeId) {
+        SseEmitter emitter = new SseEmitter(TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(storeId, emitter, Math.max(from, 0));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        schedule(subscriber);
+        return emitter;
+    }
+
+
+    /** @return The number of connected subscribers. */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+
+    /**
+     * Retries the appends that failed, then forces the log to disk and deletes the
+     * outbox rows of the appended events.
+     */
+    @Scheduled(
+        initialDelayString = "${app.changes.outbox-flush-ms:1000}",
+        fixedDelayString = "${app.changes.outbox-flush-ms:1000}"
+    )
+    public synchronized void flushOutbox() {
+        for (Batch batch = unappended.peek(); batch != null; batch = unappended.peek()) {
+            if (!appendRemaining(batch)) {
+                break;
+            }
+            unappended.poll();
+            appended.add(batch.id);
+            subscribers.forEach(this::schedule);
+        }
+
+        while (!appended.isEmpty()) {
+            List<String> batchIds = new ArrayList<>();
+            for (String id = appended.poll(); id != null; id = batchIds.size() < MAX_DELETED_BATCHES ? appended.poll() : null) {
+                batchIds.add(id);
+            }
+            try {
+                changeLog.force();
+                changeOutboxJdbcRepository.deleteBatches(batchIds);
+            } catch (RuntimeException e) {
+                log.warn("Could not clear {} appended change batches from the outbox, retrying later", batchIds.size(), e);
+                appended.addAll(batchIds);
+                return;
+            }
+        }
+    }
+
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+
+    private void record(Batch batch) {
+        List<String> events = new ArrayList<>(batch.events.size());
+        try {
+            for (ChangeEvent event : batch.events) {
+                events.add(objectMapper.writeValueAsString(event));
+            }
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Could not serialize a change", e);
+        }
+        changeOutboxJdbcRepository.insert(batch.id, events);
+    }
+
+    private void append(Batch batch) {
+        if (!appendRemaining(batch)) {
+            //The change and its outbox row are committed: the append is retried, the caller must not fail
+            unappended.add(batch);
+            return;
+        }
+        appended.add(batch.id);
+        subscribers.forEach(this::schedule);
+    }
+
+    private boolean appendRemaining(Batch batch) {
+        try {
+            while (batch.appended < batch.events.size()) {
+                changeLog.append(batch.events.get(batch.appended));
+                batch.appended++;
+            }
+            return true;
+        } catch (RuntimeException e) {
+            ChangeEvent event = batch.events.get(batch.appended);
+            log.error("Could not append {} change of store {} product {}, retrying later",
+                event.type(), event.storeId(), event.productId(), e);
+            return false;
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            submit(subscriber);
+        }
+    }
+
+    private void submit(Subscriber subscriber) {
+        try {
+            executor.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            //Shutting down
+            subscriber.draining.set(false);
+        }
+    }
+
+    /**
+     * Sends one batch of events to a subscriber, then queues the next batch behind the other subscribers.
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            List<ChangeEvent> events = changeLog.read(subscriber.next, BATCH_SIZE);
+            if (events.isEmpty()) {
+                subscriber.draining.set(false);
+                //An event appended after the read but before the flag was cleared did not reschedule this subscriber
+                if (changeLog.getHeadOffset() > subscriber.next && subscriber.draining.compareAndSet(false, true)) {
+                    submit(subscriber);
+                }
+                return;
+            }
+            for (ChangeEvent event : events) {
+                if (matches(event, subscriber.storeId)) {
+                    subscriber.emitter.send(SseEmitter.event()
+                        .id(Long.toString(event.offset()))
+                        .name(event.type().name())
+                        .data(event));
+                }
+                subscriber.next = event.offset() + 1;
+            }
+            submit(subscriber);
+        } catch (IOException e) {
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } catch (IllegalStateException e) {
+            //Already completed by the client going away
+            subscribers.remove(subscriber);
+        } catch (RuntimeException e) {
+            log.warn("Could not stream changes from offset {}", subscriber.next, e);
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    private static boolean matches(ChangeEvent event, Long storeId) {
+        return storeId == null || event.storeId() == null || storeId.equals(event.storeId());
+    }
+}
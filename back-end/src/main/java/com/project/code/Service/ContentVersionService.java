@@ -0,0 +1,120 @@
+package com.project.code.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.code.Model.ProductDTO;
+import com.project.code.Model.StockChangedEvent;
+
+/**
+ * Tracks the versions of the catalogue and of each store's inventory, and derives
+ * the ETags of the catalogue and inventory reads from them.
+ * <p>
+ * The versions are in-memory counters bumped once a change is committed: the
+ * catalogue version on every product save or delete, a store's version on every
+ * {@link StockChangedEvent} of that store. An ETag can therefore be compared with
+ * {@code If-None-Match} without reading the database or serializing the body.
+ * The counters start again at every boot, so the ETags of the lists also carry
+ * an epoch that differs between runs. A single product's ETag uses its persisted
+ * {@code @Version} instead and stays valid across restarts.
+ * </p>
+ * <p>
+ * A store's inventory list shows the product details too, so its ETag combines
+ * the store's version with the catalogue version.
+ * </p>
+ * <p>
+ * It also records when the catalogue last changed, so the caches of catalogue
+ * reads are only filled from a read replica that has applied that change (see
+ * {@link #getCatalogueChangedAt()}).
+ * </p>
+ */
+@Service
+public class ContentVersionService {
+
+    private final long bootedAt = System.currentTimeMillis();
+    private final String epoch = Long.toString(bootedAt, 36);
+    private final AtomicLong catalogueVersion = new AtomicLong();
+    //Changes of a previous run are only known to be committed before the boot
+    private final AtomicLong catalogueChangedAt = new AtomicLong(bootedAt);
+    private final AtomicLong catalogueChanging = new AtomicLong();
+    private final Map<Long, AtomicLong> storeVersions = new ConcurrentHashMap<>();
+
+
+    /**
+     * Bumps the catalogue version once the current transaction commits (immediately if there is none).
+     * Until the transaction has completed, {@link #getCatalogueChangedAt()} reports a change in progress.
+     */
+    public void catalogueChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            catalogueChanging.incrementAndGet();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    catalogueVersion.incrementAndGet();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    catalogueChangedAt.accumulateAndGet(System.currentTimeMillis(), Math::max);
+                    catalogueChanging.decrementAndGet();
+                }
+            });
+        } else {
+            catalogueChangedAt.accumulateAndGet(System.currentTimeMillis(), Math::max);
+            catalogueVersion.incrementAndGet();
+        }
+    }
+
+
+    /**
+     * Bumps the version of a store whose stock changed.
+     * @param event The committed stock change.
+     */
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        storeVersions.computeIfAbsent(event.storeId(), id -> new AtomicLong()).incrementAndGet();
+    }
+
+
+    /**
+     * @return When the last catalogue change was committed, or {@link Long#MAX_VALUE}
+     *         while one is being committed (its caches are being invalidated).
+     */
+    public long getCatalogueChangedAt() {
+        return catalogueChanging.get() > 0 ? Long.MAX_VALUE : catalogueChangedAt.get();
+    }
+
+
+    /**
+     * @return The ETag of the product list.
+     */
+    public String getCatalogueETag() {
+        return "\"catalogue-" + epoch + "-" + catalogueVersion.get() + "\"";
+    }
+
+
+    /**
+     * @param storeId The ID of the store.
+     * @return The ETag of the store's inventory list.
+     */
+    public String getStoreETag(Long storeId) {
+        AtomicLong version = storeVersions.get(storeId);
+        return "\"store-" + storeId + "-" + epoch + "-" + (version == null ? 0 : version.get())
+            + "-" + catalogueVersion.get() + "\"";
+    }
+
+
+    /**
+     * @param product The product.
+     * @return The ETag of the product.
+     */
+    public String getProductETag(ProductDTO product) {
+        return "\"product-" + product.id() + "-" + product.version() + "\"";
+    }
+}
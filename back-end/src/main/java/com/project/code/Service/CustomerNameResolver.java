@@ -0,0 +1,68 @@
+package com.project.code.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.code.Model.CustomerNameView;
+import com.project.code.Repo.CustomerRepository;
+
+/**
+ * Resolves customer names for display (e.g. next to reviews).
+ * <p>
+ * Names are looked up in a bounded LRU cache first; all misses are then resolved
+ * with a single projection query, so rendering N reviews costs at most one SQL
+ * statement instead of N entity loads.
+ * </p>
+ */
+@Service
+public class CustomerNameResolver {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private final Cache<Long, String> names;
+
+    /**
+     * @param maxSize Maximum number of customer names kept in memory.
+     */
+    public CustomerNameResolver(@Value("${app.customers.name-cache-size:10000}") long maxSize) {
+        this.names = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(1, TimeUnit.HOURS)
+            .build();
+    }
+
+
+    /**
+     * Resolves the names of the given customers.
+     * @param customerIds The IDs of the customers; nulls and duplicates are ignored.
+     * @return The customer names keyed by ID. Customers that do not exist are absent from the map.
+     */
+    public Map<Long, String> resolveNames(Collection<Long> customerIds) {
+        Set<Long> ids = new HashSet<>(customerIds);
+        ids.remove(null);
+
+        Map<Long, String> result = new HashMap<>(names.getAllPresent(ids));
+
+        ids.removeAll(result.keySet());
+        if (!ids.isEmpty()) {
+            for (CustomerNameView customer : customerRepository.findNamesByIdIn(ids)) {
+                names.put(customer.getId(), customer.getName());
+                result.put(customer.getId(), customer.getName());
+            }
+        }
+
+        return result;
+    }
+
+}
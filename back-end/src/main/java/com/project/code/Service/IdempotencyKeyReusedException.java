@@ -0,0 +1,12 @@
+package com.project.code.Service;
+
+/**
+ * Thrown when an idempotency key is sent again with a different order than the
+ * one it was first used for.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,230 @@
+package com.project.code.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.code.Model.ChangeEvent;
+import com.project.code.Repo.InventoryJdbcRepository;
+import com.project.code.Repo.InventoryJdbcRepository.StockRow;
+
+/**
+ * Service class for bulk inventory import and export as CSV ({@code sku,storeId,stockLevel}).
+ * <p>
+ * The CSV is read and written one line at a time, so memory stays constant in the
+ * number of rows; only the SKU-to-product map and the store IDs are loaded up front,
+ * each with a single query. Imported rows are upserted in JDBC batches, each chunk in
+ * its own transaction: a failed import leaves the earlier chunks applied, and since an
+ * upsert is idempotent the same file can simply be imported again.
+ * </p>
+ */
+@Service
+public class InventoryCsvService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryCsvService.class);
+
+    static final String HEADER = "sku,storeId,stockLevel";
+
+    private static final int CHUNK_SIZE = 5000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    @Autowired
+    private InventoryJdbcRepository inventoryJdbcRepository;
+
+    @Autowired
+    private InventorySnapshotService inventorySnapshotService;
+
+    @Autowired
+    private ChangeStreamService changeStreamService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Outcome of an import.
+     * @param imported The number of rows written.
+     * @param rejected The number of rows skipped (malformed, unknown SKU or store, negative stock).
+     * @param errors The reasons of the first rejected rows, with their line numbers.
+     */
+    public record ImportResult(long imported, long rejected, List<String> errors) {
+    }
+
+
+    /**
+     * Imports stock levels from CSV, inserting new inventory rows and overwriting existing ones.
+     * <p>
+     * A first line equal to {@code sku,storeId,stockLevel} is skipped; blank lines are ignored.
+     * </p>
+     * @param csv The CSV to read.
+     * @return The number of imported and rejected rows.
+     */
+    public ImportResult importCsv(Reader csv) {
+        long started = System.nanoTime();
+        Map<String, Long> productIds = inventoryJdbcRepository.findProductIdsBySku();
+        Set<Long> storeIds = inventoryJdbcRepository.findStoreIds();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<StockRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        Set<Long> touchedStores = new HashSet<>();
+        List<String> errors = new ArrayList<>();
+        long imported = 0;
+        long rejected = 0;
+
+        try (BufferedReader reader = new BufferedReader(csv)) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && line.trim().equalsIgnoreCase(HEADER))) {
+                    continue;
+                }
+
+                String error = null;
+                List<String> fields = parseLine(line);
+                if (fields.size() != 3) {
+                    error = "expected 3 fields but found " + fields.size();
+                } else {
+                    Long productId = productIds.get(fields.get(0).trim());
+                    Long storeId = parseLong(fields.get(1));
+                    Long stockLevel = parseLong(fields.get(2));
+                    if (productId == null) {
+                        error = "unknown SKU " + fields.get(0).trim();
+                    } else if (storeId == null || !storeIds.contains(storeId)) {
+                        error = "unknown store " + fields.get(1).trim();
+                    } else if (stockLevel == null || stockLevel < 0 || stockLevel > Integer.MAX_VALUE) {
+                        error = "invalid stock level " + fields.get(2).trim();
+                    } else {
+                        chunk.add(new StockRow(productId, storeId, stockLevel.intValue()));
+                        touchedStores.add(storeId);
+                    }
+                }
+
+                if (error != null) {
+                    rejected++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add("line " + lineNumber + ": " + error);
+                    }
+                }
+
+                if (chunk.size() == CHUNK_SIZE) {
+                    imported += writeChunk(transaction, chunk);
+                }
+            }
+            imported += writeChunk(transaction, chunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            inventorySnapshotService.invalidate(touchedStores);
+            touchedStores.forEach(storeId ->
+                changeStreamService.publish(ChangeEvent.Type.INVENTORY_IMPORTED, storeId, null, Map.of()));
+        }
+
+        log.info("Imported {} inventory rows ({} rejected) in {} ms",
+            imported, rejected, (System.nanoTime() - started) / 1_000_000);
+        return new ImportResult(imported, rejected, errors);
+    }
+
+
+    /**
+     * Writes every inventory row as CSV, starting with the {@code sku,storeId,stockLevel} header.
+     * @param csv The writer to write to; flushed but not closed.
+     */
+    public void exportCsv(Writer csv) {
+        try {
+            csv.write(HEADER);
+            csv.write('\n');
+            inventoryJdbcRepository.streamStock(rs -> {
+                try {
+                    csv.write(quote(rs.getString(1)));
+                    csv.write(',');
+                    csv.write(Long.toString(rs.getLong(2)));
+                    csv.write(',');
+                    csv.write(Integer.toString(rs.getInt(3)));
+                    csv.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            csv.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    private int writeChunk(TransactionTemplate transaction, List<StockRow> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        transaction.executeWithoutResult(status -> inventoryJdbcRepository.upsertStock(chunk));
+        int written = chunk.size();
+        chunk.clear();
+        return written;
+    }
+
+
+    /**
+     * Splits one CSV line into fields. Fields may be quoted with {@code "}, in which case
+     * they may contain commas and doubled quotes ({@code ""}).
+     */
+    static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+
+    static String quote(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+
+    private static Long parseLong(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.project.code.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.code.Model.ChangeEvent;
+import com.project.code.Model.Inventory;
+import com.project.code.Model.Product;
+import com.project.code.Repo.InventoryRepository;
+import com.project.code.Repo.ProductRepository;
+import com.project.code.Repo.OrderJdbcRepository;
+
+/**
+ * Service class for inventory persistence and stock level operations.
+ * <p>
+ * Stock deductions are applied with a single conditional UPDATE so that
+ * concurrent orders for the same product and store can never oversell.
+ * Every change is also written through to the {@link InventorySnapshotService}
+ * and recorded by the {@link ChangeStreamService}.
+ * </p>
+ */
+@Service
+public class InventoryService {
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderJdbcRepository orderJdbcRepository;
+
+    @Autowired
+    private InventorySnapshotService inventorySnapshotService;
+
+    @Autowired
+    private ChangeStreamService changeStreamService;
+
+
+    /**
+     * Persists an inventory record (insert or update).
+     * @param inventory The inventory to save.
+     * @return The saved Inventory.
+     */
+    @Transactional
+    public Inventory saveInventory(Inventory inventory) {
+        //A product sent as {"id": ...} has no version and would be taken for a new one: attach it as a reference instead
+        Product product = inventory.getProduct();
+        if (product != null && product.getId() != null && product.getVersion() == null) {
+            inventory.setProduct(productRepository.getReferenceById(product.getId()));
+        }
+        Inventory saved = inventoryRepository.save(inventory);
+        inventorySnapshotService.inventorySaved(saved);
+        changeStreamService.inventoryChanged(ChangeEvent.Type.INVENTORY_SAVED, saved);
+        return saved;
+    }
+
+
+    /**
+     * Overwrites the stock level of an existing inventory record with a single UPDATE.
+     * @param inventory The inventory carrying the product, the store and the new stock level.
+     * @return true if the record was updated, false if the product is not stocked at the store.
+     */
+    @Transactional
+    public boolean updateStockLevel(Inventory inventory) {
+        int updated = inventoryRepository.updateStockLevel(
+            inventory.getProduct().getId(),
+            inventory.getStore().getId(),
+            inventory.getStockLevel()
+        );
+        if (updated == 0) {
+            return false;
+        }
+        inventorySnapshotService.inventorySaved(inventory);
+        changeStreamService.inventoryChanged(ChangeEvent.Type.STOCK_UPDATED, inventory);
+        return true;
+    }
+
+
+    /**
+     * Deletes all inventory records of a product.
+     * @param productId The ID of the product.
+     */
+    @Transactional
+    public void deleteByProductId(Long productId) {
+        inventoryRepository.deleteByProductId(productId);
+        inventorySnapshotService.productRemoved(productId);
+        changeStreamService.publish(ChangeEvent.Type.INVENTORY_REMOVED, null, productId, Map.of());
+    }
+
+
+    /**
+     * Atomically reserves stock for several products of one store.
+     * <p>
+     * Each product is deducted with a conditional UPDATE (the check and the
+     * deduction in the same statement, so no read-modify-write window exists
+     * between concurrent callers), and all of them travel in a single JDBC batch.
+     * Callers must run inside a transaction and roll it back when the returned
+     * list is not empty.
+     * </p>
+     * @param storeId The ID of the store.
+     * @param quantities Quantity to deduct, keyed by product ID.
+     * @return The IDs of the products whose stock was insufficient (empty on success).
+     */
+    @Transactional
+    public List<Long> reserveStock(Long storeId, Map<Long, Integer> quantities) {
+        List<Long> insufficient = orderJdbcRepository.decrementStock(storeId, quantities);
+
+        Map<Long, Integer> deducted = new HashMap<>(quantities);
+        deducted.keySet().removeAll(insufficient);
+        inventorySnapshotService.stockDeducted(storeId, deducted);
+
+        return insufficient;
+    }
+
+}
@@ -0,0 +1,518 @@
+package com.project.code.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.code.Model.Inventory;
+import com.project.code.Model.InventoryDTO;
+import com.project.code.Model.Product;
+import com.project.code.Model.StockChangedEvent;
+import com.project.code.Repo.InventoryRepository;
+import com.project.code.config.ReplicaRoutingDataSource;
+
+/**
+ * Per-store, in-memory view of the inventory (product → stock level plus the product itself).
+ * <p>
+ * A store's snapshot is loaded with a single query the first time it is read and
+ * then serves the store's product list, stock checks and searches without going
+ * to the database. Writes go through {@link InventoryService} and
+ * {@link ProductService}, which update the snapshots once their transaction has
+ * committed. The total number of rows held in memory is capped, least recently
+ * used stores being dropped first, and a periodic job compares the snapshots
+ * with the database and reloads any store that has drifted (e.g. after a direct
+ * SQL update).
+ * </p>
+ * <p>
+ * Loads never overlap the commit of a stock change of the same store: a
+ * committing transaction holds the store's read lock from just before its commit
+ * until its change has been applied to the snapshot, and a load holds the write
+ * lock while it queries and installs the snapshot. A snapshot is therefore loaded
+ * either before a change was committed, and receives it afterwards, or after it
+ * was applied, and already contains it.
+ * </p>
+ * <p>
+ * For the same reason, a snapshot is only loaded from a read replica that has
+ * applied the last stock change of the store and the last catalogue change;
+ * otherwise, and whenever a snapshot is refreshed or verified, from the primary.
+ * </p>
+ * <p>
+ * Once a stock change has been applied, a {@link StockChangedEvent} is published
+ * (e.g. for the {@link LowStockMonitor}).
+ * </p>
+ */
+@Service
+public class InventorySnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventorySnapshotService.class);
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    private final Cache<Long, StoreSnapshot> snapshots;
+    private final Map<Long, ReentrantReadWriteLock> storeLocks = new ConcurrentHashMap<>();
+    private final Map<Long, Long> storeChangedAt = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxRows Maximum number of inventory rows kept in memory across all stores.
+     */
+    public InventorySnapshotService(@Value("${app.inventory.snapshot-max-rows:1000000}") long maxRows) {
+        this.snapshots = Caffeine.newBuilder()
+            .maximumWeight(maxRows)
+            .weigher((Long storeId, StoreSnapshot snapshot) -> Math.max(1, snapshot.size()))
+            .build();
+    }
+
+
+    /**
+     * Returns the snapshot of a store, loading it on first access.
+     * @param storeId The ID of the store.
+     * @return The store snapshot (empty if the store has no inventory).
+     */
+    public StoreSnapshot getSnapshot(Long storeId) {
+        StoreSnapshot snapshot = snapshots.getIfPresent(storeId);
+        return snapshot != null ? snapshot : reload(storeId, false);
+    }
+
+
+    /**
+     * Reloads the snapshot of a store from the database.
+     * @param storeId The ID of the store.
+     * @return The fresh store snapshot.
+     */
+    public StoreSnapshot refresh(Long storeId) {
+        return reload(storeId, true);
+    }
+
+
+    /**
+     * Re-reads some inventory rows of a store and updates its snapshot with them,
+     * e.g. to confirm a shortfall without reloading the whole store.
+     * @param storeId The ID of the store.
+     * @param productIds The IDs of the products to re-read.
+     * @return The updated store snapshot (reloaded whole if a product is newly stocked).
+     */
+    public StoreSnapshot refreshRows(Long storeId, Collection<Long> productIds) {
+        ReentrantReadWriteLock storeLock = lock(storeId);
+        if (storeLock.getReadHoldCount() > 0) {
+            return getSnapshot(storeId);
+        }
+
+        List<Long> changed = new ArrayList<>();
+        StoreSnapshot snapshot;
+        storeLock.writeLock().lock();
+        try {
+            snapshot = snapshots.getIfPresent(storeId);
+            if (snapshot == null) {
+                snapshot = load(storeId);
+                snapshots.put(storeId, snapshot);
+                return snapshot;
+            }
+            List<Inventory> rows = ReplicaRoutingDataSource.onPrimary(
+                () -> inventoryRepository.findByStoreIdAndProductIdIn(storeId, productIds));
+            for (Inventory row : rows) {
+                Long productId = row.getProduct().getId();
+                int stockLevel = row.getStockLevel() == null ? 0 : row.getStockLevel();
+                if (!snapshot.contains(productId)) {
+                    snapshot = load(storeId);
+                    snapshots.put(storeId, snapshot);
+                    changed.add(productId);
+                    break;
+                }
+                if (snapshot.getStockLevel(productId) != stockLevel) {
+                    snapshot.setStockLevel(productId, stockLevel);
+                    changed.add(productId);
+                }
+            }
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+        if (!changed.isEmpty()) {
+            log.warn("Inventory snapshot of store {} diverged from the database for products {}, updated them", storeId, changed);
+            eventPublisher.publishEvent(new StockChangedEvent(storeId, changed));
+        }
+        return snapshot;
+    }
+
+
+    /**
+     * Drops the snapshots of several stores so they are reloaded on next read (e.g. after a bulk import),
+     * reporting every product of these stores as changed.
+     * @param storeIds The IDs of the stores.
+     */
+    public void invalidate(Collection<Long> storeIds) {
+        for (Long storeId : storeIds) {
+            //Waits for a load in progress, which may predate the change
+            Lock lock = lock(storeId).writeLock();
+            lock.lock();
+            try {
+                changed(storeId);
+                snapshots.invalidate(storeId);
+            } finally {
+                lock.unlock();
+            }
+        }
+        storeIds.forEach(storeId -> eventPublisher.publishEvent(new StockChangedEvent(storeId, null)));
+    }
+
+
+    /**
+     * Records a saved inventory row. An unknown product invalidates the store so it is reloaded on next read.
+     * @param inventory The inventory that was saved.
+     */
+    public void inventorySaved(Inventory inventory) {
+        if (inventory.getStore() == null || inventory.getProduct() == null) {
+            return;
+        }
+        Long storeId = inventory.getStore().getId();
+        Long productId = inventory.getProduct().getId();
+        Integer stockLevel = inventory.getStockLevel();
+
+        afterCommit(storeId, () -> {
+            StoreSnapshot snapshot = snapshots.getIfPresent(storeId);
+            if (snapshot != null && !snapshot.setStockLevel(productId, stockLevel == null ? 0 : stockLevel)) {
+                snapshots.invalidate(storeId);
+            }
+            eventPublisher.publishEvent(new StockChangedEvent(storeId, List.of(productId)));
+        });
+    }
+
+
+    /**
+     * Records stock deducted from a store by an order.
+     * @param storeId The ID of the store.
+     * @param quantities The quantity deducted, keyed by product ID.
+     */
+    public void stockDeducted(Long storeId, Map<Long, Integer> quantities) {
+        afterCommit(storeId, () -> {
+            StoreSnapshot snapshot = snapshots.getIfPresent(storeId);
+            if (snapshot != null) {
+                for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+                    if (!snapshot.addStockLevel(entry.getKey(), -entry.getValue())) {
+                        snapshots.invalidate(storeId);
+                        break;
+                    }
+                }
+            }
+            if (!quantities.isEmpty()) {
+                eventPublisher.publishEvent(new StockChangedEvent(storeId, List.copyOf(quantities.keySet())));
+            }
+        });
+    }
+
+
+    /**
+     * Replaces the product details held by every snapshot that stocks the product.
+     * @param product The saved product.
+     */
+    public void productSaved(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        afterCommit(() -> snapshots.asMap().values().forEach(snapshot -> snapshot.setProduct(product)));
+    }
+
+
+    /**
+     * Drops every snapshot that stocks a product whose inventory was removed.
+     * @param productId The ID of the product.
+     */
+    public void productRemoved(Long productId) {
+        afterCommit(() -> {
+            List<Long> storeIds = snapshots.asMap().entrySet().stream()
+                .filter(entry -> entry.getValue().contains(productId))
+                .map(Map.Entry::getKey)
+                .toList();
+            snapshots.invalidateAll(storeIds);
+            storeIds.forEach(storeId -> eventPublisher.publishEvent(new StockChangedEvent(storeId, List.of(productId))));
+        });
+    }
+
+
+    /**
+     * Compares every loaded snapshot with the database and reloads the stores that differ.
+     * @return The number of stores that were reloaded.
+     */
+    public int verifySnapshots() {
+        int repaired = 0;
+        for (Long storeId : List.copyOf(snapshots.asMap().keySet())) {
+            Lock lock = lock(storeId).writeLock();
+            lock.lock();
+            try {
+                StoreSnapshot current = snapshots.getIfPresent(storeId);
+                if (current == null) {
+                    continue;
+                }
+                StoreSnapshot fresh = load(storeId);
+                if (current.sameStock(fresh)) {
+                    continue;
+                }
+                snapshots.put(storeId, fresh);
+            } finally {
+                lock.unlock();
+            }
+            log.warn("Inventory snapshot of store {} diverged from the database, reloaded it", storeId);
+            eventPublisher.publishEvent(new StockChangedEvent(storeId, null));
+            repaired++;
+        }
+        return repaired;
+    }
+
+
+    /**
+     * Periodic consistency check, see {@link #verifySnapshots()}.
+     */
+    @Scheduled(
+        initialDelayString = "${app.inventory.snapshot-check-interval-ms:300000}",
+        fixedDelayString = "${app.inventory.snapshot-check-interval-ms:300000}"
+    )
+    public void checkConsistency() {
+        verifySnapshots();
+    }
+
+
+    /**
+     * Loads and caches the snapshot of a store, unless (when not forced) another
+     * thread cached it meanwhile.
+     */
+    private StoreSnapshot reload(Long storeId, boolean force) {
+        ReentrantReadWriteLock storeLock = lock(storeId);
+        if (storeLock.getReadHoldCount() > 0) {
+            //Read from an after-commit callback of this store: the lock cannot be upgraded, so the load is not cached
+            return load(storeId);
+        }
+        storeLock.writeLock().lock();
+        try {
+            StoreSnapshot snapshot = force ? null : snapshots.getIfPresent(storeId);
+            if (snapshot == null) {
+                snapshot = force ? load(storeId) : loadFromReplica(storeId);
+                snapshots.put(storeId, snapshot);
+            }
+            return snapshot;
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+    private StoreSnapshot load(Long storeId) {
+        return new StoreSnapshot(ReplicaRoutingDataSource.onPrimary(() -> inventoryRepository.findWithProductByStoreId(storeId)));
+    }
+
+    private StoreSnapshot loadFromReplica(Long storeId) {
+        //Kept up to date by the writes from then on, so it must not miss one of those already applied
+        long changedAt = Math.max(storeChangedAt.getOrDefault(storeId, Long.MIN_VALUE), contentVersionService.getCatalogueChangedAt());
+        return new StoreSnapshot(ReplicaRoutingDataSource.onReplicaCaughtUpTo(changedAt,
+            () -> inventoryRepository.findWithProductByStoreId(storeId)));
+    }
+
+    private void changed(Long storeId) {
+        storeChangedAt.merge(storeId, System.currentTimeMillis(), Math::max);
+    }
+
+    private ReentrantReadWriteLock lock(Long storeId) {
+        return storeLocks.computeIfAbsent(storeId, id -> new ReentrantReadWriteLock());
+    }
+
+    /**
+     * Runs a change of a store's stock once the transaction has committed, holding
+     * the store's read lock from just before the commit, so no load of the store
+     * runs between the commit and the change.
+     */
+    private void afterCommit(Long storeId, Runnable action) {
+        Lock lock = lock(storeId).readLock();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean locked;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    lock.lock();
+                    locked = true;
+                }
+
+                @Override
+                public void afterCommit() {
+                    changed(storeId);
+                    action.run();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (locked) {
+                        locked = false;
+                        lock.unlock();
+                    }
+                }
+            });
+        } else {
+            lock.lock();
+            try {
+                changed(storeId);
+                action.run();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+
+    /**
+     * Inventory of a single store, indexed by product ID.
+     * <p>
+     * Product IDs are kept in a sorted primitive array and looked up by binary
+     * search; stock levels and product references live in parallel atomic arrays
+     * so they can be updated in place while readers are active.
+     * </p>
+     */
+    public static final class StoreSnapshot {
+
+        private final long[] productIds;
+        private final AtomicIntegerArray stockLevels;
+        private final AtomicReferenceArray<Product> products;
+
+        StoreSnapshot(List<Inventory> inventories) {
+            List<Inventory> rows = new ArrayList<>(inventories);
+            rows.sort(Comparator.comparing(inventory -> inventory.getProduct().getId()));
+
+            this.productIds = new long[rows.size()];
+            this.stockLevels = new AtomicIntegerArray(rows.size());
+            this.products = new AtomicReferenceArray<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                Inventory inventory = rows.get(i);
+                productIds[i] = inventory.getProduct().getId();
+                stockLevels.set(i, inventory.getStockLevel() == null ? 0 : inventory.getStockLevel());
+                products.set(i, inventory.getProduct());
+            }
+        }
+
+        /** @return The number of products stocked by the store. */
+        public int size() {
+            return productIds.length;
+        }
+
+        /** @return true if the store stocks the product. */
+        public boolean contains(Long productId) {
+            return productId != null && Arrays.binarySearch(productIds, productId) >= 0;
+        }
+
+        /** @return The stock level of the product, or 0 if the store does not stock it. */
+        public int getStockLevel(Long productId) {
+            int index = productId == null ? -1 : Arrays.binarySearch(productIds, productId);
+            return index < 0 ? 0 : stockLevels.get(index);
+        }
+
+        /** @return The product, or null if the store does not stock it. */
+        public Product getProduct(Long productId) {
+            int index = productId == null ? -1 : Arrays.binarySearch(productIds, productId);
+            return index < 0 ? null : products.get(index);
+        }
+
+        /** @return All products of the store, ordered by ID. */
+        public List<Product> getProducts() {
+            List<Product> result = new ArrayList<>(productIds.length);
+            for (int i = 0; i < productIds.length; i++) {
+                result.add(products.get(i));
+            }
+            return result;
+        }
+
+        /** @return All products of the store with their stock level, ordered by ID. */
+        public List<InventoryDTO> getInventory() {
+            return getPage(Long.MIN_VALUE, productIds.length);
+        }
+
+        /**
+         * @param afterId Return only products with an ID greater than this one.
+         * @param limit The maximum number of products to return.
+         * @return One keyset page of the store's products with their stock level, ordered by ID.
+         */
+        public List<InventoryDTO> getPage(long afterId, int limit) {
+            int from = Arrays.binarySearch(productIds, afterId);
+            from = from >= 0 ? from + 1 : -from - 1;
+            int to = (int) Math.min(productIds.length, (long) from + limit);
+
+            List<InventoryDTO> result = new ArrayList<>(Math.max(0, to - from));
+            for (int i = from; i < to; i++) {
+                result.add(InventoryDTO.of(products.get(i), stockLevels.get(i)));
+            }
+            return result;
+        }
+
+        boolean setStockLevel(Long productId, int stockLevel) {
+            int index = Arrays.binarySearch(productIds, productId);
+            if (index < 0) {
+                return false;
+            }
+            stockLevels.set(index, stockLevel);
+            return true;
+        }
+
+        boolean addStockLevel(Long productId, int delta) {
+            int index = Arrays.binarySearch(productIds, productId);
+            if (index < 0) {
+                return false;
+            }
+            stockLevels.addAndGet(index, delta);
+            return true;
+        }
+
+        void setProduct(Product product) {
+            int index = Arrays.binarySearch(productIds, product.getId());
+            if (index >= 0) {
+                products.set(index, product);
+            }
+        }
+
+        boolean sameStock(StoreSnapshot other) {
+            if (!Arrays.equals(productIds, other.productIds)) {
+                return false;
+            }
+            for (int i = 0; i < productIds.length; i++) {
+                if (stockLevels.get(i) != other.stockLevels.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+}
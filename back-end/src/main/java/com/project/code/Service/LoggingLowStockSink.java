@@ -0,0 +1,24 @@
+package com.project.code.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.project.code.Model.LowStockAlert;
+
+/**
+ * Writes every low-stock alert to the application log.
+ */
+@Service
+public class LoggingLowStockSink implements LowStockSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingLowStockSink.class);
+
+    @Override
+    public void lowStock(LowStockAlert alert) {
+        log.warn("Low stock: product {} ({}) at store {} has {} left, reorder point {} ({} units/day)",
+            alert.productId(), alert.productName(), alert.storeId(), alert.stockLevel(), alert.reorderPoint(),
+            String.format("%.2f", alert.unitsPerDay()));
+    }
+
+}
@@ -0,0 +1,248 @@
+package com.project.code.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.code.Model.LowStockAlert;
+import com.project.code.Model.Product;
+import com.project.code.Model.StockChangedEvent;
+import com.project.code.Repo.SalesJdbcRepository;
+import com.project.code.Service.InventorySnapshotService.StoreSnapshot;
+
+/**
+ * Raises low-stock alerts as stock changes, without scanning the inventory table.
+ * <p>
+ * Every committed stock change arrives as a {@link StockChangedEvent}; only the
+ * products it names are re-evaluated, against the stock level held by the store's
+ * snapshot. The reorder point of a product at a store is derived from its recent
+ * sales velocity (daily sales rollup):
+ * {@code max(min-threshold, ceil(units per day * (lead-time-days + safety-days)))},
+ * so fast sellers are flagged while there is still time to restock. Velocities
+ * are loaded with one query per store and cached for a few minutes.
+ * </p>
+ * <p>
+ * An alert is sent to every {@link LowStockSink} once, when the stock first falls
+ * to the reorder point, and is cleared when the stock rises above it again.
+ * Evaluation runs on a single background thread, off the order path, so
+ * evaluations never race each other. Changes are not queued one task per order:
+ * the products to re-evaluate are collected per store and a single drain task
+ * evaluates each dirty store once, however many orders touched it meanwhile.
+ * </p>
+ */
+@Service
+public class LowStockMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockMonitor.class);
+
+    /** Name of the thread evaluating the stock changes. */
+    public static final String THREAD_NAME = "low-stock-monitor";
+
+    private record StockKey(Long storeId, Long productId) {
+    }
+
+    @Autowired
+    private InventorySnapshotService inventorySnapshotService;
+
+    @Autowired
+    private SalesJdbcRepository salesJdbcRepository;
+
+    @Autowired
+    private List<LowStockSink> sinks;
+
+    @Value("${app.inventory.low-stock.min-threshold:5}")
+    private int minThreshold;
+
+    @Value("${app.inventory.low-stock.lead-time-days:7}")
+    private int leadTimeDays;
+
+    @Value("${app.inventory.low-stock.safety-days:3}")
+    private int safetyDays;
+
+    @Value("${app.inventory.low-stock.velocity-days:28}")
+    private int velocityDays;
+
+    /** Stands for every product of a store in {@link #dirty}; compared by identity. */
+    private static final Set<Long> ALL_PRODUCTS = new HashSet<>();
+
+    //At most one drain task is queued or running, see draining
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(1), task -> {
+            Thread thread = new Thread(task, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+    private final Map<Long, Set<Long>> dirty = new ConcurrentHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final Cache<Long, Map<Long, Long>> unitsSold;
+    private final Map<StockKey, LowStockAlert> active = new ConcurrentHashMap<>();
+
+    /**
+     * @param velocityCacheMinutes How long the sales velocities of a store are reused before being reloaded.
+     */
+    public LowStockMonitor(@Value("${app.inventory.low-stock.velocity-cache-minutes:10}") long velocityCacheMinutes) {
+        this.unitsSold = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(velocityCacheMinutes))
+            .maximumSize(10_000)
+            .build();
+    }
+
+
+    /**
+     * Marks the products named by a stock change for re-evaluation and schedules the drain task.
+     * @param event The committed stock change.
+     */
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        Set<Long> products = event.productIds() == null ? ALL_PRODUCTS : new HashSet<>(event.productIds());
+        dirty.merge(event.storeId(), products, LowStockMonitor::union);
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+
+    /**
+     * Compares the current stock of products of a store with their reorder points,
+     * raising and clearing alerts.
+     * @param storeId The ID of the store.
+     * @param productIds The IDs of the products to check, or null for every product of the store.
+     */
+    public void evaluate(Long storeId, Collection<Long> productIds) {
+        StoreSnapshot snapshot = inventorySnapshotService.getSnapshot(storeId);
+        Map<Long, Long> sold = unitsSold.get(storeId, this::loadUnitsSold);
+
+        Collection<Long> candidates = productIds;
+        if (candidates == null) {
+            candidates = snapshot.getProducts().stream().map(Product::getId).toList();
+            active.keySet().removeIf(key -> key.storeId().equals(storeId) && !snapshot.contains(key.productId()));
+        }
+
+        List<LowStockAlert> raised = new ArrayList<>();
+        for (Long productId : candidates) {
+            double unitsPerDay = (double) sold.getOrDefault(productId, 0L) / velocityDays;
+            int reorderPoint = reorderPoint(unitsPerDay);
+
+            //Decided under the entry's lock so concurrent evaluations of one product raise a single alert
+            active.compute(new StockKey(storeId, productId), (key, current) -> {
+                if (!snapshot.contains(productId)) {
+                    return null;
+                }
+                int stockLevel = snapshot.getStockLevel(productId);
+                if (stockLevel > reorderPoint) {
+                    return null;
+                }
+                if (current != null) {
+                    return new LowStockAlert(storeId, productId, current.productName(), stockLevel, reorderPoint,
+                        unitsPerDay, current.raisedAt());
+                }
+                LowStockAlert alert = new LowStockAlert(storeId, productId, snapshot.getProduct(productId).getName(),
+                    stockLevel, reorderPoint, unitsPerDay, Instant.now());
+                raised.add(alert);
+                return alert;
+            });
+        }
+
+        for (LowStockAlert alert : raised) {
+            for (LowStockSink sink : sinks) {
+                try {
+                    sink.lowStock(alert);
+                } catch (RuntimeException e) {
+                    log.warn("Low-stock sink {} failed", sink.getClass().getSimpleName(), e);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Lists the products of a store that are currently at or below their reorder point.
+     * @param storeId The ID of the store.
+     * @return The active alerts, lowest days of stock first.
+     */
+    public List<LowStockAlert> getActiveAlerts(Long storeId) {
+        return active.values().stream()
+            .filter(alert -> alert.storeId().equals(storeId))
+            .sorted(Comparator.comparingDouble(LowStockMonitor::daysOfCover).thenComparing(LowStockAlert::productId))
+            .toList();
+    }
+
+
+    /**
+     * Computes the reorder point for a sales velocity.
+     * @param unitsPerDay The average units sold per day.
+     * @return The stock level at or below which the product should be reordered.
+     */
+    public int reorderPoint(double unitsPerDay) {
+        return Math.max(minThreshold, (int) Math.ceil(unitsPerDay * (leadTimeDays + safetyDays)));
+    }
+
+
+    private void drain() {
+        while (true) {
+            for (Long storeId : dirty.keySet()) {
+                Set<Long> products = dirty.remove(storeId);
+                if (products == null) {
+                    continue;
+                }
+                try {
+                    evaluate(storeId, products == ALL_PRODUCTS ? null : products);
+                } catch (RuntimeException e) {
+                    log.warn("Could not evaluate low stock of store {}", storeId, e);
+                }
+            }
+            draining.set(false);
+            //A store marked after the loop but before the flag was cleared did not schedule a drain
+            if (dirty.isEmpty() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private static Set<Long> union(Set<Long> current, Set<Long> added) {
+        if (current == ALL_PRODUCTS || added == ALL_PRODUCTS) {
+            return ALL_PRODUCTS;
+        }
+        Set<Long> products = new HashSet<>(current);
+        products.addAll(added);
+        return products;
+    }
+
+    private Map<Long, Long> loadUnitsSold(Long storeId) {
+        LocalDate today = LocalDate.now();
+        return salesJdbcRepository.findUnitsByProduct(storeId, today.minusDays(velocityDays - 1L), today);
+    }
+
+    private static double daysOfCover(LowStockAlert alert) {
+        return alert.unitsPerDay() > 0 ? alert.stockLevel() / alert.unitsPerDay() : Double.MAX_VALUE;
+    }
+}
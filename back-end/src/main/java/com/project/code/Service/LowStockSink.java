@@ -0,0 +1,17 @@
+package com.project.code.Service;
+
+import com.project.code.Model.LowStockAlert;
+
+/**
+ * Destination of the alerts raised by the {@link LowStockMonitor}.
+ * <p>
+ * Every bean implementing this interface receives each alert once, when the
+ * stock of a product first falls to its reorder point. Sinks are called from
+ * a background thread and should not block for long.
+ * </p>
+ */
+public interface LowStockSink {
+
+    void lowStock(LowStockAlert alert);
+
+}
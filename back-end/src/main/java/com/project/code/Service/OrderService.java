@@ -1,25 +1,28 @@
 package com.project.code.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.project.code.Model.Customer;
-import com.project.code.Model.Inventory;
+import com.project.code.Model.CustomerIdentityView;
 import com.project.code.Model.OrderDetails;
 import com.project.code.Model.OrderItem;
 import com.project.code.Model.PlaceOrderRequestDTO;
-import com.project.code.Model.PurchaseProductDTO;
 import com.project.code.Model.Store;
 import com.project.code.Repo.CustomerRepository;
-import com.project.code.Repo.InventoryRepository;
 import com.project.code.Repo.OrderDetailsRepository;
-import com.project.code.Repo.OrderItemRepository;
-import com.project.code.Repo.ProductRepository;
+import com.project.code.Repo.OrderJdbcRepository;
 import com.project.code.Repo.StoreRepository;
+import com.project.code.Service.InventorySnapshotService.StoreSnapshot;
+import com.project.code.Service.PricingService.PricedLine;
+import com.project.code.Service.PricingService.Quote;
 
 /**
  * Service class to manage order placement logic.
@@ -28,10 +31,7 @@ import com.project.code.Repo.StoreRepository;
 @Service
 public class OrderService {
     @Autowired
-    private ProductRepository productRepository;
-
-    @Autowired
-    private InventoryRepository inventoryRepository;
+    private InventoryService inventoryService;
 
     @Autowired
     private CustomerRepository customerRepository;
@@ -43,7 +43,22 @@ public class OrderService {
     private OrderDetailsRepository orderDetailsRepository;
 
     @Autowired
-    private OrderItemRepository orderItemRepository;
+    private OrderJdbcRepository orderJdbcRepository;
+
+    @Autowired
+    private StockAvailabilityService stockAvailabilityService;
+
+    @Autowired
+    private InventorySnapshotService inventorySnapshotService;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private ChangeStreamService changeStreamService;
 
 
     /**
@@ -51,13 +66,19 @@ public class OrderService {
      * <p>
      * This method is transactional; if any part of the order processing fails
      * (e.g., insufficient stock), all database changes will be rolled back.
+     * The order is priced by the {@link PricingService} before anything is
+     * written, so the stored line and order totals are computed by the server.
      * </p>
      * 
      * @param placeOrderRequest DTO containing customer info, store ID, and products.
+     * @return The saved order header.
      * @throws RuntimeException if the store is not found or inventory is insufficient.
+     * @throws PriceMismatchException if the prices sent by the client are not the current prices.
      */
     @Transactional
-    public void saveOrder(PlaceOrderRequestDTO placeOrderRequest) {
+    public OrderDetails saveOrder(PlaceOrderRequestDTO placeOrderRequest) {
+
+        Quote quote = pricingService.quote(placeOrderRequest);
 
         Customer customer = getOrCreateCustomer(placeOrderRequest);
 
@@ -67,23 +88,31 @@ public class OrderService {
             () -> new RuntimeException("Store not found with ID: " + placeOrderRequest.getStoreId())
         );
 
-        OrderDetails orderDetails = createOrderHeader(customer, store, placeOrderRequest.getTotalPrice());
+        OrderDetails orderDetails = createOrderHeader(customer, store, PriceTable.toAmount(quote.totalCents()).doubleValue());
+
+        processOrderItems(quote.lines(), orderDetails, store.getId());
 
-        processOrderItems(placeOrderRequest.getPurchaseProduct(), orderDetails, store.getId());
+        changeStreamService.orderPlaced(orderDetails, quote);
 
+        return orderDetails;
     }
    
 
     /**
      * Retrieves an existing customer by email or creates a new one.
+     * <p>
+     * An existing customer is looked up with an ID-only projection and returned
+     * as an unloaded reference, so the cost does not depend on how many orders
+     * the customer has placed.
+     * </p>
      * @param request The {@link PlaceOrderRequestDTO}.
-     * @return The existing Customer or the new one created.
+     * @return A reference to the existing Customer or the new one created.
      */
     private Customer getOrCreateCustomer(PlaceOrderRequestDTO request) {
-        Customer existing = customerRepository.findByEmail(request.getCustomerEmail());
+        CustomerIdentityView existing = customerRepository.findIdentityByEmail(request.getCustomerEmail());
 
         if (existing != null) {
-            return existing;
+            return customerRepository.getReferenceById(existing.getId());
         }
 
         Customer newCustomer = new Customer();
@@ -116,33 +145,54 @@ public class OrderService {
 
     /**
      * Processes each product in the order, updates stock levels, and saves OrderItems.
-     * @param products The products to process.
+     * <p>
+     * The basket is first reserved in memory by the {@link StockAvailabilityService},
+     * which also supplies the products from the store snapshot. The whole basket then
+     * costs a fixed number of round trips regardless of its size: one JDBC batch
+     * inserts the order items, and one JDBC batch applies the atomic conditional
+     * stock decrements. The decrements run after the inserts so inventory row locks are
+     * held only until the surrounding transaction commits; the basket is then added to
+     * the daily sales rollup.
+     * </p>
+     * @param lines The priced lines of the order.
      * @param order The order to process.
      * @param storeId The ID of the store.
      * 
      * @throws RuntimeException if requested quantity exeeds available stock.
      */
-    private void processOrderItems(List<PurchaseProductDTO> products, OrderDetails order, Long storeId) {
-        for (PurchaseProductDTO productDTO : products) {
-            //Retrieve inventory for the specific store
-            Inventory inventory = inventoryRepository.findByProductIdAndStoreId(productDTO.getId(), storeId);
-
-            //Stock validation
-            if (inventory == null || inventory.getStockLevel() < productDTO.getQuantity()) {
-                throw new RuntimeException("Insufficient stock for product ID: " + productDTO.getId());
-            }
+    private void processOrderItems(List<PricedLine> lines, OrderDetails order, Long storeId) {
+        //Aggregate quantities so a product listed twice is checked and deducted once
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (PricedLine line : lines) {
+            quantities.merge(line.productId(), line.quantity(), Integer::sum);
+        }
 
-            //Deduct stock and save
-            inventory.setStockLevel(inventory.getStockLevel() - productDTO.getQuantity());
-            inventoryRepository.save(inventory);
+        //Reserve the basket against the in-memory counters; a shortfall fails fast without any database work
+        List<Long> unavailable = stockAvailabilityService.reserve(storeId, quantities);
+        if (!unavailable.isEmpty()) {
+            throw new RuntimeException("Insufficient stock for product ID: " + unavailable.get(0));
+        }
+        StoreSnapshot snapshot = inventorySnapshotService.getSnapshot(storeId);
 
-            //Save the individual order item
+        //Save the order items in one batch
+        List<OrderItem> items = new ArrayList<>(lines.size());
+        for (PricedLine line : lines) {
             OrderItem item = new OrderItem();
             item.setOrder(order);
-            item.setProduct(productRepository.findByid(productDTO.getId()));
-            item.setQuantity(productDTO.getQuantity());
-            item.setPrice(productDTO.getPrice() * productDTO.getQuantity());
-            orderItemRepository.save(item);
+            item.setProduct(snapshot.getProduct(line.productId()));
+            item.setQuantity(line.quantity());
+            item.setPrice(PriceTable.toAmount(line.totalCents()).doubleValue());
+            items.add(item);
         }
+        orderJdbcRepository.insertOrderItems(items);
+
+        //Validate and deduct stock for the whole basket in one batch
+        List<Long> insufficient = inventoryService.reserveStock(storeId, quantities);
+        if (!insufficient.isEmpty()) {
+            throw new RuntimeException("Insufficient stock for product ID: " + insufficient.get(0));
+        }
+
+        //Add the basket to the daily sales rollup in one batch, committed together with the order
+        salesRollupService.recordSales(items);
     }
 }
\ No newline at end of file
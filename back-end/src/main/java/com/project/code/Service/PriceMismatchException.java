@@ -0,0 +1,12 @@
+package com.project.code.Service;
+
+/**
+ * Thrown when the prices or totals sent with an order differ from the prices
+ * computed from the current price table.
+ */
+public class PriceMismatchException extends RuntimeException {
+
+    public PriceMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,152 @@
+package com.project.code.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.code.Model.Product;
+import com.project.code.Model.ProductPriceView;
+import com.project.code.Repo.ProductRepository;
+import com.project.code.config.ReplicaRoutingDataSource;
+
+/**
+ * In-memory table of the current unit price of every product, in cents.
+ * <p>
+ * Prices are loaded on first use, many products with a single query, and kept
+ * until the product is saved or deleted: {@link ProductService} refreshes the
+ * entry once the change is committed. A price loaded from the database is only
+ * kept if no refresh happened while it was being loaded, so a load that read the
+ * price before a change committed never overwrites or resurrects it.
+ * </p>
+ */
+@Service
+public class PriceTable {
+
+    /** The unit price of a product in cents. */
+    public record Price(long cents) {
+    }
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    private final Map<Long, Price> prices = new ConcurrentHashMap<>();
+    /** Counts the refreshes, to tell whether one happened while prices were loaded. */
+    private final AtomicLong refreshes = new AtomicLong();
+
+
+    /**
+     * Resolves the unit prices of many products, loading the missing ones with one query.
+     * @param productIds The IDs of the products.
+     * @return The prices by product ID; unknown products and products without a price are absent.
+     */
+    public Map<Long, Price> getPrices(Collection<Long> productIds) {
+        Map<Long, Price> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long productId : productIds) {
+            Price price = productId == null ? null : prices.get(productId);
+            if (price != null) {
+                result.put(productId, price);
+            } else if (productId != null) {
+                missing.add(productId);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            long loadedAfter = refreshes.get();
+            List<ProductPriceView> views = ReplicaRoutingDataSource.onReplicaCaughtUpTo(
+                contentVersionService.getCatalogueChangedAt(), () -> productRepository.findPricesByIdIn(missing));
+            for (ProductPriceView view : views) {
+                if (view.getPrice() != null) {
+                    Price loaded = new Price(toCents(view.getPrice()));
+                    //Cached only if nothing was refreshed meanwhile: the value read may predate that change
+                    Price cached = prices.computeIfAbsent(view.getId(),
+                        id -> refreshes.get() == loadedAfter ? loaded : null);
+                    result.put(view.getId(), cached != null ? cached : loaded);
+                }
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Refreshes the price of a saved product once its transaction commits.
+     * @param product The saved product.
+     */
+    public void productSaved(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        Long productId = product.getId();
+        Double price = product.getPrice();
+        afterCommit(() -> {
+            //Counted before the entry changes, so a concurrent load that read the old price does not cache it
+            refreshes.incrementAndGet();
+            if (price == null) {
+                prices.remove(productId);
+            } else {
+                prices.put(productId, new Price(toCents(price)));
+            }
+        });
+    }
+
+
+    /**
+     * Drops the price of a deleted product once its transaction commits.
+     * @param productId The ID of the product.
+     */
+    public void productRemoved(Long productId) {
+        afterCommit(() -> {
+            refreshes.incrementAndGet();
+            prices.remove(productId);
+        });
+    }
+
+
+    /**
+     * Converts an amount to whole cents, rounding half up.
+     * @param amount The amount.
+     * @return The amount in cents.
+     */
+    public static long toCents(double amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+
+
+    /**
+     * Converts whole cents back to an amount.
+     * @param cents The amount in cents.
+     * @return The amount, with two decimals.
+     */
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.project.code.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Model.PurchaseProductDTO;
+import com.project.code.Service.PriceTable.Price;
+
+/**
+ * Prices an order on the server before anything is written.
+ * <p>
+ * Unit prices come from the {@link PriceTable}, never from the client, and the
+ * line and order totals are computed in whole cents, so they are exact however
+ * many lines an order has. The prices and totals sent by the client are optional;
+ * when present they must match the computed ones to the cent, otherwise the order
+ * is rejected with a {@link PriceMismatchException} (e.g. the catalogue price
+ * changed after the basket was built).
+ * </p>
+ */
+@Service
+public class PricingService {
+
+    /** One priced line of an order, in cents. */
+    public record PricedLine(Long productId, int quantity, long unitCents, long totalCents) {
+    }
+
+    /** The priced lines of an order, in request order, with the order total. */
+    public record Quote(List<PricedLine> lines, long totalCents) {
+    }
+
+    @Autowired
+    private PriceTable priceTable;
+
+
+    /**
+     * Prices every line of an order and checks the client's prices and totals.
+     * @param order The order to price.
+     * @return The quote.
+     * @throws RuntimeException if the order has no products, a quantity is invalid or a product is unknown.
+     * @throws PriceMismatchException if a price or total sent by the client differs from the computed one.
+     */
+    public Quote quote(PlaceOrderRequestDTO order) {
+        List<PurchaseProductDTO> products = order.getPurchaseProduct();
+        if (products == null || products.isEmpty()) {
+            throw new RuntimeException("Order has no products");
+        }
+        for (PurchaseProductDTO line : products) {
+            if (line.getQuantity() == null || line.getQuantity() <= 0) {
+                throw new RuntimeException("Invalid quantity for product ID: " + line.getId());
+            }
+        }
+
+        Map<Long, Price> prices = priceTable.getPrices(products.stream().map(PurchaseProductDTO::getId).toList());
+
+        List<PricedLine> lines = new ArrayList<>(products.size());
+        long total = 0;
+        for (PurchaseProductDTO line : products) {
+            Price price = prices.get(line.getId());
+            if (price == null) {
+                throw new RuntimeException("Product not found with ID: " + line.getId());
+            }
+            if (line.getPrice() != null && PriceTable.toCents(line.getPrice()) != price.cents()) {
+                throw new PriceMismatchException("Price of product ID " + line.getId() + " is "
+                    + PriceTable.toAmount(price.cents()) + ", not " + line.getPrice());
+            }
+
+            long lineTotal = Math.multiplyExact(price.cents(), line.getQuantity().longValue());
+            if (line.getTotal() != null && PriceTable.toCents(line.getTotal()) != lineTotal) {
+                throw new PriceMismatchException("Total of product ID " + line.getId() + " is "
+                    + PriceTable.toAmount(lineTotal) + ", not " + line.getTotal());
+            }
+
+            lines.add(new PricedLine(line.getId(), line.getQuantity(), price.cents(), lineTotal));
+            total = Math.addExact(total, lineTotal);
+        }
+
+        if (order.getTotalPrice() != null && PriceTable.toCents(order.getTotalPrice()) != total) {
+            throw new PriceMismatchException("Order total is " + PriceTable.toAmount(total) + ", not " + order.getTotalPrice());
+        }
+        return new Quote(lines, total);
+    }
+}
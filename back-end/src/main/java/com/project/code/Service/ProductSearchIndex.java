@@ -0,0 +1,264 @@
+package com.project.code.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.project.code.Model.Product;
+import com.project.code.Repo.ProductRepository;
+import com.project.code.config.ReplicaRoutingDataSource;
+
+/**
+ * In-memory trigram index over product name, SKU and category.
+ * <p>
+ * Replaces {@code LOWER(name) LIKE '%...%'} scans: a query is split into
+ * trigrams, their posting lists are merged to find candidate products, and the
+ * candidates are ranked by how well they match. Products whose name contains
+ * the query rank first, followed by SKU and category matches and finally
+ * near-matches (e.g. a typo) that share at least half of the query's trigrams.
+ * </p>
+ * <p>
+ * The index is built once the application is ready and kept in sync by
+ * {@link ProductService} on every product write.
+ * </p>
+ */
+@Service
+public class ProductSearchIndex {
+
+    private static final int GRAM = 3;
+    private static final double MIN_TRIGRAM_OVERLAP = 0.5;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+
+
+    /**
+     * Loads every product into the index once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild(ReplicaRoutingDataSource.onReplicaCaughtUpTo(contentVersionService.getCatalogueChangedAt(),
+            productRepository::findAll));
+    }
+
+
+    /**
+     * Replaces the whole index content.
+     * @param products The products to index.
+     */
+    public void rebuild(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            for (Product product : products) {
+                add(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Adds or replaces a product in the index.
+     * @param product The product to index.
+     */
+    public void index(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeInternal(product.getId());
+            add(product);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Removes a product from the index.
+     * @param productId The ID of the product.
+     */
+    public void remove(Long productId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Searches products by name, SKU and category.
+     * @param query The text to search for.
+     * @return The matching products, most relevant first.
+     */
+    public List<Product> search(String query) {
+        return search(query, product -> true);
+    }
+
+
+    /**
+     * Searches products by name, SKU and category, keeping only those accepted by a filter.
+     * @param query The text to search for.
+     * @param filter Additional condition a product must satisfy (e.g. category or store).
+     * @return The matching products, most relevant first.
+     */
+    public List<Product> search(String query, Predicate<Product> filter) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Scored> hits = new ArrayList<>();
+            if (q.length() < GRAM) {
+                //Too short for trigrams: a scan of the in-memory documents is still cheap
+                for (Document doc : documents.values()) {
+                    double score = score(doc, q, 0);
+                    if (score > 0 && filter.test(doc.product)) {
+                        hits.add(new Scored(doc, score));
+                    }
+                }
+            } else {
+                Set<String> grams = trigrams(q);
+                Map<Long, Integer> counts = new HashMap<>();
+                for (String gram : grams) {
+                    for (Long id : postings.getOrDefault(gram, Set.of())) {
+                        counts.merge(id, 1, Integer::sum);
+                    }
+                }
+                for (Map.Entry<Long, Integer> entry : counts.entrySet()) {
+                    double overlap = (double) entry.getValue() / grams.size();
+                    if (overlap < MIN_TRIGRAM_OVERLAP) {
+                        continue;
+                    }
+                    Document doc = documents.get(entry.getKey());
+                    if (filter.test(doc.product)) {
+                        hits.add(new Scored(doc, score(doc, q, overlap)));
+                    }
+                }
+            }
+
+            hits.sort(Comparator.comparingDouble(Scored::score).reversed()
+                .thenComparing(hit -> hit.doc.name));
+
+            List<Product> result = new ArrayList<>(hits.size());
+            for (Scored hit : hits) {
+                result.add(hit.doc.product);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Relevance of a document for a normalized query: exact containment in the name
+     * dominates, then SKU and category containment, then trigram overlap.
+     */
+    private static double score(Document doc, String q, double overlap) {
+        double score = overlap;
+        if (doc.name.startsWith(q)) {
+            score += 4;
+        } else if (doc.name.contains(q)) {
+            score += 3;
+        }
+        if (doc.sku.equals(q)) {
+            score += 3;
+        } else if (doc.sku.contains(q)) {
+            score += 2;
+        }
+        if (doc.category.contains(q)) {
+            score += 1;
+        }
+        return score;
+    }
+
+    private void add(Product product) {
+        Document doc = new Document(product);
+        documents.put(product.getId(), doc);
+        for (String gram : doc.grams) {
+            postings.computeIfAbsent(gram, g -> new HashSet<>()).add(product.getId());
+        }
+    }
+
+    private void removeInternal(Long productId) {
+        Document doc = documents.remove(productId);
+        if (doc == null) {
+            return;
+        }
+        for (String gram : doc.grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(productId);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /** A product together with its normalized fields and trigrams. */
+    private static final class Document {
+        final Product product;
+        final String name;
+        final String sku;
+        final String category;
+        final Set<String> grams;
+
+        Document(Product product) {
+            this.product = product;
+            this.name = normalize(product.getName());
+            this.sku = normalize(product.getSku());
+            this.category = normalize(product.getCategory());
+            this.grams = new HashSet<>();
+            grams.addAll(trigrams(name));
+            grams.addAll(trigrams(sku));
+            grams.addAll(trigrams(category));
+        }
+    }
+
+    private record Scored(Document doc, double score) {}
+
+}
@@ -0,0 +1,210 @@
+package com.project.code.Service;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.code.Model.ChangeEvent;
+import com.project.code.Model.InventoryDTO;
+import com.project.code.Model.Product;
+import com.project.code.Model.ProductDTO;
+import com.project.code.Repo.InventoryRepository;
+import com.project.code.Repo.ProductRepository;
+import com.project.code.config.CacheConfig;
+import com.project.code.config.ReplicaRoutingDataSource;
+
+/**
+ * Service class for Product operations.
+ * <p>
+ * Catalog lookups are served read-through from in-process caches, as immutable
+ * {@link ProductDTO} views selected without loading entities. Every product
+ * write goes through this class and evicts the single entry for the product plus
+ * the list caches it may appear in, so readers never see a stale product after
+ * a write has returned; for the same reason a cache is only filled from a read
+ * replica that has applied the last catalogue change, from the primary otherwise.
+ * The same writes keep the {@link ProductSearchIndex} in sync.
+ * </p>
+ */
+@Service
+public class ProductService {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private InventorySnapshotService inventorySnapshotService;
+
+    @Autowired
+    private PriceTable priceTable;
+
+    @Autowired
+    private ChangeStreamService changeStreamService;
+
+    @Autowired
+    private ContentVersionService contentVersionService;
+
+
+    /**
+     * Retrieves a product by its ID.
+     * @param id The ID of the product.
+     * @return The product, or null if it does not exist.
+     */
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_BY_ID, key = "#id", unless = "#result == null")
+    public ProductDTO findById(Long id) {
+        return ReplicaRoutingDataSource.onReplicaCaughtUpTo(contentVersionService.getCatalogueChangedAt(),
+            () -> productRepository.findDTOById(id));
+    }
+
+
+    /**
+     * Retrieves a product by its SKU.
+     * @param sku The SKU of the product.
+     * @return The product, or null if it does not exist.
+     */
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_BY_SKU, key = "#sku", unless = "#result == null")
+    public Product findBySku(String sku) {
+        return ReplicaRoutingDataSource.onReplicaCaughtUpTo(contentVersionService.getCatalogueChangedAt(),
+            () -> productRepository.findBySku(sku));
+    }
+
+
+    /**
+     * Retrieves all products of a category.
+     * @param category The category to filter by.
+     * @return The list of products.
+     */
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_BY_CATEGORY, key = "#category")
+    public List<ProductDTO> findByCategory(String category) {
+        return ReplicaRoutingDataSource.onReplicaCaughtUpTo(contentVersionService.getCatalogueChangedAt(),
+            () -> productRepository.findDTOByCategory(category));
+    }
+
+
+    /**
+     * Retrieves every product of the catalog.
+     * @return The list of products.
+     */
+    @Cacheable(cacheNames = CacheConfig.ALL_PRODUCTS, key = "'all'")
+    public List<ProductDTO> findAll() {
+        return ReplicaRoutingDataSource.onReplicaCaughtUpTo(contentVersionService.getCatalogueChangedAt(),
+            () -> productRepository.findAllDTO());
+    }
+
+
+    /**
+     * Creates or updates a product, evicts the cache entries it may appear in and
+     * refreshes its price in the {@link PriceTable} once committed.
+     * <p>
+     * An update carrying the product's {@code version} only succeeds if the product
+     * was not changed since that version was read; an update without one
+     * overwrites the current version.
+     * </p>
+     * @param product The product to save.
+     * @return The saved product.
+     */
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.PRODUCT_BY_ID, key = "#product.id", condition = "#product.id != null"),
+        @CacheEvict(cacheNames = {
+            CacheConfig.PRODUCT_BY_SKU,
+            CacheConfig.PRODUCTS_BY_CATEGORY,
+            CacheConfig.ALL_PRODUCTS
+        }, allEntries = true)
+    })
+    public Product saveProduct(Product product) {
+        if (product.getId() != null && product.getVersion() == null) {
+            product.setVersion(productRepository.findVersionById(product.getId()));
+        }
+        Product saved = productRepository.save(product);
+        productSearchIndex.index(saved);
+        inventorySnapshotService.productSaved(saved);
+        priceTable.productSaved(saved);
+        changeStreamService.productSaved(saved);
+        contentVersionService.catalogueChanged();
+        return saved;
+    }
+
+
+    /**
+     * Deletes a product together with all of its inventory entries.
+     * <p>
+     * Both deletions run in the same transaction so a product is never left
+     * half-removed.
+     * </p>
+     * @param id The ID of the product to delete.
+     */
+    @Transactional
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.PRODUCT_BY_ID, key = "#id"),
+        @CacheEvict(cacheNames = {
+            CacheConfig.PRODUCT_BY_SKU,
+            CacheConfig.PRODUCTS_BY_CATEGORY,
+            CacheConfig.ALL_PRODUCTS
+        }, allEntries = true)
+    })
+    public void deleteProductAndInventory(Long id) {
+        inventoryRepository.deleteByProductId(id);
+        productRepository.deleteById(id);
+        inventorySnapshotService.productRemoved(id);
+        priceTable.productRemoved(id);
+        changeStreamService.publish(ChangeEvent.Type.PRODUCT_DELETED, null, id, Map.of());
+        contentVersionService.catalogueChanged();
+
+        //Only drop the product from the search index once the deletion is committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    productSearchIndex.remove(id);
+                }
+            });
+        } else {
+            productSearchIndex.remove(id);
+        }
+    }
+
+
+    /**
+     * Searches the catalog by name, SKU and category using the in-memory index.
+     * @param query The text to search for.
+     * @param category Restricts the results to this category, or null for all categories.
+     * @return The matching products, most relevant first.
+     */
+    public List<ProductDTO> searchProducts(String query, String category) {
+        List<Product> products = category == null
+            ? productSearchIndex.search(query)
+            : productSearchIndex.search(query, product -> category.equals(product.getCategory()));
+        return products.stream().map(ProductDTO::of).toList();
+    }
+
+
+    /**
+     * Searches the products stocked by a store using the in-memory index.
+     * @param query The text to search for.
+     * @param category Restricts the results to this category, or null for all categories.
+     * @param store The inventory snapshot of the store.
+     * @return The matching products with their stock level at the store, most relevant first.
+     */
+    public List<InventoryDTO> searchStoreProducts(String query, String category, InventorySnapshotService.StoreSnapshot store) {
+        return productSearchIndex.search(query, product -> store.contains(product.getId())
+                && (category == null || category.equals(product.getCategory())))
+            .stream()
+            .map(product -> InventoryDTO.of(product, store.getStockLevel(product.getId())))
+            .toList();
+    }
+
+}
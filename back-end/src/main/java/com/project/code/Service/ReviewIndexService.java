@@ -0,0 +1,130 @@
+package com.project.code.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Service;
+
+import com.project.code.Model.Review;
+
+/**
+ * Service class creating and checking the indexes of the {@code reviews} collection.
+ * <p>
+ * The indexes are declared with {@code @CompoundIndex} on {@link Review}. At startup
+ * they are created (unless {@code app.reviews.indexes.create=false}, e.g. when the
+ * indexes are managed outside the application) and the collection is then checked
+ * for every declared key pattern, because a missing index silently turns each
+ * review lookup into a collection scan. Depending on {@code app.reviews.indexes.check}
+ * a missing index fails the startup ({@code fail}), is logged ({@code warn}) or is
+ * not checked ({@code off}).
+ * </p>
+ */
+@Service
+public class ReviewIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewIndexService.class);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoMappingContext mappingContext;
+
+    @Value("${app.reviews.indexes.create:true}")
+    private boolean createIndexes;
+
+    @Value("${app.reviews.indexes.check:fail}")
+    private String check;
+
+
+    /**
+     * Creates the declared indexes and checks that they exist.
+     * @throws IllegalStateException If an index is missing and the check mode is {@code fail}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        if (createIndexes) {
+            IndexOperations indexOperations = mongoTemplate.indexOps(Review.class);
+            for (IndexDefinition index : declaredIndexes()) {
+                indexOperations.createIndex(index);
+            }
+        }
+
+        if ("off".equals(check)) {
+            return;
+        }
+
+        List<String> missing = findMissingIndexes();
+        if (missing.isEmpty()) {
+            log.info("All {} declared review indexes are present", declaredIndexes().size());
+        } else if ("warn".equals(check)) {
+            log.warn("Missing review indexes {}: review queries will scan the collection", missing);
+        } else {
+            throw new IllegalStateException("Missing review indexes " + missing
+                + " (create them or set app.reviews.indexes.check=warn)");
+        }
+    }
+
+
+    /**
+     * Compares the declared indexes with the ones present on the collection by key pattern.
+     * @return The key patterns of the declared indexes that are missing.
+     */
+    public List<String> findMissingIndexes() {
+        List<Map<String, Object>> present = new ArrayList<>();
+        for (IndexInfo index : mongoTemplate.indexOps(Review.class).getIndexInfo()) {
+            present.add(keyPattern(index));
+        }
+
+        List<String> missing = new ArrayList<>();
+        for (IndexDefinition index : declaredIndexes()) {
+            Map<String, Object> keys = keyPattern(index.getIndexKeys());
+            if (!present.contains(keys)) {
+                missing.add(new Document(keys).toJson());
+            }
+        }
+        return missing;
+    }
+
+
+    private List<IndexDefinition> declaredIndexes() {
+        List<IndexDefinition> indexes = new ArrayList<>();
+        IndexResolver.create(mappingContext).resolveIndexFor(Review.class).forEach(indexes::add);
+        return indexes;
+    }
+
+
+    // Normalizes the key pattern (field order matters) so that 1 and 1L compare equal.
+    private static Map<String, Object> keyPattern(Document keys) {
+        Map<String, Object> pattern = new LinkedHashMap<>();
+        keys.forEach((field, value) -> pattern.put(field, value instanceof Number number ? number.intValue() : value));
+        return pattern;
+    }
+
+    private static Map<String, Object> keyPattern(IndexInfo index) {
+        Map<String, Object> pattern = new LinkedHashMap<>();
+        for (IndexField field : index.getIndexFields()) {
+            Sort.Direction direction = field.getDirection();
+            pattern.put(field.getKey(), direction == null ? field.toString() : direction.isAscending() ? 1 : -1);
+        }
+        return pattern;
+    }
+
+}
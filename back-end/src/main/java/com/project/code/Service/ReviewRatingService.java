@@ -0,0 +1,148 @@
+package com.project.code.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.project.code.Model.Review;
+import com.project.code.Model.ReviewRating;
+
+/**
+ * Service class maintaining the per-product rating aggregates ({@link ReviewRating}).
+ * <p>
+ * Every review insert increments its product's aggregate with a single upsert, so
+ * ratings are read in one indexed lookup instead of averaging every review. MongoDB
+ * offers no transaction here between the review and its aggregate, so a crash between
+ * the two writes can make an aggregate drift; {@link #rebuild()} recomputes all
+ * aggregates from the reviews with an aggregation pipeline and runs on a schedule.
+ * </p>
+ */
+@Service
+public class ReviewRatingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReviewRatingService.class);
+
+    private static final String REVIEWS = "reviews";
+    private static final String RATINGS = "review_ratings";
+
+    public static final int MIN_RATING = 1;
+    public static final int MAX_RATING = 5;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+
+    /**
+     * Adds a newly inserted review to its product's aggregate.
+     * @param review The saved review, with a rating between 1 and 5.
+     */
+    public void reviewAdded(Review review) {
+        Query query = Query.query(Criteria.where("_id").is(key(review.getStoreId(), review.getProductId())));
+        Update update = new Update()
+            .inc("count", 1L)
+            .inc("sum", review.getRating().longValue())
+            .inc("stars." + review.getRating(), 1L)
+            .currentDate("updatedAt");
+        mongoTemplate.upsert(query, update, RATINGS);
+    }
+
+
+    /**
+     * Looks up the aggregates of several products of a store in one query.
+     * @param storeId The store ID.
+     * @param productIds The product IDs.
+     * @return The aggregates keyed by product ID, in the order requested. Products
+     *         without reviews are absent from the map.
+     */
+    public Map<Long, ReviewRating> getRatings(Long storeId, Collection<Long> productIds) {
+        List<Document> keys = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            keys.add(key(storeId, productId));
+        }
+
+        Map<Long, ReviewRating> found = new HashMap<>();
+        for (ReviewRating rating : mongoTemplate.find(Query.query(Criteria.where("_id").in(keys)), ReviewRating.class)) {
+            found.put(rating.getId().getProductId(), rating);
+        }
+
+        Map<Long, ReviewRating> result = new LinkedHashMap<>();
+        for (Long productId : productIds) {
+            if (found.containsKey(productId)) {
+                result.put(productId, found.get(productId));
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Recomputes every aggregate from the reviews.
+     * <p>
+     * The grouping runs inside MongoDB and its output is merged into the
+     * aggregates collection; aggregates of products that no longer have reviews
+     * (not touched since the rebuild started) are removed afterwards. Reviews
+     * inserted while the pipeline runs may be miscounted until the next rebuild.
+     * </p>
+     * @return The number of aggregates after the rebuild.
+     */
+    @Scheduled(cron = "${app.reviews.ratings-rebuild-cron:0 30 3 * * *}")
+    public long rebuild() {
+        Date started = new Date();
+
+        mongoTemplate.getCollection(REVIEWS).aggregate(rebuildPipeline(started)).toCollection();
+        long removed = mongoTemplate.remove(Query.query(Criteria.where("updatedAt").lt(started)), RATINGS).getDeletedCount();
+        long total = mongoTemplate.getCollection(RATINGS).countDocuments();
+
+        log.info("Rebuilt {} review rating aggregates ({} stale removed)", total, removed);
+        return total;
+    }
+
+
+    static List<Document> rebuildPipeline(Date rebuiltAt) {
+        Document group = new Document("_id", new Document("storeId", "$storeId").append("productId", "$productId"))
+            .append("count", new Document("$sum", 1L))
+            .append("sum", new Document("$sum", new Document("$toLong", "$rating")));
+        Document stars = new Document();
+        for (int star = MIN_RATING; star <= MAX_RATING; star++) {
+            group.append("star" + star, new Document("$sum",
+                new Document("$cond", List.of(new Document("$eq", List.of("$rating", star)), 1L, 0L))));
+            stars.append(String.valueOf(star), "$star" + star);
+        }
+
+        return List.of(
+            new Document("$match", new Document("storeId", new Document("$ne", null))
+                .append("productId", new Document("$ne", null))
+                .append("rating", new Document("$gte", MIN_RATING).append("$lte", MAX_RATING))),
+            new Document("$group", group),
+            new Document("$project", new Document("count", 1)
+                .append("sum", 1)
+                .append("stars", stars)
+                .append("updatedAt", new Document("$literal", rebuiltAt))),
+            new Document("$merge", new Document("into", RATINGS)
+                .append("on", "_id")
+                .append("whenMatched", "replace")
+                .append("whenNotMatched", "insert")));
+    }
+
+
+    // Field order matters: embedded documents only match with the same field order.
+    private static Document key(Long storeId, Long productId) {
+        return new Document("storeId", storeId).append("productId", productId);
+    }
+
+}
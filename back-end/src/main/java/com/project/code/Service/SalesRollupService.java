@@ -0,0 +1,193 @@
+package com.project.code.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.code.Model.OrderItem;
+import com.project.code.Model.Product;
+import com.project.code.Repo.SalesJdbcRepository;
+import com.project.code.Repo.SalesJdbcRepository.CategorySales;
+import com.project.code.Repo.SalesJdbcRepository.ProductSales;
+import com.project.code.Repo.SalesJdbcRepository.SalesRow;
+import com.project.code.Service.InventorySnapshotService.StoreSnapshot;
+
+/**
+ * Maintains the daily sales rollup (units, revenue and orders per store, day and
+ * product) and answers the sales analytics from it.
+ * <p>
+ * The order paths add their items to the rollup inside the order transaction, so
+ * an order and its sales are committed or rolled back together and the rollup is
+ * current as soon as the order is visible. The rollup rows of a basket are the
+ * same (store, product) pairs whose inventory rows the order already locks, so
+ * this adds one batch round trip but no new contention. A scheduled job rebuilds
+ * the most recent days from the orders to repair any drift (e.g. orders written
+ * with direct SQL); older history is backfilled with {@link #rebuild(LocalDate, LocalDate)}.
+ * </p>
+ */
+@Service
+public class SalesRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesRollupService.class);
+
+    private static final int REBUILD_CHUNK_DAYS = 31;
+
+    private static final Comparator<SalesKey> KEY_ORDER = Comparator.comparingLong(SalesKey::storeId)
+        .thenComparing(SalesKey::saleDate)
+        .thenComparingLong(SalesKey::productId);
+
+    /** The sales rate of one product at a store, with the days its current stock lasts at that rate. */
+    public record ProductVelocity(long productId, String name, long unitsSold, double unitsPerDay,
+                                  Integer stockLevel, Double daysOfCover) {
+    }
+
+    private record SalesKey(long storeId, LocalDate saleDate, long productId) {
+    }
+
+    @Autowired
+    private SalesJdbcRepository salesJdbcRepository;
+
+    @Autowired
+    private InventorySnapshotService inventorySnapshotService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.sales.rollup-rebuild-days:2}")
+    private int rebuildDays;
+
+
+    /**
+     * Adds the items of one or more orders to the rollup.
+     * @param items The order items; order (with store and date), product, quantity and line price are read.
+     * @throws IllegalStateException if no transaction is active.
+     */
+    public void recordSales(List<OrderItem> items) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Sales can only be recorded inside the order transaction");
+        }
+
+        //One row per store, day and product; sorted so concurrent orders lock the rollup rows in the same order
+        Map<SalesKey, SalesRow> rows = new TreeMap<>(KEY_ORDER);
+        Map<SalesKey, Set<Long>> orderIds = new HashMap<>();
+        for (OrderItem item : items) {
+            SalesKey key = new SalesKey(item.getOrder().getStore().getId(), item.getOrder().getDate().toLocalDate(),
+                item.getProduct().getId());
+            long orders = orderIds.computeIfAbsent(key, k -> new HashSet<>()).add(item.getOrder().getId()) ? 1 : 0;
+
+            SalesRow row = rows.get(key);
+            rows.put(key, row == null
+                ? new SalesRow(key.storeId(), key.saleDate(), key.productId(), item.getQuantity(), item.getPrice(), orders)
+                : new SalesRow(key.storeId(), key.saleDate(), key.productId(), row.units() + item.getQuantity(),
+                    row.revenue() + item.getPrice(), row.orderCount() + orders));
+        }
+
+        if (!rows.isEmpty()) {
+            salesJdbcRepository.addSales(new ArrayList<>(rows.values()));
+        }
+    }
+
+
+    /**
+     * Rebuilds the rollup of the most recent days ({@code app.sales.rollup-rebuild-days}, today included).
+     * @return The number of rollup rows written.
+     */
+    @Scheduled(cron = "${app.sales.rollup-rebuild-cron:0 15 2 * * *}")
+    public int rebuildRecent() {
+        LocalDate today = LocalDate.now();
+        return rebuild(today.minusDays(Math.max(rebuildDays, 1) - 1L), today);
+    }
+
+
+    /**
+     * Recomputes the rollup of a date range from the orders, one transaction per month of history.
+     * @param from The first day to rebuild.
+     * @param to The last day to rebuild (inclusive).
+     * @return The number of rollup rows written.
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        long started = System.currentTimeMillis();
+        int written = 0;
+
+        LocalDate end = to.plusDays(1);
+        for (LocalDate start = from; start.isBefore(end); start = start.plusDays(REBUILD_CHUNK_DAYS)) {
+            LocalDate chunkStart = start;
+            LocalDate chunkEnd = start.plusDays(REBUILD_CHUNK_DAYS).isBefore(end) ? start.plusDays(REBUILD_CHUNK_DAYS) : end;
+            written += transactionTemplate.execute(status -> salesJdbcRepository.rebuildSales(chunkStart, chunkEnd));
+        }
+
+        log.info("Rebuilt {} daily sales rows from {} to {} in {} ms",
+            written, from, to, System.currentTimeMillis() - started);
+        return written;
+    }
+
+
+    /**
+     * Finds the best selling products of a store by units sold.
+     * @param storeId The ID of the store.
+     * @param from The first day (inclusive).
+     * @param to The last day (inclusive).
+     * @param limit The maximum number of products.
+     * @return The products, most units sold first.
+     */
+    public List<ProductSales> getTopSellers(Long storeId, LocalDate from, LocalDate to, int limit) {
+        return salesJdbcRepository.findTopSellers(storeId, from, to, limit);
+    }
+
+
+    /**
+     * Sums the sales of a store per product category.
+     * @param storeId The ID of the store.
+     * @param from The first day (inclusive).
+     * @param to The last day (inclusive).
+     * @return The categories, highest revenue first.
+     */
+    public List<CategorySales> getRevenueByCategory(Long storeId, LocalDate from, LocalDate to) {
+        return salesJdbcRepository.findRevenueByCategory(storeId, from, to);
+    }
+
+
+    /**
+     * Computes the average units sold per day of each product a store sold in the last days,
+     * with the stock level from the store snapshot and the days that stock lasts.
+     * @param storeId The ID of the store.
+     * @param days The number of days to average over, today included.
+     * @return The products that sold in the window, fastest selling first.
+     */
+    public List<ProductVelocity> getVelocity(Long storeId, int days) {
+        LocalDate today = LocalDate.now();
+        Map<Long, Long> units = salesJdbcRepository.findUnitsByProduct(storeId, today.minusDays(days - 1L), today);
+        StoreSnapshot snapshot = inventorySnapshotService.getSnapshot(storeId);
+
+        List<ProductVelocity> result = new ArrayList<>(units.size());
+        for (Map.Entry<Long, Long> entry : units.entrySet()) {
+            Long productId = entry.getKey();
+            double perDay = (double) entry.getValue() / days;
+            boolean stocked = snapshot.contains(productId);
+            Product product = stocked ? snapshot.getProduct(productId) : null;
+            Integer stockLevel = stocked ? snapshot.getStockLevel(productId) : null;
+            Double cover = stockLevel != null && perDay > 0 ? stockLevel / perDay : null;
+
+            result.add(new ProductVelocity(productId, product == null ? null : product.getName(),
+                entry.getValue(), perDay, stockLevel, cover));
+        }
+        result.sort(Comparator.comparingDouble(ProductVelocity::unitsPerDay).reversed()
+            .thenComparingLong(ProductVelocity::productId));
+        return result;
+    }
+}
@@ -0,0 +1,67 @@
+package com.project.code.Service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.project.code.Model.LowStockAlert;
+
+/**
+ * Pushes low-stock alerts to the clients subscribed to {@code GET /inventory/alerts/stream}
+ * as server-sent events named {@code low-stock}.
+ */
+@Service
+public class SseLowStockSink implements LowStockSink {
+
+    private static final long TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private record Subscriber(Long storeId, SseEmitter emitter) {
+    }
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+
+    /**
+     * Registers a new subscriber.
+     * @param storeId Only alerts of this store are sent, or every alert if null.
+     * @return The emitter to return from the controller.
+     */
+    public SseEmitter subscribe(Long storeId) {
+        SseEmitter emitter = new SseEmitter(TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(storeId, emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+
+    /** @return The number of connected subscribers. */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+
+    @Override
+    public void lowStock(LowStockAlert alert) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.storeId() != null && !subscriber.storeId().equals(alert.storeId())) {
+                continue;
+            }
+            try {
+                subscriber.emitter().send(SseEmitter.event().name("low-stock").data(alert));
+            } catch (IOException e) {
+                subscribers.remove(subscriber);
+                subscriber.emitter().completeWithError(e);
+            } catch (IllegalStateException e) {
+                //Already completed by the client going away
+                subscribers.remove(subscriber);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,183 @@
+package com.project.code.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.code.Service.InventorySnapshotService.StoreSnapshot;
+
+/**
+ * In-memory stock availability keyed by (storeId, productId).
+ * <p>
+ * Availability is the stock level held by the store's
+ * {@link InventorySnapshotService snapshot} minus the quantities reserved by
+ * orders that have not finished yet. Checks never touch the database, and the
+ * order path reserves against the same counters under lock striping, so
+ * concurrent orders for the same product are rejected in memory before doing
+ * any database work. The conditional UPDATE in {@link InventoryService} remains
+ * the authority: a reservation only lets an order proceed, it never replaces
+ * the database check.
+ * </p>
+ * <p>
+ * A shortfall may come from a stale snapshot (e.g. stock added with direct
+ * SQL), so before rejecting a reservation the short products are re-read from
+ * the database once; the rest of the store is left as it is, so a sold-out
+ * product costs one small query per attempt rather than a store reload.
+ * </p>
+ */
+@Service
+public class StockAvailabilityService {
+
+    private static final int STRIPES = 64;
+
+    @Autowired
+    private InventorySnapshotService inventorySnapshotService;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final Map<StockKey, Integer> reserved = new ConcurrentHashMap<>();
+
+    public StockAvailabilityService() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+
+    /**
+     * Returns the quantity of a product that can still be ordered at a store.
+     * @param storeId The ID of the store.
+     * @param productId The ID of the product.
+     * @return The available quantity, 0 if the product is not stocked at the store.
+     */
+    public int getAvailable(Long storeId, Long productId) {
+        return available(inventorySnapshotService.getSnapshot(storeId), new StockKey(storeId, productId));
+    }
+
+
+    /**
+     * Checks whether a quantity of a product can be ordered at a store.
+     * @param storeId The ID of the store.
+     * @param productId The ID of the product.
+     * @param quantity The requested quantity.
+     * @return true if the quantity is available.
+     */
+    public boolean isAvailable(Long storeId, Long productId, int quantity) {
+        return getAvailable(storeId, productId) >= quantity;
+    }
+
+
+    /**
+     * Checks a whole cart against the available stock of a store.
+     * @param storeId The ID of the store.
+     * @param quantities Requested quantity, keyed by product ID.
+     * @return The IDs of the products that are not available in the requested quantity (empty if the cart can be ordered).
+     */
+    public List<Long> validateCart(Long storeId, Map<Long, Integer> quantities) {
+        return shortfalls(inventorySnapshotService.getSnapshot(storeId), storeId, quantities);
+    }
+
+
+    /**
+     * Reserves a whole cart for the current transaction.
+     * <p>
+     * Either every line is reserved or none is. The reservation is released when
+     * the transaction completes: on commit the snapshot has already been reduced
+     * by the deducted stock, on rollback the quantities become available again.
+     * </p>
+     * @param storeId The ID of the store.
+     * @param quantities Requested quantity, keyed by product ID.
+     * @return The IDs of the products that are not available (empty if the cart was reserved).
+     * @throws IllegalStateException if no transaction is active.
+     */
+    public List<Long> reserve(Long storeId, Map<Long, Integer> quantities) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Stock can only be reserved inside a transaction");
+        }
+
+        List<Long> missing = tryReserve(inventorySnapshotService.getSnapshot(storeId), storeId, quantities);
+        if (!missing.isEmpty()) {
+            missing = tryReserve(inventorySnapshotService.refreshRows(storeId, missing), storeId, quantities);
+            if (!missing.isEmpty()) {
+                return missing;
+            }
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(storeId, quantities);
+            }
+        });
+        return missing;
+    }
+
+
+    private List<Long> tryReserve(StoreSnapshot snapshot, Long storeId, Map<Long, Integer> quantities) {
+        //Lock stripes in ascending order so concurrent carts cannot deadlock
+        TreeSet<Integer> stripes = new TreeSet<>();
+        for (Long productId : quantities.keySet()) {
+            stripes.add(stripe(new StockKey(storeId, productId)));
+        }
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+        }
+        try {
+            List<Long> missing = shortfalls(snapshot, storeId, quantities);
+            if (missing.isEmpty()) {
+                for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+                    reserved.merge(new StockKey(storeId, entry.getKey()), entry.getValue(), Integer::sum);
+                }
+            }
+            return missing;
+        } finally {
+            for (int stripe : stripes.descendingSet()) {
+                locks[stripe].unlock();
+            }
+        }
+    }
+
+    private void release(Long storeId, Map<Long, Integer> quantities) {
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            StockKey key = new StockKey(storeId, entry.getKey());
+            ReentrantLock lock = locks[stripe(key)];
+            lock.lock();
+            try {
+                reserved.computeIfPresent(key, (k, held) -> held > entry.getValue() ? held - entry.getValue() : null);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private List<Long> shortfalls(StoreSnapshot snapshot, Long storeId, Map<Long, Integer> quantities) {
+        List<Long> missing = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            if (available(snapshot, new StockKey(storeId, entry.getKey())) < entry.getValue()) {
+                missing.add(entry.getKey());
+            }
+        }
+        return missing;
+    }
+
+    private int available(StoreSnapshot snapshot, StockKey key) {
+        if (!snapshot.contains(key.productId())) {
+            return 0;
+        }
+        return snapshot.getStockLevel(key.productId()) - reserved.getOrDefault(key, 0);
+    }
+
+    private static int stripe(StockKey key) {
+        return Math.floorMod(key.hashCode(), STRIPES);
+    }
+
+    private record StockKey(Long storeId, Long productId) {}
+
+}
@@ -0,0 +1,107 @@
+package com.project.code.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.code.Model.ProductDTO;
+import com.project.code.Model.Review;
+import com.project.code.Repo.ProductRepository;
+
+/**
+ * Service class for streaming large lists straight to the HTTP response.
+ * <p>
+ * Rows are read from a database cursor and written to the response as JSON one
+ * at a time, so memory per request stays constant regardless of table size.
+ * The JSON has the same shape as the non-streaming endpoints, e.g.
+ * {@code {"products": [...]}}.
+ * </p>
+ */
+@Service
+public class StreamingService {
+
+    private static final int CURSOR_BATCH_SIZE = 500;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+
+    /**
+     * Streams every product of the catalog.
+     * @return The response body writing {@code {"products": [...]}}.
+     */
+    public StreamingResponseBody streamProducts() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        return out -> readOnly.executeWithoutResult(status -> {
+            try (Stream<ProductDTO> products = productRepository.streamAllDTO()) {
+                writeArray(out, "products", products.iterator());
+            }
+        });
+    }
+
+
+    /**
+     * Streams every review using a Mongo cursor.
+     * @return The response body writing {@code {"reviews": [...]}}.
+     */
+    public StreamingResponseBody streamReviews() {
+        return out -> {
+            Query query = new Query().with(Sort.by("id")).cursorBatchSize(CURSOR_BATCH_SIZE);
+            try (Stream<Review> reviews = mongoTemplate.stream(query, Review.class)) {
+                writeArray(out, "reviews", reviews.iterator());
+            }
+        };
+    }
+
+
+    /**
+     * Writes {@code {"<field>": [ ... ]}} element by element.
+     * <p>
+     * The elements are views or documents, not entities, so nothing accumulates in a
+     * persistence context while the result set is written.
+     * </p>
+     */
+    private void writeArray(OutputStream out, String field, Iterator<?> elements) {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart(field);
+            while (elements.hasNext()) {
+                writer.writeValue(generator, elements.next());
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
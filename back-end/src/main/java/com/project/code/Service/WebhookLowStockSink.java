@@ -0,0 +1,69 @@
+package com.project.code.Service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.code.Model.LowStockAlert;
+
+/**
+ * Posts every low-stock alert as JSON to {@code app.inventory.low-stock.webhook-url}
+ * (e.g. a purchasing system). Only active when the URL is set.
+ * <p>
+ * Requests are sent asynchronously; a failed delivery is logged and not retried,
+ * the alert stays listed by {@code GET /inventory/alerts/{storeId}}.
+ * </p>
+ */
+@Service
+@ConditionalOnProperty("app.inventory.low-stock.webhook-url")
+public class WebhookLowStockSink implements LowStockSink {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookLowStockSink.class);
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final URI url;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+
+    public WebhookLowStockSink(@Value("${app.inventory.low-stock.webhook-url}") String url) {
+        this.url = URI.create(url);
+    }
+
+    @Override
+    public void lowStock(LowStockAlert alert) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(alert);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(url)
+            .timeout(TIMEOUT)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            if (error != null || response.statusCode() >= 300) {
+                log.warn("Low-stock webhook for product {} at store {} failed: {}", alert.productId(), alert.storeId(),
+                    error != null ? error.toString() : "HTTP " + response.statusCode());
+            }
+        });
+    }
+
+}
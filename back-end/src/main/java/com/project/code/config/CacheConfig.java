@@ -0,0 +1,31 @@
+package com.project.code.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables Spring's annotation-driven caching.
+ * <p>
+ * The cache provider (Caffeine), the cache names and their size/TTL bounds are
+ * configured in application.properties under {@code spring.cache.*}. Because the
+ * caches are declared up front, their hit/miss/eviction statistics are published
+ * as {@code cache.*} metrics on the actuator metrics endpoint.
+ * </p>
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** Single product by ID. */
+    public static final String PRODUCT_BY_ID = "productById";
+
+    /** Single product by SKU. */
+    public static final String PRODUCT_BY_SKU = "productBySku";
+
+    /** Product lists by category. */
+    public static final String PRODUCTS_BY_CATEGORY = "productsByCategory";
+
+    /** The full product list. */
+    public static final String ALL_PRODUCTS = "allProducts";
+
+}
@@ -0,0 +1,29 @@
+package com.project.code.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+@Configuration
+public class JacksonConfig {
+
+    // Serialize lazy associations that were never loaded (e.g. Product.inventories) as null
+    // instead of triggering a lazy load outside of a session. Spring Boot registers Module beans
+    // with the auto-configured ObjectMapper.
+    @Bean
+    public Hibernate6Module hibernate6Module() {
+        return new Hibernate6Module();
+    }
+
+    // Replace the reflective getter and constructor calls of Jackson with generated lambdas (the
+    // successor of Afterburner on module-based JVMs). Off by default: SerializationBenchmark showed
+    // no gain over the plain mapper for the response DTOs, measure on the target JVM before enabling it.
+    @Bean
+    @ConditionalOnProperty(name = "app.jackson.blackbird", havingValue = "true")
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,43 @@
+package com.project.code.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The page size rule shared by every paged endpoint.
+ * <p>
+ * A missing, zero or negative {@code size} gets {@code app.paging.default-size};
+ * a larger one than {@code app.paging.max-size} is capped at it.
+ * </p>
+ */
+@Component
+public class PageSizePolicy {
+
+    @Value("${app.paging.default-size:100}")
+    private int defaultSize;
+
+    @Value("${app.paging.max-size:1000}")
+    private int maxSize;
+
+
+    /**
+     * Resolves the page size of a request.
+     * @param size The requested size, or null.
+     * @return The number of rows to return.
+     */
+    public int clamp(Integer size) {
+        if (size == null || size <= 0) {
+            return defaultSize;
+        }
+        return Math.min(size, maxSize);
+    }
+
+
+    /**
+     * Returns the largest page size.
+     * @return The maximum number of rows (or IDs) a single request may ask for.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+}
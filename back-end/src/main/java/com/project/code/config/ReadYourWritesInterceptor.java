@@ -0,0 +1,91 @@
+package com.project.code.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Read-your-writes for clients served by read replicas.
+ * <p>
+ * A client that placed an order gets a short-lived cookie ({@link #stick(HttpServletResponse)});
+ * while it is valid, the requests of that client read from the primary, so the
+ * client sees its order and the stock it took even on a replica that has not
+ * applied them yet. The cookie holds its expiry time, so any instance of the
+ * application honours it without shared state. Without replicas it has no effect.
+ * </p>
+ */
+@Component
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String COOKIE = "primary-until";
+
+    private final long stickyMs;
+
+    /**
+     * @param stickySeconds How long a client reads from the primary after a write;
+     *                      should exceed {@code app.datasource.replicas.max-lag-ms}.
+     */
+    public ReadYourWritesInterceptor(@Value("${app.datasource.read-your-writes-seconds:10}") long stickySeconds) {
+        this.stickyMs = stickySeconds * 1000;
+    }
+
+
+    /**
+     * Pins the following requests of the client to the primary.
+     * @param response The response of the request that wrote.
+     */
+    public void stick(HttpServletResponse response) {
+        ResponseCookie cookie = ResponseCookie.from(COOKIE, Long.toString(System.currentTimeMillis() + stickyMs))
+            .path("/")
+            .maxAge(stickyMs / 1000)
+            .httpOnly(true)
+            .sameSite("Lax")
+            .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        ReplicaRoutingDataSource.setPrimaryOnly(true);
+    }
+
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReplicaRoutingDataSource.setPrimaryOnly(isSticky(request));
+        return true;
+    }
+
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRoutingDataSource.setPrimaryOnly(false);
+    }
+
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        //Streams continue on other threads; the request thread goes back to the pool
+        ReplicaRoutingDataSource.setPrimaryOnly(false);
+    }
+
+
+    private static boolean isSticky(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
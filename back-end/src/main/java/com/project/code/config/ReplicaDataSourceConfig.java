@@ -0,0 +1,79 @@
+package com.project.code.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Routes read-only transactions to read replicas when {@code app.datasource.replicas.urls} is set.
+ * <p>
+ * The application's {@link DataSource} becomes a {@link LazyConnectionDataSourceProxy}
+ * over the primary pool ({@code spring.datasource.*}): the physical connection is
+ * only taken at the first statement, once the transaction is known to be read-only,
+ * and read-only ones are served by the {@link ReplicaRoutingDataSource}. Flyway,
+ * writes and every read inside a read-write transaction use the primary.
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty("app.datasource.replicas.urls")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        DataSourceProperties properties,
+        @Value("${app.datasource.replicas.urls}") String[] urls,
+        @Value("${app.datasource.replicas.username:${spring.datasource.username:}}") String username,
+        @Value("${app.datasource.replicas.password:${spring.datasource.password:}}") String password,
+        @Value("${app.datasource.replicas.max-lag-ms:5000}") long maxLagMs,
+        @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize
+    ) {
+        List<DataSource> replicas = new ArrayList<>(urls.length);
+        for (String url : urls) {
+            HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url.strip())
+                .username(username)
+                .password(password)
+                .build();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLagMs);
+    }
+
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,262 @@
+package com.project.code.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Serves the connections of read-only transactions from a pool of read replicas,
+ * falling back to the primary.
+ * <p>
+ * It is plugged in as the read-only target of the application's
+ * {@code LazyConnectionDataSourceProxy} (see {@link ReplicaDataSourceConfig}), so
+ * only {@code @Transactional(readOnly = true)} work reaches it; everything else
+ * uses the primary directly. Connections are handed out round-robin among the
+ * replicas that are currently in sync.
+ * </p>
+ * <p>
+ * Lag is measured with a heartbeat: {@link #checkReplicas()} writes the current
+ * time to {@code replica_heartbeat} on the primary and reads the row back from
+ * every replica. A replica whose heartbeat is older than
+ * {@code app.datasource.replicas.max-lag-ms}, that cannot be reached or that has
+ * not been checked yet is skipped; with no replica in sync, reads go to the primary.
+ * </p>
+ * <p>
+ * The heartbeat a replica has applied also tells which writes it has: every write
+ * committed before that heartbeat was written. Caches that writes invalidate are
+ * filled in {@link #onReplicaCaughtUpTo(long, Supplier)}, which only uses a replica
+ * that has applied the last write the cache depends on. Work that must see the
+ * latest committed data runs in {@link #onPrimary(Supplier)}, and requests of
+ * clients that just placed an order are pinned to the primary by the
+ * {@link ReadYourWritesInterceptor}.
+ * </p>
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+    private static final ThreadLocal<Long> CAUGHT_UP_TO = new ThreadLocal<>();
+
+    /** A replica and the lag measured by the last check. */
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long lagMs = -1;
+        private volatile long appliedUpTo = Long.MIN_VALUE;
+        private volatile boolean inSync;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMs;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private volatile List<Replica> inSync = List.of();
+
+    /**
+     * @param primary The primary database, used when no replica is in sync.
+     * @param replicas The replica pools, in configuration order.
+     * @param maxLagMs The maximum lag of a replica still used for reads.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, long maxLagMs) {
+        this.primary = primary;
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Replica("replica-" + (i + 1), replicas.get(i)));
+        }
+        this.maxLagMs = maxLagMs;
+    }
+
+
+    /**
+     * Runs an action whose read-only transactions must use the primary, e.g. because
+     * what it reads is cached until the next write invalidates it.
+     * @param action The action.
+     * @return The result of the action.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_ONLY.remove();
+            } else {
+                PRIMARY_ONLY.set(previous);
+            }
+        }
+    }
+
+
+    /**
+     * Runs an action whose read-only transactions may only use a replica that has
+     * applied every write committed up to a given time, e.g. because what it reads is
+     * cached until the next write invalidates it. Without such a replica they use the primary.
+     * @param changedAt When the last write the action must see was committed
+     *                  ({@link Long#MAX_VALUE} while one is being committed).
+     * @param action The action.
+     * @return The result of the action.
+     */
+    public static <T> T onReplicaCaughtUpTo(long changedAt, Supplier<T> action) {
+        Long previous = CAUGHT_UP_TO.get();
+        CAUGHT_UP_TO.set(previous == null ? changedAt : Math.max(previous, changedAt));
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CAUGHT_UP_TO.remove();
+            } else {
+                CAUGHT_UP_TO.set(previous);
+            }
+        }
+    }
+
+
+    /**
+     * Pins or unpins the read-only transactions of the current thread to the primary.
+     * @param primaryOnly true to pin, false to go back to the replicas.
+     */
+    public static void setPrimaryOnly(boolean primaryOnly) {
+        if (primaryOnly) {
+            PRIMARY_ONLY.set(Boolean.TRUE);
+        } else {
+            PRIMARY_ONLY.remove();
+        }
+    }
+
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = choose();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.dataSource.getConnection();
+        } catch (SQLException e) {
+            markOutOfSync(replica, e);
+            return primary.getConnection();
+        }
+    }
+
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Replica replica = choose();
+        if (replica == null) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return replica.dataSource.getConnection(username, password);
+        } catch (SQLException e) {
+            markOutOfSync(replica, e);
+            return primary.getConnection(username, password);
+        }
+    }
+
+
+    /**
+     * Writes a heartbeat on the primary and measures the lag of every replica from the
+     * heartbeat it has applied. The lag includes up to one check interval, the time
+     * since the previous heartbeat was written.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.check-interval-ms:1000}")
+    public void checkReplicas() {
+        try {
+            new JdbcTemplate(primary).update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", System.currentTimeMillis());
+        } catch (DataAccessException e) {
+            log.warn("Could not write the replica heartbeat on the primary", e);
+        }
+
+        List<Replica> fresh = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            boolean wasInSync = replica.inSync;
+            try {
+                Long beatAt = new JdbcTemplate(replica.dataSource)
+                    .queryForObject("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Long.class);
+                replica.lagMs = System.currentTimeMillis() - (beatAt == null ? 0 : beatAt);
+                replica.appliedUpTo = beatAt == null ? Long.MIN_VALUE : beatAt;
+                replica.inSync = replica.lagMs <= maxLagMs;
+            } catch (DataAccessException e) {
+                replica.lagMs = -1;
+                replica.inSync = false;
+                if (wasInSync) {
+                    log.warn("Read replica {} is unreachable, reading from the primary instead", replica.name, e);
+                }
+            }
+            if (replica.inSync) {
+                fresh.add(replica);
+                if (!wasInSync) {
+                    log.info("Read replica {} is in sync (lag {} ms)", replica.name, replica.lagMs);
+                }
+            } else if (wasInSync && replica.lagMs >= 0) {
+                log.warn("Read replica {} lags {} ms behind the primary, reading from the others", replica.name, replica.lagMs);
+            }
+        }
+        inSync = List.copyOf(fresh);
+    }
+
+
+    /** @return The number of replicas currently used for reads. */
+    public int getReplicasInSync() {
+        return inSync.size();
+    }
+
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Could not close read replica {}", replica.name, e);
+                }
+            }
+        }
+    }
+
+
+    private Replica choose() {
+        List<Replica> candidates = inSync;
+        if (candidates.isEmpty() || Boolean.TRUE.equals(PRIMARY_ONLY.get())) {
+            return null;
+        }
+        int start = next.getAndIncrement();
+        Long changedAt = CAUGHT_UP_TO.get();
+        for (int i = 0; i < candidates.size(); i++) {
+            Replica replica = candidates.get(Math.floorMod(start + i, candidates.size()));
+            //A heartbeat written in the same millisecond as the write may predate it
+            if (changedAt == null || replica.appliedUpTo > changedAt) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private synchronized void markOutOfSync(Replica replica, SQLException e) {
+        if (replica.inSync) {
+            log.warn("Could not connect to read replica {}, reading from the primary instead", replica.name, e);
+            replica.inSync = false;
+            inSync = inSync.stream().filter(other -> other != replica).toList();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.project.code.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables Spring's {@code @Scheduled} background jobs (e.g. the inventory snapshot consistency check).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
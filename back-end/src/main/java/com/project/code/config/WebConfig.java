@@ -1,12 +1,23 @@
 package com.project.code.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private ReadYourWritesInterceptor readYourWritesInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Clients that just placed an order read from the primary, not from a lagging replica
+        registry.addInterceptor(readYourWritesInterceptor);
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         // Allow CORS for all endpoints
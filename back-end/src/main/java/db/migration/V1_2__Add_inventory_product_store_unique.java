@@ -0,0 +1,53 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * One inventory row per product and store: findByProductIdAndStoreId, the stock
+ * check of the inventory validation and the bulk import upsert rely on it.
+ * <p>
+ * Databases that ran a build with ddl-auto=update and the unique constraint on
+ * the Inventory entity already have it, and MySQL cannot add a constraint only
+ * if it is missing, so the existing unique indexes are looked up first. Fails if
+ * the table holds duplicate rows; merge them first.
+ * </p>
+ */
+public class V1_2__Add_inventory_product_store_unique extends BaseJavaMigration {
+
+    private static final Set<String> COLUMNS = Set.of("product_id", "store_id");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (hasUniqueIndex(connection.getMetaData(), connection.getCatalog(), connection.getSchema())) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE inventory ADD CONSTRAINT uk_inventory_product_store UNIQUE (product_id, store_id)");
+        }
+    }
+
+    private static boolean hasUniqueIndex(DatabaseMetaData metaData, String catalog, String schema) throws Exception {
+        Map<String, Set<String>> columnsByIndex = new HashMap<>();
+        try (ResultSet rows = metaData.getIndexInfo(catalog, schema, "inventory", true, false)) {
+            while (rows.next()) {
+                String index = rows.getString("INDEX_NAME");
+                String column = rows.getString("COLUMN_NAME");
+                if (index != null && column != null) {
+                    columnsByIndex.computeIfAbsent(index, name -> new TreeSet<>()).add(column.toLowerCase());
+                }
+            }
+        }
+        return columnsByIndex.containsValue(COLUMNS);
+    }
+}
@@ -0,0 +1,17 @@
+-- Outbox of the asynchronous orders. Databases that ran a build with
+-- ddl-auto=update and the order queue already have it (with the same index).
+CREATE TABLE IF NOT EXISTS queued_order (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    token VARCHAR(36) NOT NULL,
+    idempotency_key VARCHAR(255),
+    payload ${text_type} NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    order_id BIGINT,
+    message VARCHAR(255),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_queued_order_token UNIQUE (token),
+    CONSTRAINT uk_queued_order_idempotency_key UNIQUE (idempotency_key),
+    INDEX idx_queued_order_status (status, id)
+);
@@ -0,0 +1,62 @@
+-- Schema as previously created by Hibernate (spring.jpa.hibernate.ddl-auto=update),
+-- before the order queue. Existing databases are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and only receive the later migrations, so
+-- what later builds added with ddl-auto=update is created by those migrations
+-- only when it is missing (V1.1, V1.2).
+
+CREATE TABLE store (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    address VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE product (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    price DOUBLE NOT NULL,
+    sku VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_product_sku UNIQUE (sku)
+);
+
+CREATE TABLE customer (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    phone VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE inventory (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    product_id BIGINT,
+    store_id BIGINT,
+    stock_level INTEGER,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_inventory_product FOREIGN KEY (product_id) REFERENCES product (id),
+    CONSTRAINT fk_inventory_store FOREIGN KEY (store_id) REFERENCES store (id)
+);
+
+CREATE TABLE order_details (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    customer_id BIGINT,
+    store_id BIGINT,
+    total_price DOUBLE,
+    date DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_details_customer FOREIGN KEY (customer_id) REFERENCES customer (id),
+    CONSTRAINT fk_order_details_store FOREIGN KEY (store_id) REFERENCES store (id)
+);
+
+CREATE TABLE order_item (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    order_id BIGINT,
+    product_id BIGINT,
+    quantity INTEGER,
+    price DOUBLE,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_item_order FOREIGN KEY (order_id) REFERENCES order_details (id),
+    CONSTRAINT fk_order_item_product FOREIGN KEY (product_id) REFERENCES product (id)
+);
@@ -0,0 +1,18 @@
+-- Indexes for the lookups on the order path and the store pages.
+
+-- The unique (product_id, store_id) constraint of inventory is added by V1.2.
+
+-- The products of a store, in product ID order (store pages, snapshots, keyset paging).
+CREATE INDEX idx_inventory_store_product ON inventory (store_id, product_id);
+
+-- A customer's order history.
+CREATE INDEX idx_order_details_customer_date ON order_details (customer_id, date);
+
+-- The items of an order.
+CREATE INDEX idx_order_item_order ON order_item (order_id);
+
+-- Category filters.
+CREATE INDEX idx_product_category ON product (category);
+
+-- Customer lookup by email when an order is placed.
+CREATE INDEX idx_customer_email ON customer (email);
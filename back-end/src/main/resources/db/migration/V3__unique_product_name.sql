@@ -0,0 +1,3 @@
+-- Product names are unique, like SKUs: product creation relies on the constraint
+-- instead of looking the name up first. Fails if duplicate names exist; rename them first.
+ALTER TABLE product ADD CONSTRAINT uk_product_name UNIQUE (name);
@@ -0,0 +1,15 @@
+-- Daily sales rollup: units, revenue and orders per store, day and product.
+-- Maintained in the order transaction by SalesRollupService and rebuilt from
+-- order_details/order_item by its scheduled job (or POST /analytics/rollup/rebuild).
+CREATE TABLE daily_sales (
+    store_id BIGINT NOT NULL,
+    sale_date DATE NOT NULL,
+    product_id BIGINT NOT NULL,
+    units BIGINT NOT NULL,
+    revenue DOUBLE NOT NULL,
+    order_count BIGINT NOT NULL,
+    PRIMARY KEY (store_id, sale_date, product_id)
+);
+
+-- The orders of a date range, read by the rollup rebuild.
+CREATE INDEX idx_order_details_date ON order_details (date);
@@ -0,0 +1,3 @@
+-- Version of each product, incremented on every update: used for optimistic locking
+-- and to build the ETag of the product without reading its data.
+ALTER TABLE product ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
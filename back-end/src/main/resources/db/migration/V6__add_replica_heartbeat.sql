@@ -0,0 +1,9 @@
+-- Replica lag probe: the application writes the current time (epoch millis) to
+-- this row on the primary, and reads it back from every read replica; the age of
+-- the value a replica returns is how far it lags behind.
+CREATE TABLE replica_heartbeat (
+    id INT PRIMARY KEY,
+    beat_at BIGINT NOT NULL
+);
+
+INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, 0);
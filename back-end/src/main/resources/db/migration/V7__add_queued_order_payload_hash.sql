@@ -0,0 +1,4 @@
+-- Hash of the queued order payload: a retry reusing an idempotency key with a
+-- different order is rejected instead of returning the first order. Rows queued
+-- before this migration have no hash and keep matching any retry.
+ALTER TABLE queued_order ADD COLUMN payload_hash VARCHAR(64);
@@ -0,0 +1,10 @@
+-- Outbox of the change stream: every change is recorded here in the transaction
+-- that makes it, then appended to the change log once committed and deleted
+-- shortly after. Rows left behind by a crash are appended on the next start.
+CREATE TABLE change_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    batch_id VARCHAR(36) NOT NULL,
+    event ${text_type} NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_change_outbox_batch (batch_id)
+);
@@ -0,0 +1,4 @@
+-- The instance that claimed a queued order for processing: a drain only places
+-- and releases the orders it claimed itself. Claims of other instances are left
+-- to the lease expiry.
+ALTER TABLE queued_order ADD COLUMN claimed_by VARCHAR(64);
@@ -0,0 +1,183 @@
+package com.project.code.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.project.code.Model.Inventory;
+import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Model.Product;
+import com.project.code.Model.PurchaseProductDTO;
+import com.project.code.Model.Store;
+import com.project.code.Repo.InventoryRepository;
+import com.project.code.Repo.ProductRepository;
+import com.project.code.Repo.StoreRepository;
+import com.project.code.Service.BulkOrderService;
+import com.project.code.Service.OrderService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private BulkOrderService bulkOrderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void ordersAreRolledUpAsTheyCommit() throws Exception {
+        Store store = storeRepository.save(new Store("Analytics Store", "8 Analytics Road"));
+        Product whisk = product("Whisk", "Kitchen", 2.0);
+        Product bowl = product("Bowl", "Kitchen", 5.0);
+        Product rake = product("Rake", "Garden", 10.0);
+        for (Product product : List.of(whisk, bowl, rake)) {
+            inventoryRepository.save(new Inventory(product, store, 100));
+        }
+
+        orderService.saveOrder(order(store, line(whisk, 3), line(bowl, 1)));
+        orderService.saveOrder(order(store, line(whisk, 2), line(rake, 1)));
+        orderService.saveOrder(order(store, line(whisk, 1), line(whisk, 1)));
+        assertThrows(RuntimeException.class, () -> orderService.saveOrder(order(store, line(bowl, 1), line(rake, 1000))));
+        bulkOrderService.saveOrders(List.of(order(store, line(bowl, 2)), order(store, line(bowl, 2))));
+
+        Map<String, Object> whiskRow = jdbcTemplate.queryForMap(
+            "SELECT units, revenue, order_count FROM daily_sales WHERE store_id = ? AND product_id = ?",
+            store.getId(), whisk.getId());
+        assertEquals(7L, ((Number) whiskRow.get("units")).longValue());
+        assertEquals(14.0, ((Number) whiskRow.get("revenue")).doubleValue());
+        assertEquals(3L, ((Number) whiskRow.get("order_count")).longValue());
+
+        mockMvc.perform(get("/analytics/top-sellers/" + store.getId()).param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.topSellers.length()").value(2))
+            .andExpect(jsonPath("$.topSellers[0].productId").value(whisk.getId()))
+            .andExpect(jsonPath("$.topSellers[0].units").value(7))
+            .andExpect(jsonPath("$.topSellers[1].productId").value(bowl.getId()))
+            .andExpect(jsonPath("$.topSellers[1].units").value(5));
+
+        mockMvc.perform(get("/analytics/revenue-by-category/" + store.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.categories[0].category").value("Kitchen"))
+            .andExpect(jsonPath("$.categories[0].units").value(12))
+            .andExpect(jsonPath("$.categories[0].revenue").value(39.0))
+            .andExpect(jsonPath("$.categories[1].category").value("Garden"))
+            .andExpect(jsonPath("$.categories[1].revenue").value(10.0));
+
+        mockMvc.perform(get("/analytics/velocity/" + store.getId()).param("days", "7"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.products[0].productId").value(whisk.getId()))
+            .andExpect(jsonPath("$.products[0].unitsPerDay").value(1.0))
+            .andExpect(jsonPath("$.products[0].stockLevel").value(93))
+            .andExpect(jsonPath("$.products[0].daysOfCover").value(93.0));
+
+        mockMvc.perform(get("/analytics/top-sellers/" + store.getId()).param("from", "2024-02-01").param("to", "2024-01-01"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/analytics/velocity/" + store.getId()).param("days", "0"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rebuildBackfillsHistoryAndMatchesTheIncrementalRollup() throws Exception {
+        Store store = storeRepository.save(new Store("Rebuild Store", "9 Rebuild Road"));
+        Product kettle = product("Kettle", "Kitchen", 20.0);
+        inventoryRepository.save(new Inventory(kettle, store, 100));
+
+        orderService.saveOrder(order(store, line(kettle, 2)));
+        orderService.saveOrder(order(store, line(kettle, 1)));
+        String today = LocalDate.now().toString();
+        List<Map<String, Object>> incremental = salesRows(store);
+
+        //History written before the rollup existed
+        Long customerId = jdbcTemplate.queryForObject(
+            "SELECT customer_id FROM order_details WHERE store_id = ? LIMIT 1", Long.class, store.getId());
+        LocalDate past = LocalDate.now().minusDays(40);
+        Long orderId = insertHistoricOrder(customerId, store, past);
+        jdbcTemplate.update("INSERT INTO order_item (order_id, product_id, quantity, price) VALUES (?, ?, ?, ?)",
+            orderId, kettle.getId(), 4, 80.0);
+
+        mockMvc.perform(get("/analytics/top-sellers/" + store.getId()).param("from", past.toString()))
+            .andExpect(jsonPath("$.topSellers[0].units").value(3));
+
+        mockMvc.perform(post("/analytics/rollup/rebuild").param("from", past.toString()))
+            .andExpect(status().isOk());
+
+        assertEquals(incremental, salesRows(store).subList(1, 2));
+        mockMvc.perform(get("/analytics/top-sellers/" + store.getId()).param("from", past.toString()).param("to", today))
+            .andExpect(jsonPath("$.topSellers[0].units").value(7))
+            .andExpect(jsonPath("$.topSellers[0].revenue").value(140.0));
+    }
+
+    private Long insertHistoricOrder(Long customerId, Store store, LocalDate day) {
+        jdbcTemplate.update("INSERT INTO order_details (customer_id, store_id, total_price, date) VALUES (?, ?, ?, ?)",
+            customerId, store.getId(), 80.0, Timestamp.valueOf(day.atTime(12, 0)));
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM order_details WHERE store_id = ?", Long.class, store.getId());
+    }
+
+    private List<Map<String, Object>> salesRows(Store store) {
+        return jdbcTemplate.queryForList(
+            "SELECT sale_date, product_id, units, revenue, order_count FROM daily_sales WHERE store_id = ? ORDER BY sale_date",
+            store.getId());
+    }
+
+    private Product product(String name, String category, double price) {
+        Product product = new Product();
+        product.setName("Analytics " + name + " " + System.nanoTime());
+        product.setCategory(category);
+        product.setPrice(price);
+        product.setSku("ANALYTICS-" + System.nanoTime());
+        return productRepository.save(product);
+    }
+
+    private PurchaseProductDTO line(Product product, int quantity) {
+        PurchaseProductDTO line = new PurchaseProductDTO();
+        line.setId(product.getId());
+        line.setName(product.getName());
+        line.setPrice(product.getPrice());
+        line.setQuantity(quantity);
+        line.setTotal(product.getPrice() * quantity);
+        return line;
+    }
+
+    private PlaceOrderRequestDTO order(Store store, PurchaseProductDTO... lines) {
+        PlaceOrderRequestDTO request = new PlaceOrderRequestDTO();
+        request.setStoreId(store.getId());
+        request.setCustomerName("Analytics Customer");
+        request.setCustomerEmail("analytics-" + System.nanoTime() + "@analytics.test");
+        request.setCustomerPhone("555-0101");
+        request.setPurchaseProduct(new ArrayList<>(List.of(lines)));
+        request.setTotalPrice(List.of(lines).stream().mapToDouble(PurchaseProductDTO::getTotal).sum());
+        return request;
+    }
+}
@@ -0,0 +1,135 @@
+package com.project.code.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.project.code.Model.Inventory;
+import com.project.code.Model.OrderDetails;
+import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Model.Product;
+import com.project.code.Model.PurchaseProductDTO;
+import com.project.code.Model.Store;
+import com.project.code.Repo.StoreRepository;
+import com.project.code.Service.ChangeStreamService;
+import com.project.code.Service.InventoryService;
+import com.project.code.Service.OrderService;
+import com.project.code.Service.ProductService;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ChangeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChangeStreamService changeStreamService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Test
+    void committedChangesAreReadAndStreamedFromAnOffset() throws Exception {
+        long head = changeStreamService.getHeadOffset();
+        Store store = storeRepository.save(new Store("Change Store", "14 Offset Lane"));
+        Store other = storeRepository.save(new Store("Other Change Store", "15 Offset Lane"));
+
+        Product kettle = new Product();
+        kettle.setName("Change Kettle " + System.nanoTime());
+        kettle.setCategory("Kitchen");
+        kettle.setPrice(8.5);
+        kettle.setSku("CHANGE-" + System.nanoTime());
+        Product product = productService.saveProduct(kettle);
+        inventoryService.saveInventory(new Inventory(product, store, 50));
+        inventoryService.saveInventory(new Inventory(product, other, 70));
+        OrderDetails order = orderService.saveOrder(order(store, product, 2));
+        assertThrows(RuntimeException.class, () -> orderService.saveOrder(order(store, product, 1000)));
+        inventoryService.updateStockLevel(new Inventory(product, store, 40));
+
+        //The rolled back order and the other store's change are not returned
+        mockMvc.perform(get("/changes").param("from", Long.toString(head)).param("storeId", store.getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.changes.length()").value(4))
+            .andExpect(jsonPath("$.changes[0].type").value("PRODUCT_SAVED"))
+            .andExpect(jsonPath("$.changes[0].data.price").value(8.5))
+            .andExpect(jsonPath("$.changes[1].type").value("INVENTORY_SAVED"))
+            .andExpect(jsonPath("$.changes[1].data.stockLevel").value(50))
+            .andExpect(jsonPath("$.changes[2].type").value("ORDER_PLACED"))
+            .andExpect(jsonPath("$.changes[2].data.orderId").value(order.getId()))
+            .andExpect(jsonPath("$.changes[2].data.items[0].quantity").value(2))
+            .andExpect(jsonPath("$.changes[2].data.totalPrice").value(17.0))
+            .andExpect(jsonPath("$.changes[3].type").value("STOCK_UPDATED"))
+            .andExpect(jsonPath("$.changes[3].data.stockLevel").value(40))
+            .andExpect(jsonPath("$.nextOffset").value(head + 5))
+            .andExpect(jsonPath("$.headOffset").value(head + 5));
+
+        mockMvc.perform(get("/changes").param("from", "-1"))
+            .andExpect(status().isBadRequest());
+
+        //Replay from the offset, then follow live changes
+        MvcResult stream = mockMvc.perform(get("/changes/stream")
+                .param("from", Long.toString(head)).param("storeId", store.getId().toString()))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        awaitContent(stream, "id:" + (head + 4));
+        String replayed = stream.getResponse().getContentAsString();
+        assertTrue(replayed.contains("event:ORDER_PLACED"));
+        assertFalse(replayed.contains("id:" + (head + 2) + "\n"));
+
+        inventoryService.updateStockLevel(new Inventory(product, store, 30));
+        awaitContent(stream, "id:" + (head + 5));
+
+        //A reconnecting client resumes after the last event it received
+        MvcResult resumed = mockMvc.perform(get("/changes/stream").header("Last-Event-ID", Long.toString(head + 4)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        awaitContent(resumed, "id:" + (head + 5));
+        assertFalse(resumed.getResponse().getContentAsString().contains("id:" + (head + 4) + "\n"));
+    }
+
+    private static void awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!result.getResponse().getContentAsString().contains(expected)) {
+            assertTrue(System.currentTimeMillis() < deadline, "no event " + expected + " in time");
+            Thread.sleep(20);
+        }
+    }
+
+    private static PlaceOrderRequestDTO order(Store store, Product product, int quantity) {
+        PurchaseProductDTO line = new PurchaseProductDTO();
+        line.setId(product.getId());
+        line.setName(product.getName());
+        line.setQuantity(quantity);
+
+        PlaceOrderRequestDTO request = new PlaceOrderRequestDTO();
+        request.setStoreId(store.getId());
+        request.setCustomerName("Change Customer");
+        request.setCustomerEmail("change-" + System.nanoTime() + "@change.test");
+        request.setCustomerPhone("555-0104");
+        request.setPurchaseProduct(List.of(line));
+        return request;
+    }
+}
@@ -0,0 +1,116 @@
+package com.project.code.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.project.code.Model.Inventory;
+import com.project.code.Model.Product;
+import com.project.code.Model.Store;
+import com.project.code.Repo.StoreRepository;
+import com.project.code.Service.InventoryService;
+import com.project.code.Service.ProductService;
+import com.project.code.support.StatementCounter;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(StatementCounter.Config.class)
+class ConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Test
+    void unchangedReadsAreAnswered304WithoutTheDatabase() throws Exception {
+        Store store = storeRepository.save(new Store("ETag Store", "16 Version Road"));
+        Product product = new Product();
+        product.setName("ETag Lamp " + System.nanoTime());
+        product.setCategory("Home");
+        product.setPrice(25.0);
+        product.setSku("ETAG-" + System.nanoTime());
+        product = productService.saveProduct(product);
+        inventoryService.saveInventory(new Inventory(product, store, 10));
+
+        String productUrl = "/product/product/" + product.getId();
+        String inventoryUrl = "/inventory/" + store.getId();
+        String productTag = etag(productUrl);
+        String inventoryTag = etag(inventoryUrl);
+        String catalogueTag = etag("/product");
+
+        statementCounter.reset();
+        notModified(productUrl, productTag);
+        notModified(inventoryUrl, inventoryTag);
+        notModified("/product", catalogueTag);
+        notModified("/product?size=5", catalogueTag);
+        assertEquals(0, statementCounter.count(), "304 responses must not reach the database");
+
+        //A stock change only affects the store's inventory
+        inventoryService.updateStockLevel(new Inventory(product, store, 4));
+        String restockedTag = changed(inventoryUrl, inventoryTag);
+        notModified(productUrl, productTag);
+        notModified("/product", catalogueTag);
+
+        //An update without a version overwrites the product and changes every tag showing it
+        String body = "{\"id\":" + product.getId() + ",\"name\":\"" + product.getName() + "\",\"category\":\"Home\","
+            + "\"price\":27.5,\"sku\":\"" + product.getSku() + "\"}";
+        mockMvc.perform(put("/product").contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk());
+        changed(productUrl, productTag);
+        changed(inventoryUrl, restockedTag);
+        changed("/product", catalogueTag);
+        mockMvc.perform(get(productUrl)).andExpect(jsonPath("$.products.version").value(1));
+
+        //An update carrying a stale version is rejected
+        String stale = body.replace("}", ",\"version\":0}");
+        mockMvc.perform(put("/product").contentType(MediaType.APPLICATION_JSON).content(stale))
+            .andExpect(status().isConflict());
+    }
+
+    private String etag(String url) throws Exception {
+        String etag = mockMvc.perform(get(url))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag, url);
+        return etag;
+    }
+
+    private void notModified(String url, String etag) throws Exception {
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    private String changed(String url, String etag) throws Exception {
+        String current = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, current, url);
+        return current;
+    }
+}
@@ -0,0 +1,103 @@
+package com.project.code.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.project.code.Model.Inventory;
+import com.project.code.Model.Product;
+import com.project.code.Model.Store;
+import com.project.code.Repo.InventoryRepository;
+import com.project.code.Repo.StoreRepository;
+import com.project.code.Service.InventoryService;
+import com.project.code.Service.InventorySnapshotService;
+import com.project.code.Service.ProductService;
+import com.project.code.support.StatementCounter;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(StatementCounter.Config.class)
+class InventoryControllerCsvTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventorySnapshotService inventorySnapshotService;
+
+    @Test
+    void importUpsertsValidRowsAndExportRoundTrips() throws Exception {
+        Store store = storeRepository.save(new Store("Csv Store", "5 Csv Road"));
+        Product stocked = product("Csv Kettle", "CSV-" + System.nanoTime());
+        Product added = product("Csv Toaster", "CSV,\"Q\"-" + System.nanoTime());
+        inventoryService.saveInventory(new Inventory(stocked, store, 10));
+        assertEquals(10, inventorySnapshotService.getSnapshot(store.getId()).getStockLevel(stocked.getId()));
+
+        String csv = String.join("\n",
+            "sku,storeId,stockLevel",
+            stocked.getSku() + "," + store.getId() + ",3",
+            "\"" + added.getSku().replace("\"", "\"\"") + "\"," + store.getId() + ",7",
+            "",
+            "NO-SUCH-SKU," + store.getId() + ",1",
+            stocked.getSku() + ",-42,1",
+            stocked.getSku() + "," + store.getId() + ",-1",
+            "just-one-field");
+
+        mockMvc.perform(post("/inventory/import").contentType("text/csv").content(csv))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.rejected").value(4))
+            .andExpect(jsonPath("$.errors[0]").value("line 5: unknown SKU NO-SUCH-SKU"))
+            .andExpect(jsonPath("$.errors[3]").value("line 8: expected 3 fields but found 1"));
+
+        assertEquals(3, inventoryRepository.findByProductIdAndStoreId(stocked.getId(), store.getId()).getStockLevel());
+        assertEquals(7, inventoryRepository.findByProductIdAndStoreId(added.getId(), store.getId()).getStockLevel());
+        assertEquals(3, inventorySnapshotService.getSnapshot(store.getId()).getStockLevel(stocked.getId()));
+        assertEquals(7, inventorySnapshotService.getSnapshot(store.getId()).getStockLevel(added.getId()));
+
+        MvcResult export = mockMvc.perform(get("/inventory/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String exported = mockMvc.perform(asyncDispatch(export))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        assertTrue(exported.startsWith("sku,storeId,stockLevel\n"));
+        assertTrue(exported.contains(stocked.getSku() + "," + store.getId() + ",3\n"));
+        assertTrue(exported.contains("\"" + added.getSku().replace("\"", "\"\"") + "\"," + store.getId() + ",7\n"));
+    }
+
+    private Product product(String name, String sku) {
+        Product product = new Product();
+        product.setName(name);
+        product.setCategory("Kitchen");
+        product.setPrice(15.0);
+        product.setSku(sku);
+        return productService.saveProduct(product);
+    }
+}
@@ -0,0 +1,188 @@
+package com.project.code.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.code.Model.Inventory;
+import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Model.Product;
+import com.project.code.Model.PurchaseProductDTO;
+import com.project.code.Model.Store;
+import com.project.code.Repo.InventoryRepository;
+import com.project.code.Repo.StoreRepository;
+import com.project.code.Service.InventorySnapshotService;
+import com.project.code.Service.OrderService;
+import com.project.code.Service.ProductService;
+import com.project.code.support.StatementCounter;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(StatementCounter.Config.class)
+class InventoryControllerSnapshotTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private InventorySnapshotService inventorySnapshotService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void storeReadsAreServedFromSnapshotAndKeptInSync() throws Exception {
+        Store store = storeRepository.save(new Store("Snapshot Store", "3 Snapshot Road"));
+        Product kept = product("Snapshot Lamp");
+        Product removed = product("Snapshot Chair");
+        inventoryRepository.save(new Inventory(kept, store, 10));
+        inventoryRepository.save(new Inventory(removed, store, 5));
+        String validate = "/inventory/validate/%d/" + store.getId() + "/" + kept.getId();
+
+        mockMvc.perform(get("/inventory/" + store.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.products.length()").value(2));
+
+        statementCounter.reset();
+        mockMvc.perform(get("/inventory/" + store.getId())).andExpect(jsonPath("$.products.length()").value(2));
+        mockMvc.perform(get("/inventory/" + store.getId()).param("size", "1"))
+            .andExpect(jsonPath("$.products[0].id").value(kept.getId()))
+            .andExpect(jsonPath("$.nextCursor").value(kept.getId()));
+        mockMvc.perform(get("/inventory/search/lamp/" + store.getId()))
+            .andExpect(jsonPath("$.product[0].id").value(kept.getId()));
+        mockMvc.perform(get(validate.formatted(10))).andExpect(content().string("true"));
+        assertEquals(0, statementCounter.count(), "store reads should not reach the database");
+
+        placeOrder(store, kept, 3);
+        mockMvc.perform(get(validate.formatted(7))).andExpect(content().string("true"));
+        mockMvc.perform(get(validate.formatted(8))).andExpect(content().string("false"));
+
+        //Other test contexts share the database: repair the snapshots they left behind first
+        inventorySnapshotService.verifySnapshots();
+        jdbcTemplate.update("UPDATE inventory SET stock_level = 50 WHERE product_id = ? AND store_id = ?",
+            kept.getId(), store.getId());
+        assertEquals(1, inventorySnapshotService.verifySnapshots());
+        mockMvc.perform(get(validate.formatted(50))).andExpect(content().string("true"));
+
+        mockMvc.perform(delete("/inventory/" + removed.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/inventory/" + store.getId()))
+            .andExpect(jsonPath("$.products.length()").value(1))
+            .andExpect(jsonPath("$.products[0].id").value(kept.getId()));
+    }
+
+    @Test
+    void reloadDuringACommitNeitherLosesNorRepeatsTheDeduction() throws Exception {
+        Store store = storeRepository.save(new Store("Reload Store", "6 Snapshot Road"));
+        Product product = product("Reload Lamp");
+        inventoryRepository.save(new Inventory(product, store, 10));
+        assertEquals(10, inventorySnapshotService.getSnapshot(store.getId()).getStockLevel(product.getId()));
+
+        Thread reload = new Thread(() -> inventorySnapshotService.refresh(store.getId()));
+        AtomicBoolean waitedForTheCommit = new AtomicBoolean();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE inventory SET stock_level = stock_level - 2 WHERE product_id = ? AND store_id = ?",
+                product.getId(), store.getId());
+            //Starts reloading once the deduction is committed, but before the snapshot has applied it
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload.start();
+                    try {
+                        reload.join(300);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    waitedForTheCommit.set(reload.isAlive());
+                }
+            });
+            inventorySnapshotService.stockDeducted(store.getId(), Map.of(product.getId(), 2));
+        });
+        reload.join();
+
+        assertTrue(waitedForTheCommit.get(), "the reload must wait until the deduction is applied");
+        assertEquals(8, inventorySnapshotService.getSnapshot(store.getId()).getStockLevel(product.getId()));
+        assertEquals(8, inventoryRepository.findByProductIdAndStoreId(product.getId(), store.getId()).getStockLevel());
+    }
+
+    @Test
+    void validatesWholeCartInOneCall() throws Exception {
+        Store store = storeRepository.save(new Store("Cart Store", "5 Cart Road"));
+        Product pen = product("Cart Pen");
+        Product pad = product("Cart Pad");
+        inventoryRepository.save(new Inventory(pen, store, 4));
+        inventoryRepository.save(new Inventory(pad, store, 1));
+
+        String cart = "[{\"id\":" + pen.getId() + ",\"quantity\":4},{\"id\":" + pad.getId() + ",\"quantity\":2}]";
+        mockMvc.perform(post("/inventory/validate/" + store.getId()).contentType(MediaType.APPLICATION_JSON).content(cart))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.available").value(false))
+            .andExpect(jsonPath("$.unavailable.length()").value(1))
+            .andExpect(jsonPath("$.unavailable[0]").value(pad.getId()));
+    }
+
+    private Product product(String name) {
+        Product product = new Product();
+        product.setName(name);
+        product.setCategory("Home");
+        product.setPrice(10.0);
+        product.setSku("SNAP-" + System.nanoTime());
+        return productService.saveProduct(product);
+    }
+
+    private void placeOrder(Store store, Product product, int quantity) {
+        PurchaseProductDTO line = new PurchaseProductDTO();
+        line.setId(product.getId());
+        line.setName(product.getName());
+        line.setPrice(product.getPrice());
+        line.setQuantity(quantity);
+        line.setTotal(product.getPrice() * quantity);
+
+        PlaceOrderRequestDTO request = new PlaceOrderRequestDTO();
+        request.setStoreId(store.getId());
+        request.setCustomerName("Snapshot Customer");
+        request.setCustomerEmail("snapshot-" + System.nanoTime() + "@snapshot.test");
+        request.setCustomerPhone("555-0100");
+        request.setPurchaseProduct(List.of(line));
+        request.setTotalPrice(line.getTotal());
+        orderService.saveOrder(request);
+    }
+}
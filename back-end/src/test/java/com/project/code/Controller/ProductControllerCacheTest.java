@@ -0,0 +1,68 @@
+package com.project.code.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.project.code.Model.Product;
+import com.project.code.Repo.ProductRepository;
+import com.project.code.support.StatementCounter;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(StatementCounter.Config.class)
+class ProductControllerCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Test
+    void productReadsAreCachedAndInvalidatedByWrites() throws Exception {
+        Product product = new Product();
+        product.setName("Cached Phone");
+        product.setCategory("Mobile");
+        product.setPrice(100.0);
+        product.setSku("CACHE-" + System.nanoTime());
+        product = productRepository.save(product);
+        String url = "/product/product/" + product.getId();
+
+        mockMvc.perform(get(url)).andExpect(status().isOk())
+            .andExpect(jsonPath("$.products.name").value("Cached Phone"));
+
+        statementCounter.reset();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        mockMvc.perform(get("/product")).andExpect(status().isOk());
+        mockMvc.perform(get("/product")).andExpect(status().isOk());
+        assertEquals(1, statementCounter.count(), "only the first list read should reach the database");
+
+        String body = "{\"id\":" + product.getId() + ",\"name\":\"Renamed Phone\",\"category\":\"Mobile\","
+            + "\"price\":120.0,\"sku\":\"" + product.getSku() + "\"}";
+        mockMvc.perform(put("/product").contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get(url)).andExpect(jsonPath("$.products.name").value("Renamed Phone"));
+
+        mockMvc.perform(delete("/product/" + product.getId())).andExpect(status().isOk());
+        mockMvc.perform(get(url)).andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:productById"))
+            .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,122 @@
+package com.project.code.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.project.code.Model.Product;
+import com.project.code.Model.Store;
+import com.project.code.Repo.ProductRepository;
+import com.project.code.Repo.StoreRepository;
+import com.project.code.support.StatementCounter;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(StatementCounter.Config.class)
+class ProductControllerConflictTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Test
+    void concurrentCreatesOfTheSameProductLeaveOneRow() throws Exception {
+        String name = "Conflict Kettle " + System.nanoTime();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<MockHttpServletResponse>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                String body = productJson(name, "CONFLICT-" + System.nanoTime() + "-" + i);
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/product").contentType(MediaType.APPLICATION_JSON).content(body))
+                        .andReturn().getResponse();
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            for (Future<MockHttpServletResponse> result : results) {
+                MockHttpServletResponse response = result.get();
+                if (response.getStatus() == 201) {
+                    created++;
+                } else {
+                    assertEquals(409, response.getStatus());
+                    assertEquals("{\"message\":\"Product already present in database\"}", response.getContentAsString());
+                }
+            }
+            assertEquals(1, created);
+            assertNotNull(productRepository.findByName(name));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void createsAreSingleInsertsAndDuplicatesAreConflicts() throws Exception {
+        String sku = "CONFLICT-SKU-" + System.nanoTime();
+
+        statementCounter.reset();
+        mockMvc.perform(post("/product").contentType(MediaType.APPLICATION_JSON)
+                .content(productJson("Conflict Toaster " + System.nanoTime(), sku)))
+            .andExpect(status().isCreated());
+        assertEquals(2, statementCounter.count(), "a product create should be a single INSERT plus its change outbox batch");
+
+        mockMvc.perform(post("/product").contentType(MediaType.APPLICATION_JSON)
+                .content(productJson("Conflict Grill " + System.nanoTime(), sku)))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value("A product with this SKU already exists"));
+
+        Product product = productRepository.findBySku(sku);
+        Store store = storeRepository.save(new Store("Conflict Store", "9 Conflict Road"));
+        String inventory = "{\"product\":{\"id\":" + product.getId() + "},\"store\":{\"id\":" + store.getId()
+            + "},\"stockLevel\":4}";
+
+        statementCounter.reset();
+        mockMvc.perform(post("/inventory").contentType(MediaType.APPLICATION_JSON).content(inventory))
+            .andExpect(status().isCreated());
+        assertEquals(2, statementCounter.count(), "an inventory create should be a single INSERT plus its change outbox batch");
+
+        mockMvc.perform(post("/inventory").contentType(MediaType.APPLICATION_JSON).content(inventory))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value("Data already present in inventory"));
+
+        mockMvc.perform(post("/inventory").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"product\":{\"id\":-1},\"store\":{\"id\":" + store.getId() + "},\"stockLevel\":1}"))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.message").value("Product not found"));
+    }
+
+    private static String productJson(String name, String sku) {
+        return "{\"name\":\"" + name + "\",\"category\":\"Kitchen\",\"price\":25.0,\"sku\":\"" + sku + "\"}";
+    }
+}
@@ -0,0 +1,74 @@
+package com.project.code.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.code.Model.Product;
+import com.project.code.Repo.ProductRepository;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ProductControllerPagingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void keysetPagesAndStreamCoverTheWholeCatalog() throws Exception {
+        for (int i = 0; i < 25; i++) {
+            Product product = new Product();
+            product.setName("Paged " + i);
+            product.setCategory("Accessories");
+            product.setPrice(5.0);
+            product.setSku("PAGE-" + System.nanoTime() + "-" + i);
+            productRepository.save(product);
+        }
+        long total = productRepository.count();
+
+        List<Long> paged = new ArrayList<>();
+        String after = "0";
+        while (after != null) {
+            JsonNode page = json(mockMvc.perform(get("/product").param("after", after).param("size", "10"))
+                .andExpect(status().isOk()).andReturn());
+            page.get("products").forEach(p -> paged.add(p.get("id").asLong()));
+            after = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        }
+        assertEquals(total, paged.size());
+        for (int i = 1; i < paged.size(); i++) {
+            assertTrue(paged.get(i - 1) < paged.get(i));
+        }
+
+        MvcResult started = mockMvc.perform(get("/product/stream"))
+            .andExpect(request().asyncStarted()).andReturn();
+        JsonNode streamed = json(mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn());
+        List<Long> streamedIds = new ArrayList<>();
+        streamed.get("products").forEach(p -> streamedIds.add(p.get("id").asLong()));
+        assertEquals(paged, streamedIds);
+    }
+
+    private JsonNode json(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
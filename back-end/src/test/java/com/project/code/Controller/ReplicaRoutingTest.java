@@ -0,0 +1,138 @@
+package com.project.code.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.project.code.Model.Inventory;
+import com.project.code.Model.Product;
+import com.project.code.Model.Store;
+import com.project.code.Repo.StoreRepository;
+import com.project.code.Service.InventoryService;
+import com.project.code.Service.ProductService;
+import com.project.code.config.ReadYourWritesInterceptor;
+import com.project.code.config.ReplicaRoutingDataSource;
+
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Two H2 databases stand in for a MySQL primary and its replica. Nothing replicates
+ * between them: the test writes the replica's rows and heartbeat itself, giving the
+ * replica a different copy of the product to tell which database answered.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+    "app.datasource.replicas.urls=" + ReplicaRoutingTest.REPLICA_URL,
+    "app.datasource.replicas.check-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static JdbcTemplate replica;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @BeforeAll
+    static void createReplica() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(dataSource).placeholders(Map.of("text_type", "CLOB")).load().migrate();
+        replica = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void readOnlyReadsUseReplicasInSyncAndClientsThatOrderedReadTheirWrites() throws Exception {
+        Store store = storeRepository.save(new Store("Routing Store", "25 Replica Road"));
+        String category = "Routing " + System.nanoTime();
+        Product product = new Product();
+        product.setName("Routing Lamp " + System.nanoTime());
+        product.setCategory(category);
+        product.setPrice(12.5);
+        product.setSku("ROUTING-" + System.nanoTime());
+        product = productService.saveProduct(product);
+        inventoryService.saveInventory(new Inventory(product, store, 40));
+
+        String replicaName = product.getName() + " (replica)";
+        replica.update("INSERT INTO store (id, name, address) VALUES (?, ?, ?)", store.getId(), store.getName(), store.getAddress());
+        replica.update("INSERT INTO product (id, name, category, price, sku, version) VALUES (?, ?, ?, ?, ?, 0)",
+            product.getId(), replicaName, category, 12.5, product.getSku());
+        replica.update("INSERT INTO inventory (product_id, store_id, stock_level) VALUES (?, ?, 40)", product.getId(), store.getId());
+        String url = "/product/filter/" + category + "/" + store.getId();
+
+        //No heartbeat has reached the replica yet
+        replicaRoutingDataSource.checkReplicas();
+        assertEquals(0, replicaRoutingDataSource.getReplicasInSync());
+        readsName(url, product.getName());
+
+        replica.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", System.currentTimeMillis());
+        replicaRoutingDataSource.checkReplicas();
+        assertEquals(1, replicaRoutingDataSource.getReplicasInSync());
+        readsName(url, replicaName);
+
+        //Placing an order pins the client's following reads to the primary
+        String order = "{\"storeId\":" + store.getId() + ",\"customerName\":\"Routing Customer\","
+            + "\"customerEmail\":\"routing-" + System.nanoTime() + "@routing.test\",\"customerPhone\":\"555-0125\","
+            + "\"purchaseProduct\":[{\"id\":" + product.getId() + ",\"quantity\":2}]}";
+        Cookie sticky = mockMvc.perform(post("/store/placeOrder").contentType(MediaType.APPLICATION_JSON).content(order))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getCookie(ReadYourWritesInterceptor.COOKIE);
+        assertNotNull(sticky);
+        mockMvc.perform(get(url).cookie(sticky))
+            .andExpect(jsonPath("$.product[0].name").value(product.getName()))
+            .andExpect(jsonPath("$.product[0].stockLevel").value(38));
+        readsName(url, replicaName);
+
+        //A replica falling behind is skipped until it catches up
+        replica.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", System.currentTimeMillis() - 60_000);
+        replicaRoutingDataSource.checkReplicas();
+        assertEquals(0, replicaRoutingDataSource.getReplicasInSync());
+        readsName(url, product.getName());
+
+        //Caches, which only writes invalidate, are filled from a replica that has applied the last catalogue change
+        replica.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1", System.currentTimeMillis());
+        replicaRoutingDataSource.checkReplicas();
+        assertEquals(1, replicaRoutingDataSource.getReplicasInSync());
+        assertEquals(replicaName, productService.findById(product.getId()).name());
+
+        //and from the primary until the replica has applied the next one
+        product.setName(product.getName() + " (renamed)");
+        productService.saveProduct(product);
+        assertEquals(product.getName(), productService.findById(product.getId()).name());
+    }
+
+    private void readsName(String url, String name) throws Exception {
+        mockMvc.perform(get(url))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.product[0].name").value(name));
+    }
+}
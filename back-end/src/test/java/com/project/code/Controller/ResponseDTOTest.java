@@ -0,0 +1,79 @@
+package com.project.code.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.project.code.Model.Inventory;
+import com.project.code.Model.Product;
+import com.project.code.Model.Store;
+import com.project.code.Repo.StoreRepository;
+import com.project.code.Service.InventoryService;
+import com.project.code.Service.ProductService;
+import com.project.code.support.StatementCounter;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(StatementCounter.Config.class)
+class ResponseDTOTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Test
+    void readsAnswerWithTheProductColumnsAndStockLevels() throws Exception {
+        Store store = storeRepository.save(new Store("DTO Store", "24 View Street"));
+        String category = "DTO " + System.nanoTime();
+        Product product = new Product();
+        product.setName("DTO Kettle " + System.nanoTime());
+        product.setCategory(category);
+        product.setPrice(30.0);
+        product.setSku("DTO-" + System.nanoTime());
+        product = productService.saveProduct(product);
+        inventoryService.saveInventory(new Inventory(product, store, 7));
+
+        String single = mockMvc.perform(get("/product/product/" + product.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.products.sku").value(product.getSku()))
+            .andExpect(jsonPath("$.products.version").value(0))
+            .andReturn().getResponse().getContentAsString();
+        assertFalse(single.contains("inventories"), single);
+
+        //The store list carries the stock level the front-end shows
+        String stocked = mockMvc.perform(get("/inventory/" + store.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.products[0].id").value(product.getId()))
+            .andExpect(jsonPath("$.products[0].stockLevel").value(7))
+            .andReturn().getResponse().getContentAsString();
+        assertFalse(stocked.contains("inventories"), stocked);
+
+        //Products and stock levels are selected together, nothing is loaded afterwards
+        statementCounter.reset();
+        mockMvc.perform(get("/product/filter/" + category + "/" + store.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.product[0].name").value(product.getName()))
+            .andExpect(jsonPath("$.product[0].stockLevel").value(7));
+        assertEquals(1, statementCounter.count());
+    }
+}
@@ -0,0 +1,103 @@
+package com.project.code.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.project.code.Model.Customer;
+import com.project.code.Model.Review;
+import com.project.code.Repo.CustomerRepository;
+import com.project.code.Repo.ReviewRepository;
+import com.project.code.support.StatementCounter;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(StatementCounter.Config.class)
+class ReviewControllerTest {
+
+    private static final int REVIEWS = 2000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @MockitoBean
+    private ReviewRepository reviewRepository;
+
+    @Test
+    void resolvesAllCustomerNamesWithOneQuery() throws Exception {
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Customer customer = new Customer();
+            customer.setName("Reviewer " + i);
+            customer.setEmail("reviewer" + i + "@review.test");
+            customer.setPhone("555-" + i);
+            customers.add(customer);
+        }
+        customers = customerRepository.saveAll(customers);
+
+        List<Review> reviews = new ArrayList<>();
+        for (int i = 0; i < REVIEWS; i++) {
+            reviews.add(new Review(customers.get(i % customers.size()).getId(), 7L, 3L, 1 + i % 5, "Review " + i));
+        }
+        reviews.add(new Review(-1L, 7L, 3L, 4, "Anonymous"));
+        when(reviewRepository.findByStoreIdAndProductId(3L, 7L)).thenReturn(reviews);
+
+        statementCounter.reset();
+        mockMvc.perform(get("/reviews/3/7"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.reviews.length()").value(REVIEWS + 1))
+            .andExpect(jsonPath("$.reviews[1].customerName").value("Reviewer 1"))
+            .andExpect(jsonPath("$.reviews[" + REVIEWS + "].customerName").value("Unknown"));
+        assertEquals(1, statementCounter.count());
+
+        statementCounter.reset();
+        mockMvc.perform(get("/reviews/3/7")).andExpect(status().isOk());
+        assertEquals(1, statementCounter.count(), "only the unknown customer should be looked up again");
+    }
+
+    @Test
+    void pagesReviewsNewestFirstWithACursor() throws Exception {
+        Review newest = new Review(-1L, 9L, 5L, 5, "Newest");
+        newest.setId("66b000000000000000000003");
+        Review older = new Review(-1L, 9L, 5L, 3, "Older");
+        older.setId("66b000000000000000000002");
+        Review oldest = new Review(-1L, 9L, 5L, 1, "Oldest");
+        oldest.setId("66b000000000000000000001");
+
+        when(reviewRepository.findByStoreIdAndProductIdOrderByIdDesc(5L, 9L, Limit.of(2))).thenReturn(List.of(newest, older));
+        when(reviewRepository.findByStoreIdAndProductIdAndIdLessThanOrderByIdDesc(5L, 9L, older.getId(), Limit.of(2)))
+            .thenReturn(List.of(oldest));
+
+        mockMvc.perform(get("/reviews/5/9").param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.reviews[0].review").value("Newest"))
+            .andExpect(jsonPath("$.reviews[1].review").value("Older"))
+            .andExpect(jsonPath("$.nextCursor").value(older.getId()));
+
+        mockMvc.perform(get("/reviews/5/9").param("size", "2").param("before", older.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.reviews.length()").value(1))
+            .andExpect(jsonPath("$.reviews[0].review").value("Oldest"))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+}
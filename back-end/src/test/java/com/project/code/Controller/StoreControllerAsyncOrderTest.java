@@ -0,0 +1,147 @@
+package com.project.code.Controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.code.Model.Inventory;
+import com.project.code.Model.Product;
+import com.project.code.Model.QueuedOrder;
+import com.project.code.Model.Store;
+import com.project.code.Repo.InventoryRepository;
+import com.project.code.Repo.ProductRepository;
+import com.project.code.Repo.QueuedOrderRepository;
+import com.project.code.Repo.StoreRepository;
+import com.project.code.Service.AsyncOrderService;
+import com.project.code.support.StatementCounter;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(StatementCounter.Config.class)
+class StoreControllerAsyncOrderTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private QueuedOrderRepository queuedOrderRepository;
+
+    @Autowired
+    private AsyncOrderService asyncOrderService;
+
+    @Test
+    void queuedOrdersArePlacedOnceAndReportTheirStatus() throws Exception {
+        Store store = storeRepository.save(new Store("Async Store", "7 Async Road"));
+        Product product = new Product();
+        product.setName("Async Lamp");
+        product.setCategory("Home");
+        product.setPrice(10.0);
+        product.setSku("ASYNC-" + System.nanoTime());
+        product = productRepository.save(product);
+        Inventory inventory = inventoryRepository.save(new Inventory(product, store, 5));
+
+        String key = "key-" + System.nanoTime();
+        String token = enqueue(store, product, 2, key);
+        assertEquals(token, enqueue(store, product, 2, key), "a retry must return the original token");
+        String rejected = enqueue(store, product, 10, null);
+
+        asyncOrderService.drain();
+
+        mockMvc.perform(get("/store/orders/" + token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.status").value("COMPLETED"))
+            .andExpect(jsonPath("$.orderId").isNumber());
+        mockMvc.perform(get("/store/orders/" + rejected))
+            .andExpect(jsonPath("$.status").value("FAILED"))
+            .andExpect(jsonPath("$.message").value(containsString("Insufficient stock")));
+
+        assertEquals(token, enqueue(store, product, 2, key));
+        asyncOrderService.drain();
+        assertEquals(3, inventoryRepository.findById(inventory.getId()).orElseThrow().getStockLevel());
+
+        //The key is bound to the order it was first sent with
+        mockMvc.perform(post("/store/placeOrder/async").contentType(MediaType.APPLICATION_JSON)
+                .content(orderJson(store, product, 1)).header("Idempotency-Key", key))
+            .andExpect(status().isUnprocessableEntity());
+
+        mockMvc.perform(get("/store/orders/unknown")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void ordersLeftInProcessingAreRequeuedOnceTheirLeaseExpires() throws Exception {
+        Store store = storeRepository.save(new Store("Lease Store", "8 Async Road"));
+        Product product = new Product();
+        product.setName("Lease Lamp " + System.nanoTime());
+        product.setCategory("Home");
+        product.setPrice(10.0);
+        product.setSku("LEASE-" + System.nanoTime());
+        product = productRepository.save(product);
+        Inventory inventory = inventoryRepository.save(new Inventory(product, store, 5));
+
+        //Claimed by a drain of another instance that never finished, five minutes ago
+        QueuedOrder queued = asyncOrderService.findByToken(enqueue(store, product, 1, null));
+        queuedOrderRepository.updateStatus(List.of(queued.getId()), QueuedOrder.Status.PENDING, QueuedOrder.Status.PROCESSING,
+            "stopped-instance", LocalDateTime.now().minusMinutes(5));
+
+        //Neither a drain nor the recovery of this instance takes over the other instance's claim
+        asyncOrderService.drain();
+        asyncOrderService.recover();
+        assertEquals(QueuedOrder.Status.PROCESSING, asyncOrderService.findByToken(queued.getToken()).getStatus());
+        assertEquals("stopped-instance", asyncOrderService.findByToken(queued.getToken()).getClaimedBy());
+
+        assertTrue(asyncOrderService.requeueExpired() >= 1);
+        asyncOrderService.drain();
+
+        assertEquals(QueuedOrder.Status.COMPLETED, asyncOrderService.findByToken(queued.getToken()).getStatus());
+        assertEquals(4, inventoryRepository.findById(inventory.getId()).orElseThrow().getStockLevel());
+    }
+
+    private String enqueue(Store store, Product product, int quantity, String key) throws Exception {
+        var request = post("/store/placeOrder/async").contentType(MediaType.APPLICATION_JSON).content(orderJson(store, product, quantity));
+        if (key != null) {
+            request.header("Idempotency-Key", key);
+        }
+        String response = mockMvc.perform(request)
+            .andExpect(status().isAccepted())
+            .andReturn().getResponse().getContentAsString();
+
+        JsonNode json = objectMapper.readTree(response);
+        return json.get("token").asText();
+    }
+
+    private static String orderJson(Store store, Product product, int quantity) {
+        return "{\"storeId\":" + store.getId() + ",\"customerName\":\"Async Customer\","
+            + "\"customerEmail\":\"async@async.test\",\"customerPhone\":\"555-0102\",\"totalPrice\":" + (10.0 * quantity) + ","
+            + "\"purchaseProduct\":[{\"id\":" + product.getId() + ",\"name\":\"" + product.getName() + "\",\"price\":10.0,"
+            + "\"quantity\":" + quantity + ",\"total\":" + (10.0 * quantity) + "}]}";
+    }
+}
@@ -0,0 +1,76 @@
+package com.project.code.Repo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * Databases created with ddl-auto=update by the builds before the migrations are
+ * baselined at V1 and must reach the current version whatever those builds had
+ * already added.
+ */
+class MigrationBaselineTest {
+
+    @Test
+    void schemaFromBeforeTheOrderQueueGetsTheQueueAndTheConstraint() {
+        DriverManagerDataSource dataSource = legacyDatabase("baseline-before-queue");
+
+        migrate(dataSource);
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM queued_order WHERE payload_hash IS NOT NULL", Integer.class));
+        assertDuplicateInventoryRejected(jdbc);
+    }
+
+    @Test
+    void schemaWithTheQueueAndTheConstraintIsNotCreatedTwice() {
+        DriverManagerDataSource dataSource = legacyDatabase("baseline-with-queue");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE queued_order (id BIGINT NOT NULL AUTO_INCREMENT, token VARCHAR(36) NOT NULL UNIQUE, "
+            + "idempotency_key VARCHAR(255) UNIQUE, payload CLOB NOT NULL, status VARCHAR(16) NOT NULL, order_id BIGINT, "
+            + "message VARCHAR(255), created_at DATETIME(6), updated_at DATETIME(6), PRIMARY KEY (id))");
+        jdbc.execute("CREATE INDEX idx_queued_order_status ON queued_order (status, id)");
+        jdbc.execute("ALTER TABLE inventory ADD CONSTRAINT uk_inventory_product_store UNIQUE (product_id, store_id)");
+
+        migrate(dataSource);
+
+        assertEquals(0, jdbc.queryForObject("SELECT COUNT(*) FROM queued_order WHERE payload_hash IS NOT NULL", Integer.class));
+        assertDuplicateInventoryRejected(jdbc);
+    }
+
+    /** A database holding the tables Hibernate created before the migrations. */
+    private static DriverManagerDataSource legacyDatabase(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__create_schema.sql")).execute(dataSource);
+        return dataSource;
+    }
+
+    private static void migrate(DriverManagerDataSource dataSource) {
+        Flyway flyway = Flyway.configure()
+            .dataSource(dataSource)
+            .placeholders(Map.of("text_type", "CLOB"))
+            .baselineOnMigrate(true)
+            .baselineVersion("1")
+            .load();
+        flyway.migrate();
+        assertEquals(0, flyway.info().pending().length);
+    }
+
+    private static void assertDuplicateInventoryRejected(JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO store (id, name, address) VALUES (1, 'Baseline Store', '1 Baseline Road')");
+        jdbc.update("INSERT INTO product (id, name, category, price, sku) VALUES (1, 'Baseline Lamp', 'Home', 1.0, 'BASELINE-1')");
+        jdbc.update("INSERT INTO inventory (product_id, store_id, stock_level) VALUES (1, 1, 1)");
+        assertThrows(DataIntegrityViolationException.class,
+            () -> jdbc.update("INSERT INTO inventory (product_id, store_id, stock_level) VALUES (1, 1, 1)"));
+    }
+}
@@ -0,0 +1,145 @@
+package com.project.code.Repo;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Date;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.project.code.Model.QueuedOrder;
+import com.project.code.support.StatementCounter;
+
+/**
+ * Checks that the Flyway migrations create the lookup indexes, and runs the SQL
+ * of each repository query on the order path, the store pages and the analytics through EXPLAIN
+ * to check that it is answered from an index rather than by a table scan.
+ */
+@SpringBootTest
+@Import(StatementCounter.Config.class)
+class RepositoryIndexUsageTest {
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderDetailsRepository orderDetailsRepository;
+
+    @Autowired
+    private QueuedOrderRepository queuedOrderRepository;
+
+    @Autowired
+    private SalesJdbcRepository salesJdbcRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Test
+    void migrationsCreateTheLookupIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+            "SELECT LOWER(index_name) FROM information_schema.indexes WHERE table_schema = 'public'", String.class);
+
+        for (String index : List.of("uk_inventory_product_store", "idx_inventory_store_product", "idx_order_details_customer_date",
+                "idx_order_item_order", "idx_product_category", "idx_customer_email", "uk_product_sku", "idx_queued_order_status",
+                "idx_order_details_date")) {
+            assertTrue(indexes.stream().anyMatch(name -> name.startsWith(index)), "missing index " + index + " in " + indexes);
+        }
+    }
+
+    @Test
+    void inventoryQueriesAreServedByAnIndex() {
+        assertIndexLookup("product_id = ?1", () -> inventoryRepository.findByProductIdAndStoreId(1L, 1L));
+        assertIndexLookup("store_id = ?1", () -> inventoryRepository.findByStore_Id(1L));
+        assertIndexLookup("store_id = ?1", () -> inventoryRepository.findWithProductByStoreId(1L));
+        // Depending on the table sizes this is driven by the store index or by the product primary key.
+        assertIndexLookup("", () -> inventoryRepository.findByStoreIdAndProductIdIn(1L, List.of(1L, 2L)));
+        assertIndexLookup("store_id = ?1", () -> productRepository.findPageByStoreIdAfter(1L, 0L, Limit.of(10)));
+    }
+
+    @Test
+    void productQueriesAreServedByAnIndex() {
+        assertIndexLookup("category = ?1", () -> productRepository.findByCategory("Mobile"));
+        assertIndexLookup("sku = ?1", () -> productRepository.findBySku("SKU001"));
+    }
+
+    @Test
+    void orderPathQueriesAreServedByAnIndex() {
+        assertIndexLookup("email = ?1", () -> customerRepository.findIdentityByEmail("someone@example.com"));
+        assertIndexLookup("customer_id = ?1", () -> orderDetailsRepository.findHistoryPage(1L, Long.MAX_VALUE, Limit.of(10)));
+        assertIndexLookup("status = ?1", () -> queuedOrderRepository.findIdsByStatus(QueuedOrder.Status.PENDING, Limit.of(10)));
+        assertIndexLookup("order_id = ?1", "SELECT * FROM order_item WHERE order_id = ?");
+    }
+
+    @Test
+    void analyticsQueriesAreServedByTheRollupKey() {
+        LocalDate today = LocalDate.now();
+        // H2 lists the range condition first; the store and start date follow on the same primary key lookup.
+        assertIndexLookup("sale_date <= ?3", () -> salesJdbcRepository.findTopSellers(1L, today, today, 10));
+        assertIndexLookup("sale_date <= ?3", () -> salesJdbcRepository.findRevenueByCategory(1L, today, today));
+        assertIndexLookup("sale_date <= ?3", () -> salesJdbcRepository.findUnitsByProduct(1L, today, today));
+        assertIndexLookup("date >= ?1", "SELECT id FROM order_details WHERE date >= ? AND date < ?");
+    }
+
+    /**
+     * Runs the query and checks the plan of the SQL it issued. The first statement is the
+     * query itself; any later ones load associations by primary key.
+     */
+    private void assertIndexLookup(String indexCondition, Runnable query) {
+        statementCounter.reset();
+        query.run();
+        List<String> sql = statementCounter.preparedSql();
+        assertFalse(sql.isEmpty(), "the query should have run SQL");
+
+        assertIndexLookup(indexCondition, sql.get(0));
+    }
+
+    private void assertIndexLookup(String indexCondition, String sql) {
+        String plan = explain(sql);
+        // H2 annotates each table access with the index it uses, e.g. /* public.idx_product_category: category = ?1 */
+        assertTrue(plan.contains(": " + indexCondition), "expected an index lookup on " + indexCondition + " in plan: " + plan);
+        assertFalse(plan.contains("tableScan"), "unexpected table scan in plan: " + plan);
+    }
+
+    // EXPLAIN needs a value for every parameter; the values only have to be of the right type.
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                ParameterMetaData parameters = statement.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    switch (parameters.getParameterType(i)) {
+                        case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> statement.setLong(i, 1);
+                        case Types.TIMESTAMP -> statement.setTimestamp(i, new Timestamp(System.currentTimeMillis()));
+                        case Types.DATE -> statement.setDate(i, Date.valueOf(LocalDate.now()));
+                        default -> statement.setString(i, "1");
+                    }
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,103 @@
+package com.project.code.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.project.code.Model.Inventory;
+import com.project.code.Model.OrderResultDTO;
+import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Model.Product;
+import com.project.code.Model.PurchaseProductDTO;
+import com.project.code.Model.Store;
+import com.project.code.Repo.CustomerRepository;
+import com.project.code.Repo.InventoryRepository;
+import com.project.code.Repo.ProductRepository;
+import com.project.code.Repo.StoreRepository;
+
+@SpringBootTest
+class BulkOrderServiceTest {
+
+    @Autowired
+    private BulkOrderService bulkOrderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void placesOrdersIndependentlyAndAggregatesStock() {
+        Store store = storeRepository.save(new Store("Bulk Store", "3 Sync Avenue"));
+        Product scarce = saveProduct("Bulk Scarce");
+        Product plenty = saveProduct("Bulk Plenty");
+        Inventory scarceInventory = inventoryRepository.save(new Inventory(scarce, store, 5));
+        Inventory plentyInventory = inventoryRepository.save(new Inventory(plenty, store, 1000));
+
+        String email = "pos-" + System.nanoTime() + "@bulk.test";
+        List<PlaceOrderRequestDTO> orders = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            orders.add(order(store.getId(), email, line(scarce, 1), line(plenty, 2)));
+        }
+        orders.add(order(-1L, email, line(plenty, 1)));
+
+        List<OrderResultDTO> results = bulkOrderService.saveOrders(orders);
+
+        assertEquals(orders.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+            assertEquals(i < 5, results.get(i).isSuccess(), "order " + i);
+        }
+        assertTrue(results.get(5).getMessage().contains("Insufficient stock"));
+        assertFalse(results.get(250).isSuccess());
+        assertTrue(results.get(250).getMessage().contains("Store not found"));
+
+        assertEquals(0, inventoryRepository.findById(scarceInventory.getId()).orElseThrow().getStockLevel());
+        assertEquals(990, inventoryRepository.findById(plentyInventory.getId()).orElseThrow().getStockLevel());
+        assertEquals(1, customerRepository.findIdentitiesByEmailIn(List.of(email)).size());
+    }
+
+    private Product saveProduct(String name) {
+        Product product = new Product();
+        product.setName(name);
+        product.setCategory("Accessories");
+        product.setPrice(10.0);
+        product.setSku(name + "-" + System.nanoTime());
+        return productRepository.save(product);
+    }
+
+    private static PurchaseProductDTO line(Product product, int quantity) {
+        PurchaseProductDTO line = new PurchaseProductDTO();
+        line.setId(product.getId());
+        line.setName(product.getName());
+        line.setPrice(product.getPrice());
+        line.setQuantity(quantity);
+        line.setTotal(product.getPrice() * quantity);
+        return line;
+    }
+
+    private static PlaceOrderRequestDTO order(Long storeId, String email, PurchaseProductDTO... lines) {
+        PlaceOrderRequestDTO request = new PlaceOrderRequestDTO();
+        request.setStoreId(storeId);
+        request.setCustomerName("POS Customer");
+        request.setCustomerEmail(email);
+        request.setCustomerPhone("555-0100");
+        request.setPurchaseProduct(List.of(lines));
+        request.setTotalPrice(List.of(lines).stream().mapToDouble(PurchaseProductDTO::getTotal).sum());
+        return request;
+    }
+}
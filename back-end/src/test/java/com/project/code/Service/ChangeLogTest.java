@@ -0,0 +1,112 @@
+package com.project.code.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.project.code.Model.ChangeEvent;
+
+class ChangeLogTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void offsetsSurviveReopeningAndOldOffsetsAreReadFromTheFile() throws IOException {
+        Path file = dir.resolve("changes.log");
+        ChangeLog changeLog = open(file);
+        for (long i = 0; i < 3000; i++) {
+            assertEquals(i, changeLog.append(event(i)).offset());
+        }
+        changeLog.close();
+
+        //A crash in the middle of an append leaves an incomplete line behind
+        Files.writeString(segment(file, 0), "{\"offset\":3000,\"ty", StandardOpenOption.APPEND);
+
+        changeLog = open(file);
+        assertEquals(3000, changeLog.getHeadOffset());
+        assertEquals(3000, changeLog.append(event(3000L)).offset());
+
+        //Served from memory
+        assertEquals(List.of(2999L, 3000L), offsets(changeLog.read(2999, 10)));
+        //Served from the file, seeking past the first index interval
+        List<ChangeEvent> old = changeLog.read(2500, 3);
+        assertEquals(List.of(2500L, 2501L, 2502L), offsets(old));
+        assertEquals(2500, ((Number) old.get(0).data().get("n")).longValue());
+        assertEquals(ChangeEvent.Type.STOCK_UPDATED, old.get(0).type());
+        assertEquals(List.of(), changeLog.read(3001, 10));
+
+        //Only one log may write to the file
+        assertThrows(IllegalStateException.class, () -> open(file));
+        changeLog.close();
+    }
+
+    @Test
+    void fullSegmentsAreIndexedAndOnlyTheMostRecentAreKept() throws IOException {
+        Path file = dir.resolve("changes.log");
+        ChangeLog changeLog = open(file, 1000, 3);
+        for (long i = 0; i < 3500; i++) {
+            changeLog.append(event(i));
+        }
+        changeLog.close();
+
+        assertFalse(Files.exists(segment(file, 0)));
+        assertTrue(Files.exists(Path.of(segment(file, 1000) + ".index")));
+        assertTrue(Files.exists(Path.of(segment(file, 2000) + ".index")));
+        assertFalse(Files.exists(Path.of(segment(file, 3000) + ".index")));
+
+        //A damaged index is rebuilt from its segment
+        Files.write(Path.of(segment(file, 2000) + ".index"), new byte[] {1, 2, 3});
+
+        changeLog = open(file, 1000, 3);
+        assertEquals(1000, changeLog.getFirstOffset());
+        assertEquals(3500, changeLog.getHeadOffset());
+        //Older offsets are read from the oldest segment kept
+        assertEquals(List.of(1000L, 1001L), offsets(changeLog.read(0, 2)));
+        assertEquals(List.of(1998L, 1999L), offsets(changeLog.read(1998, 10)));
+        assertEquals(List.of(2100L), offsets(changeLog.read(2100, 1)));
+        assertEquals(2100, ((Number) changeLog.read(2100, 1).get(0).data().get("n")).longValue());
+        changeLog.close();
+    }
+
+    private ChangeLog open(Path file) throws IOException {
+        return open(file, 100_000, 20);
+    }
+
+    private ChangeLog open(Path file, long segmentEvents, int retainedSegments) throws IOException {
+        ChangeLog changeLog = new ChangeLog(file.toString(), 2, segmentEvents, retainedSegments, objectMapper);
+        changeLog.open();
+        return changeLog;
+    }
+
+    private static Path segment(Path file, long first) {
+        return Path.of(file + "." + String.format("%020d", first));
+    }
+
+    private static ChangeEvent event(long n) {
+        return new ChangeEvent(-1, ChangeEvent.Type.STOCK_UPDATED, Instant.now(), 1L, 2L, Map.of("n", n));
+    }
+
+    private static List<Long> offsets(List<ChangeEvent> events) {
+        return events.stream().map(ChangeEvent::offset).toList();
+    }
+}
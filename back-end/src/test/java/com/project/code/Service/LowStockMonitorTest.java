@@ -0,0 +1,173 @@
+package com.project.code.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import com.project.code.Model.Inventory;
+import com.project.code.Model.LowStockAlert;
+import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Model.Product;
+import com.project.code.Model.PurchaseProductDTO;
+import com.project.code.Model.Store;
+import com.project.code.Repo.InventoryRepository;
+import com.project.code.Repo.ProductRepository;
+import com.project.code.Repo.StoreRepository;
+
+@SpringBootTest
+@Import(LowStockMonitorTest.RecordingSinkConfig.class)
+class LowStockMonitorTest {
+
+    @TestConfiguration
+    static class RecordingSinkConfig {
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+
+    static class RecordingSink implements LowStockSink {
+        final BlockingQueue<LowStockAlert> alerts = new LinkedBlockingQueue<>();
+
+        @Override
+        public void lowStock(LowStockAlert alert) {
+            alerts.add(alert);
+        }
+    }
+
+    @Autowired
+    private RecordingSink sink;
+
+    @Autowired
+    private LowStockMonitor lowStockMonitor;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryCsvService inventoryCsvService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Test
+    void alertsOnceWhenStockFallsToTheVelocityReorderPoint() throws Exception {
+        Store store = storeRepository.save(new Store("Low Stock Store", "10 Reorder Road"));
+        Product fast = product("Low Stock Fast");
+        Product slow = product("Low Stock Slow");
+        inventoryRepository.save(new Inventory(fast, store, 100));
+        inventoryRepository.save(new Inventory(slow, store, 6));
+
+        //56 units in the last 28 days: 2 units per day, reorder point 2 * (7 + 3) = 20
+        placeOrder(store, fast, 56);
+        //Load the velocity now: the next order may be evaluated together with this one
+        lowStockMonitor.evaluate(store.getId(), List.of(fast.getId()));
+        placeOrder(store, fast, 25);
+        LowStockAlert alert = nextAlert(store);
+        assertEquals(fast.getId(), alert.productId());
+        assertEquals(19, alert.stockLevel());
+        assertEquals(20, alert.reorderPoint());
+        assertEquals(2.0, alert.unitsPerDay());
+
+        //Still low: the alert is updated, not raised again
+        placeOrder(store, fast, 1);
+        awaitTrue(() -> activeLevel(store, fast) == 18);
+
+        //Without sales the minimum threshold applies
+        placeOrder(store, slow, 1);
+        alert = nextAlert(store);
+        assertEquals(slow.getId(), alert.productId());
+        assertEquals(5, alert.reorderPoint());
+
+        //Restocking clears the alert
+        Inventory restock = new Inventory(fast, store, 200);
+        assertTrue(inventoryService.updateStockLevel(restock));
+        awaitTrue(() -> activeLevel(store, fast) == null);
+        assertEquals(List.of(slow.getId()), lowStockMonitor.getActiveAlerts(store.getId()).stream()
+            .map(LowStockAlert::productId).toList());
+
+        //Stock set by an import is evaluated too
+        inventoryCsvService.importCsv(new StringReader(fast.getSku() + "," + store.getId() + ",3\n"));
+        alert = nextAlert(store);
+        assertEquals(fast.getId(), alert.productId());
+        assertEquals(3, alert.stockLevel());
+        assertNull(sink.alerts.stream().filter(a -> a.storeId().equals(store.getId())).findAny().orElse(null));
+    }
+
+    private LowStockAlert nextAlert(Store store) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            LowStockAlert alert = sink.alerts.poll(100, TimeUnit.MILLISECONDS);
+            if (alert != null && alert.storeId().equals(store.getId())) {
+                return alert;
+            }
+        }
+        throw new AssertionError("no low-stock alert for store " + store.getId());
+    }
+
+    private Integer activeLevel(Store store, Product product) {
+        return lowStockMonitor.getActiveAlerts(store.getId()).stream()
+            .filter(alert -> alert.productId().equals(product.getId()))
+            .map(LowStockAlert::stockLevel)
+            .findFirst().orElse(null);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "condition not reached in time");
+            Thread.sleep(20);
+        }
+    }
+
+    private Product product(String name) {
+        Product product = new Product();
+        product.setName(name + " " + System.nanoTime());
+        product.setCategory("Home");
+        product.setPrice(3.0);
+        product.setSku("LOW-" + System.nanoTime());
+        return productRepository.save(product);
+    }
+
+    private void placeOrder(Store store, Product product, int quantity) {
+        PurchaseProductDTO line = new PurchaseProductDTO();
+        line.setId(product.getId());
+        line.setName(product.getName());
+        line.setPrice(product.getPrice());
+        line.setQuantity(quantity);
+        line.setTotal(product.getPrice() * quantity);
+
+        PlaceOrderRequestDTO request = new PlaceOrderRequestDTO();
+        request.setStoreId(store.getId());
+        request.setCustomerName("Low Stock Customer");
+        request.setCustomerEmail("low-stock-" + System.nanoTime() + "@low-stock.test");
+        request.setCustomerPhone("555-0102");
+        request.setPurchaseProduct(List.of(line));
+        request.setTotalPrice(line.getTotal());
+        assertNotNull(orderService.saveOrder(request));
+    }
+}
@@ -0,0 +1,129 @@
+package com.project.code.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.project.code.Model.Inventory;
+import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Model.Product;
+import com.project.code.Model.PurchaseProductDTO;
+import com.project.code.Model.Store;
+import com.project.code.Repo.InventoryRepository;
+import com.project.code.Repo.ProductRepository;
+import com.project.code.Repo.StoreRepository;
+import com.project.code.support.StatementCounter;
+
+/**
+ * Checks that the JDBC round trips of order placement do not grow with the basket.
+ */
+@SpringBootTest
+@Import(StatementCounter.Config.class)
+class OrderServiceBatchTest {
+
+    private static final int BASKET_SIZE = 30;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    private Store store;
+    private final List<Product> products = new ArrayList<>();
+    private int orderCount;
+
+    @BeforeEach
+    void seed() {
+        store = storeRepository.save(new Store("Batch Store", "2 Batch Road"));
+        for (int i = 0; i < BASKET_SIZE; i++) {
+            Product product = new Product();
+            product.setName("Batch Item " + i + " " + System.nanoTime());
+            product.setCategory("Accessories");
+            product.setPrice(1.0 + i);
+            product.setSku("BATCH-" + System.nanoTime() + "-" + i);
+            product = productRepository.save(product);
+            inventoryRepository.save(new Inventory(product, store, 1_000_000));
+            products.add(product);
+        }
+    }
+
+    @Test
+    void roundTripsDoNotGrowWithBasketSize() {
+        placeOrder(1);
+        placeOrder(BASKET_SIZE);
+
+        long single = countRoundTrips(1);
+        long full = countRoundTrips(BASKET_SIZE);
+
+        //Customer lookup and insert, store, order header, then one batch each for the items, the stock
+        //deductions, the sales rollup and the change outbox
+        assertEquals(8, single);
+        assertEquals(single, full);
+    }
+
+    @Test
+    void basketIsPersistedAndStockDeducted() {
+        placeOrder(BASKET_SIZE);
+
+        Integer items = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM order_item i JOIN order_details o ON o.id = i.order_id WHERE o.store_id = ?",
+            Integer.class, store.getId());
+        assertEquals(BASKET_SIZE, items);
+        for (Product product : products) {
+            assertEquals(1_000_000 - 1,
+                inventoryRepository.findByProductIdAndStoreId(product.getId(), store.getId()).getStockLevel());
+        }
+    }
+
+    private long countRoundTrips(int lines) {
+        statementCounter.reset();
+        placeOrder(lines);
+        return statementCounter.count();
+    }
+
+    private void placeOrder(int lines) {
+        List<PurchaseProductDTO> basket = new ArrayList<>();
+        double total = 0;
+        for (Product product : products.subList(0, lines)) {
+            PurchaseProductDTO line = new PurchaseProductDTO();
+            line.setId(product.getId());
+            line.setName(product.getName());
+            line.setPrice(product.getPrice());
+            line.setQuantity(1);
+            line.setTotal(product.getPrice());
+            basket.add(line);
+            total += product.getPrice();
+        }
+
+        int n = orderCount++;
+        PlaceOrderRequestDTO request = new PlaceOrderRequestDTO();
+        request.setStoreId(store.getId());
+        request.setCustomerName("Batch Customer " + n);
+        request.setCustomerEmail("batch" + n + "-" + System.nanoTime() + "@batch.test");
+        request.setCustomerPhone("555-" + n);
+        request.setPurchaseProduct(basket);
+        request.setTotalPrice(total);
+        orderService.saveOrder(request);
+    }
+}
@@ -0,0 +1,123 @@
+package com.project.code.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.project.code.Model.Inventory;
+import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Model.Product;
+import com.project.code.Model.PurchaseProductDTO;
+import com.project.code.Model.Store;
+import com.project.code.Repo.InventoryRepository;
+import com.project.code.Repo.ProductRepository;
+import com.project.code.Repo.StoreRepository;
+
+/**
+ * Fires many parallel single-unit orders at one hot product/store pair and
+ * checks that stock is never oversold and rejected orders leave nothing behind.
+ */
+@SpringBootTest
+class OrderServiceConcurrencyTest {
+
+    private static final int INITIAL_STOCK = 500;
+    private static final int ORDERS = 2000;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentOrdersNeverOversell() throws Exception {
+        Product product = new Product();
+        product.setName("Hot Item");
+        product.setCategory("Mobile");
+        product.setPrice(10.0);
+        product.setSku("HOT-" + System.nanoTime());
+        product = productRepository.save(product);
+
+        Store store = storeRepository.save(new Store("Stress Store", "1 Load Street"));
+        Inventory inventory = inventoryRepository.save(new Inventory(product, store, INITIAL_STOCK));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < ORDERS; i++) {
+            PlaceOrderRequestDTO request = singleUnitOrder(product, store, i);
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    orderService.saveOrder(request);
+                    placed.incrementAndGet();
+                } catch (RuntimeException e) {
+                    if (!String.valueOf(e.getMessage()).startsWith("Insufficient stock")) {
+                        throw e;
+                    }
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(INITIAL_STOCK, placed.get());
+        assertEquals(ORDERS - INITIAL_STOCK, rejected.get());
+        assertEquals(0, inventoryRepository.findById(inventory.getId()).orElseThrow().getStockLevel());
+        //Every unit sold is one order with one item; the rejected orders were rolled back
+        assertEquals(INITIAL_STOCK, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM order_details WHERE store_id = ?", Integer.class, store.getId()));
+        assertEquals(INITIAL_STOCK, jdbcTemplate.queryForObject(
+            "SELECT SUM(quantity) FROM order_item WHERE product_id = ?", Integer.class, product.getId()));
+    }
+
+    private static PlaceOrderRequestDTO singleUnitOrder(Product product, Store store, int n) {
+        PurchaseProductDTO line = new PurchaseProductDTO();
+        line.setId(product.getId());
+        line.setName(product.getName());
+        line.setPrice(product.getPrice());
+        line.setQuantity(1);
+        line.setTotal(product.getPrice());
+
+        PlaceOrderRequestDTO request = new PlaceOrderRequestDTO();
+        request.setStoreId(store.getId());
+        request.setCustomerName("Customer " + n);
+        request.setCustomerEmail("customer" + n + "@stress.test");
+        request.setCustomerPhone("555-" + n);
+        request.setPurchaseProduct(List.of(line));
+        request.setTotalPrice(product.getPrice());
+        return request;
+    }
+}
@@ -0,0 +1,137 @@
+package com.project.code.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.project.code.Model.Inventory;
+import com.project.code.Model.OrderDetails;
+import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Model.Product;
+import com.project.code.Model.PurchaseProductDTO;
+import com.project.code.Model.Store;
+import com.project.code.Repo.InventoryRepository;
+import com.project.code.Repo.ProductRepository;
+import com.project.code.Repo.StoreRepository;
+import com.project.code.support.StatementCounter;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Checks that placing an order costs the same whatever the size of the customer's order history.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(StatementCounter.Config.class)
+class OrderServiceCustomerHistoryTest {
+
+    private static final int HISTORY_SIZE = 10_000;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void placeOrderCostDoesNotGrowWithOrderHistory() throws Exception {
+        Store store = storeRepository.save(new Store("History Store", "6 History Road"));
+        Product product = new Product();
+        product.setName("History Mug");
+        product.setCategory("Home");
+        product.setPrice(5.0);
+        product.setSku("HIST-" + System.nanoTime());
+        product = productRepository.save(product);
+        inventoryRepository.save(new Inventory(product, store, 1_000_000));
+
+        String email = "history-" + System.nanoTime() + "@history.test";
+        OrderDetails first = placeOrder(store, product, email);
+        Long customerId = first.getCustomer().getId();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        long[] before = measure(statistics, store, product, email);
+
+        List<Object[]> history = new ArrayList<>(HISTORY_SIZE);
+        Timestamp date = Timestamp.valueOf(LocalDateTime.now().minusDays(1));
+        for (int i = 0; i < HISTORY_SIZE; i++) {
+            history.add(new Object[] {customerId, store.getId(), 5.0, date});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO order_details (customer_id, store_id, total_price, date) VALUES (?, ?, ?, ?)", history);
+
+        long[] after = measure(statistics, store, product, email);
+
+        //Customer ID lookup, store, order header, then one batch each for the items, the stock deduction,
+        //the sales rollup and the change outbox; only the store is loaded as an entity
+        assertEquals(7, before[0], "SQL statements per order");
+        assertEquals(1, before[1], "entities loaded per order");
+        assertEquals(before[0], after[0], "SQL statements per order");
+        assertEquals(before[1], after[1], "entities loaded per order");
+
+        mockMvc.perform(get("/customer/" + customerId + "/orders").param("size", "20"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.orders.length()").value(20))
+            .andExpect(jsonPath("$.nextCursor").isNumber());
+        mockMvc.perform(get("/customer/-1/orders")).andExpect(status().isNotFound());
+    }
+
+    private long[] measure(Statistics statistics, Store store, Product product, String email) {
+        statistics.clear();
+        statementCounter.reset();
+        placeOrder(store, product, email);
+        return new long[] {statementCounter.count(), statistics.getEntityLoadCount() + statistics.getCollectionLoadCount()};
+    }
+
+    private OrderDetails placeOrder(Store store, Product product, String email) {
+        PurchaseProductDTO line = new PurchaseProductDTO();
+        line.setId(product.getId());
+        line.setName(product.getName());
+        line.setPrice(product.getPrice());
+        line.setQuantity(1);
+        line.setTotal(product.getPrice());
+
+        PlaceOrderRequestDTO request = new PlaceOrderRequestDTO();
+        request.setStoreId(store.getId());
+        request.setCustomerName("History Customer");
+        request.setCustomerEmail(email);
+        request.setCustomerPhone("555-0101");
+        request.setPurchaseProduct(List.of(line));
+        request.setTotalPrice(product.getPrice());
+        return orderService.saveOrder(request);
+    }
+}
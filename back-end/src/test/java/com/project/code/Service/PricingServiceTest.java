@@ -0,0 +1,145 @@
+package com.project.code.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.project.code.Model.Inventory;
+import com.project.code.Model.OrderDetails;
+import com.project.code.Model.OrderResultDTO;
+import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Model.Product;
+import com.project.code.Model.PurchaseProductDTO;
+import com.project.code.Model.Store;
+import com.project.code.Repo.InventoryRepository;
+import com.project.code.Repo.ProductRepository;
+import com.project.code.Repo.StoreRepository;
+
+@SpringBootTest
+class PricingServiceTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private BulkOrderService bulkOrderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private PriceTable priceTable;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void ordersArePricedFromThePriceTableInExactCents() {
+        Store store = storeRepository.save(new Store("Pricing Store", "11 Cents Street"));
+        Product clip = product("Pricing Clip", 0.1);
+        Product lamp = product("Pricing Lamp", 19.99);
+
+        //No prices from the client: every amount is computed by the server
+        OrderDetails order = orderService.saveOrder(order(store, line(clip, 3, null, null), line(lamp, 3, null, null)));
+        assertEquals(60.27, order.getTotalPrice());
+        assertEquals(List.of(0.3, 59.97), jdbcTemplate.queryForList(
+            "SELECT price FROM order_item WHERE order_id = ? ORDER BY id", Double.class, order.getId()));
+
+        //Client amounts that match to the cent are accepted
+        PurchaseProductDTO matching = line(lamp, 3, 19.99, 19.99 * 3);
+        PlaceOrderRequestDTO request = order(store, line(clip, 3, 0.1, 0.1 * 3), matching);
+        request.setTotalPrice(0.1 * 3 + 19.99 * 3);
+        assertEquals(60.27, orderService.saveOrder(request).getTotalPrice());
+    }
+
+    @Test
+    void mismatchedPricesAreRejectedBeforeAnythingIsWritten() {
+        Store store = storeRepository.save(new Store("Mismatch Store", "12 Cents Street"));
+        Product mug = product("Pricing Mug", 4.5);
+
+        assertThrows(PriceMismatchException.class,
+            () -> orderService.saveOrder(order(store, line(mug, 2, 4.0, null))));
+        assertThrows(PriceMismatchException.class,
+            () -> orderService.saveOrder(order(store, line(mug, 2, 4.5, 8.0))));
+        PlaceOrderRequestDTO wrongTotal = order(store, line(mug, 2, 4.5, 9.0));
+        wrongTotal.setTotalPrice(1.0);
+        assertThrows(PriceMismatchException.class, () -> orderService.saveOrder(wrongTotal));
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM order_details WHERE store_id = ?", Integer.class, store.getId()));
+        assertEquals(100, inventoryRepository.findByProductIdAndStoreId(mug.getId(), store.getId()).getStockLevel());
+
+        //In a bulk request only the mismatched order fails
+        List<OrderResultDTO> results = bulkOrderService.saveOrders(List.of(
+            order(store, line(mug, 1, 4.5, 4.5)), order(store, line(mug, 1, 3.0, 3.0))));
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertTrue(results.get(1).getMessage().contains("Price of product ID " + mug.getId()));
+    }
+
+    @Test
+    void priceUpdatesRefreshTheTable() {
+        Store store = storeRepository.save(new Store("Reprice Store", "13 Cents Street"));
+        Product pan = product("Pricing Pan", 12.0);
+        orderService.saveOrder(order(store, line(pan, 1, 12.0, 12.0)));
+
+        pan.setPrice(14.25);
+        productService.saveProduct(pan);
+
+        assertEquals(1425, priceTable.getPrices(List.of(pan.getId())).get(pan.getId()).cents());
+        assertThrows(PriceMismatchException.class, () -> orderService.saveOrder(order(store, line(pan, 1, 12.0, 12.0))));
+        assertEquals(28.5, orderService.saveOrder(order(store, line(pan, 2, 14.25, 28.5))).getTotalPrice());
+    }
+
+    private Product product(String name, double price) {
+        Product product = new Product();
+        product.setName(name + " " + System.nanoTime());
+        product.setCategory("Kitchen");
+        product.setPrice(price);
+        product.setSku("PRICING-" + System.nanoTime());
+        return productService.saveProduct(product);
+    }
+
+    private PurchaseProductDTO line(Product product, int quantity, Double price, Double total) {
+        PurchaseProductDTO line = new PurchaseProductDTO();
+        line.setId(product.getId());
+        line.setName(product.getName());
+        line.setPrice(price);
+        line.setQuantity(quantity);
+        line.setTotal(total);
+        return line;
+    }
+
+    private PlaceOrderRequestDTO order(Store store, PurchaseProductDTO... lines) {
+        for (PurchaseProductDTO line : lines) {
+            if (inventoryRepository.findByProductIdAndStoreId(line.getId(), store.getId()) == null) {
+                inventoryRepository.save(new Inventory(productRepository.findByid(line.getId()), store, 100));
+            }
+        }
+        PlaceOrderRequestDTO request = new PlaceOrderRequestDTO();
+        request.setStoreId(store.getId());
+        request.setCustomerName("Pricing Customer");
+        request.setCustomerEmail("pricing-" + System.nanoTime() + "@pricing.test");
+        request.setCustomerPhone("555-0103");
+        request.setPurchaseProduct(new ArrayList<>(List.of(lines)));
+        return request;
+    }
+}
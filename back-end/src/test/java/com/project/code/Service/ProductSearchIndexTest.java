@@ -0,0 +1,88 @@
+package com.project.code.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.project.code.Model.Product;
+
+class ProductSearchIndexTest {
+
+    private static Product product(long id, String name, String category, String sku) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setCategory(category);
+        product.setSku(sku);
+        product.setPrice(1.0);
+        return product;
+    }
+
+    private static List<Long> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+
+    private static ProductSearchIndex index(Product... products) {
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.rebuild(List.of(products));
+        return index;
+    }
+
+    @Test
+    void ranksNameMatchesBeforeOtherFieldsAndToleratesTypos() {
+        ProductSearchIndex index = index(
+            product(1, "Galaxy Phone Case", "Accessories", "ACC-1"),
+            product(2, "Phone Charger", "Accessories", "ACC-2"),
+            product(3, "Laptop Stand", "Phones", "ACC-3"),
+            product(4, "Desk Lamp", "Home", "HOME-4"));
+
+        assertEquals(List.of(2L, 1L, 3L), ids(index.search("phone")));
+        assertEquals(List.of(2L), ids(index.search("chargr")));
+        assertEquals(List.of(4L), ids(index.search("home-4")));
+        assertEquals(3L, index.search("la").get(0).getId());
+        assertTrue(index.search("xyz").isEmpty());
+    }
+
+    @Test
+    void staysInSyncWithWritesAndAppliesFilters() {
+        ProductSearchIndex index = index(
+            product(1, "Phone Case", "Accessories", "ACC-1"),
+            product(2, "Phone Charger", "Electronics", "EL-2"));
+
+        index.index(product(1, "Tablet Case", "Accessories", "ACC-1"));
+        assertEquals(List.of(2L), ids(index.search("phone")));
+        assertEquals(List.of(1L), ids(index.search("tablet")));
+
+        assertEquals(List.of(2L), ids(index.search("phone", p -> "Electronics".equals(p.getCategory()))));
+
+        index.remove(2L);
+        assertTrue(index.search("phone").isEmpty());
+    }
+
+    @Test
+    void findsTheSameProductsAsTheNameQueryOnALargeCatalog() {
+        List<Product> products = new ArrayList<>();
+        for (long i = 1; i <= 50_000; i++) {
+            products.add(product(i, "Product " + i + (i % 100 == 0 ? " Wireless" : ""), "Category " + (i % 20), "SKU-" + i));
+        }
+        ProductSearchIndex index = new ProductSearchIndex();
+        index.rebuild(products);
+
+        //What ProductRepository's LOWER(name) LIKE LOWER('%wireless%') query returns
+        Set<Long> expected = products.stream()
+            .filter(product -> product.getName().toLowerCase().contains("wireless"))
+            .map(Product::getId)
+            .collect(Collectors.toSet());
+
+        List<Product> result = index.search("wireless");
+        assertEquals(500, expected.size());
+        assertEquals(expected, Set.copyOf(ids(result)));
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.project.code.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.project.code.Model.Review;
+
+class ReviewIndexServiceTest {
+
+    private static final IndexInfo ID = index("_id_", IndexField.create("_id", Sort.Direction.ASC));
+    private static final IndexInfo STORE_PRODUCT_RECENCY = index("store_product_recency",
+        IndexField.create("storeId", Sort.Direction.ASC),
+        IndexField.create("productId", Sort.Direction.ASC),
+        IndexField.create("_id", Sort.Direction.DESC));
+    private static final IndexInfo PRODUCT_RATING = index("any_name",
+        IndexField.create("productId", Sort.Direction.ASC),
+        IndexField.create("rating", Sort.Direction.ASC));
+
+    private IndexOperations indexOperations;
+    private ReviewIndexService reviewIndexService;
+
+    @BeforeEach
+    void setUp() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        indexOperations = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(Review.class)).thenReturn(indexOperations);
+
+        reviewIndexService = new ReviewIndexService();
+        ReflectionTestUtils.setField(reviewIndexService, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(reviewIndexService, "mappingContext", new MongoMappingContext());
+        ReflectionTestUtils.setField(reviewIndexService, "createIndexes", false);
+    }
+
+    @Test
+    void indexesAreMatchedByKeyPatternNotByName() {
+        when(indexOperations.getIndexInfo()).thenReturn(List.of(ID, STORE_PRODUCT_RECENCY, PRODUCT_RATING));
+
+        assertTrue(reviewIndexService.findMissingIndexes().isEmpty());
+    }
+
+    @Test
+    void missingIndexFailsOrWarnsDependingOnTheCheckMode() {
+        when(indexOperations.getIndexInfo()).thenReturn(List.of(ID, PRODUCT_RATING));
+
+        assertEquals(List.of("{\"storeId\": 1, \"productId\": 1, \"_id\": -1}"), reviewIndexService.findMissingIndexes());
+
+        ReflectionTestUtils.setField(reviewIndexService, "check", "fail");
+        assertThrows(IllegalStateException.class, reviewIndexService::ensureIndexes);
+
+        ReflectionTestUtils.setField(reviewIndexService, "check", "warn");
+        reviewIndexService.ensureIndexes();
+    }
+
+    private static IndexInfo index(String name, IndexField... fields) {
+        return new IndexInfo(List.of(fields), name, false, false, null);
+    }
+
+}
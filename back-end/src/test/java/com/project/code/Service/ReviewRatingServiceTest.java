@@ -0,0 +1,85 @@
+package com.project.code.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.project.code.Model.Review;
+import com.project.code.Model.ReviewRating;
+
+class ReviewRatingServiceTest {
+
+    private MongoTemplate mongoTemplate;
+    private ReviewRatingService reviewRatingService;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        reviewRatingService = new ReviewRatingService();
+        ReflectionTestUtils.setField(reviewRatingService, "mongoTemplate", mongoTemplate);
+    }
+
+    @Test
+    void reviewInsertIncrementsItsAggregateWithOneUpsert() {
+        reviewRatingService.reviewAdded(new Review(9L, 7L, 3L, 4, "Good"));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(query.capture(), update.capture(), eq("review_ratings"));
+
+        assertEquals(new Document("_id", new Document("storeId", 3L).append("productId", 7L)), query.getValue().getQueryObject());
+        assertEquals(new Document("count", 1L).append("sum", 4L).append("stars.4", 1L),
+            update.getValue().getUpdateObject().get("$inc"));
+    }
+
+    @Test
+    void ratingsOfAPageAreReadWithOneQueryInRequestOrder() {
+        ReviewRating first = rating(3L, 5L, 2, 9);
+        ReviewRating second = rating(3L, 1L, 1, 3);
+        when(mongoTemplate.find(any(Query.class), eq(ReviewRating.class))).thenReturn(List.of(first, second));
+
+        Map<Long, ReviewRating> ratings = reviewRatingService.getRatings(3L, List.of(1L, 2L, 5L));
+
+        assertEquals(List.of(1L, 5L), List.copyOf(ratings.keySet()));
+        assertEquals(4.5, ratings.get(5L).getAverage());
+        verify(mongoTemplate).find(any(Query.class), eq(ReviewRating.class));
+    }
+
+    @Test
+    void rebuildGroupsByStoreAndProductAndMergesIntoTheAggregates() {
+        List<Document> pipeline = ReviewRatingService.rebuildPipeline(new Date());
+
+        assertEquals(List.of("$match", "$group", "$project", "$merge"),
+            pipeline.stream().map(stage -> stage.keySet().iterator().next()).toList());
+
+        Document group = pipeline.get(1).get("$group", Document.class);
+        assertEquals(new Document("storeId", "$storeId").append("productId", "$productId"), group.get("_id"));
+        assertEquals(List.of("_id", "count", "sum", "star1", "star2", "star3", "star4", "star5"), List.copyOf(group.keySet()));
+        assertEquals("review_ratings", pipeline.get(3).get("$merge", Document.class).getString("into"));
+    }
+
+    private static ReviewRating rating(Long storeId, Long productId, long count, long sum) {
+        ReviewRating rating = new ReviewRating();
+        ReflectionTestUtils.setField(rating, "id", new ReviewRating.Key(storeId, productId));
+        ReflectionTestUtils.setField(rating, "count", count);
+        ReflectionTestUtils.setField(rating, "sum", sum);
+        return rating;
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.project.code.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.code.Model.Inventory;
+import com.project.code.Model.Product;
+import com.project.code.Model.Store;
+import com.project.code.Repo.InventoryRepository;
+import com.project.code.Repo.ProductRepository;
+import com.project.code.Repo.StoreRepository;
+
+@SpringBootTest
+class StockAvailabilityServiceTest {
+
+    @Autowired
+    private StockAvailabilityService stockAvailabilityService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Store store;
+    private Product product;
+
+    @BeforeEach
+    void seed() {
+        store = storeRepository.save(new Store("Availability Store", "4 Availability Road"));
+        product = new Product();
+        product.setName("Availability Kettle " + System.nanoTime());
+        product.setCategory("Home");
+        product.setPrice(20.0);
+        product.setSku("AVAIL-" + System.nanoTime());
+        product = productRepository.save(product);
+        inventoryRepository.save(new Inventory(product, store, 5));
+    }
+
+    @Test
+    void reservationsHoldStockUntilTheTransactionCompletes() {
+        Map<Long, Integer> cart = Map.of(product.getId(), 3);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(stockAvailabilityService.reserve(store.getId(), cart).isEmpty());
+            assertEquals(2, stockAvailabilityService.getAvailable(store.getId(), product.getId()));
+            assertEquals(List.of(product.getId()), stockAvailabilityService.reserve(store.getId(), cart));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(5, stockAvailabilityService.getAvailable(store.getId(), product.getId()));
+    }
+
+    @Test
+    void aShortfallRereadsOnlyTheShortProducts() {
+        Product other = new Product();
+        other.setName("Availability Mug " + System.nanoTime());
+        other.setCategory("Home");
+        other.setPrice(5.0);
+        other.setSku("AVAIL-" + System.nanoTime());
+        other = productRepository.save(other);
+        inventoryRepository.save(new Inventory(other, store, 1));
+        assertEquals(5, stockAvailabilityService.getAvailable(store.getId(), product.getId()));
+
+        //Stock changed behind the application's back
+        String restock = "UPDATE inventory SET stock_level = ? WHERE product_id = ? AND store_id = ?";
+        jdbcTemplate.update(restock, 9, product.getId(), store.getId());
+        jdbcTemplate.update(restock, 7, other.getId(), store.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(stockAvailabilityService.reserve(store.getId(), Map.of(product.getId(), 8)).isEmpty());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(9, stockAvailabilityService.getAvailable(store.getId(), product.getId()));
+        assertEquals(1, stockAvailabilityService.getAvailable(store.getId(), other.getId()), "the store must not be reloaded");
+    }
+
+    @Test
+    void validatesWholeCartsAndRejectsUnknownProducts() {
+        assertTrue(stockAvailabilityService.validateCart(store.getId(), Map.of(product.getId(), 5)).isEmpty());
+        assertEquals(List.of(product.getId()), stockAvailabilityService.validateCart(store.getId(), Map.of(product.getId(), 6)));
+        assertEquals(List.of(-1L), stockAvailabilityService.validateCart(store.getId(), Map.of(-1L, 1)));
+    }
+
+    @Test
+    void reservingOutsideATransactionFails() {
+        assertThrows(IllegalStateException.class,
+            () -> stockAvailabilityService.reserve(store.getId(), Map.of(product.getId(), 1)));
+    }
+}
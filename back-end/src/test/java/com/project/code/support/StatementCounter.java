@@ -0,0 +1,134 @@
+package com.project.code.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import com.project.code.Service.LowStockMonitor;
+
+/**
+ * Counts JDBC round trips (statement executions and batch flushes) issued
+ * through the application {@link DataSource}. Import it into a Spring Boot test
+ * and read {@link #count()} around the code under measurement. The SQL of the
+ * prepared statements is recorded as well ({@link #preparedSql()}). Statements of the
+ * {@link LowStockMonitor} background thread and of scheduled tasks are not counted.
+ */
+public class StatementCounter {
+
+    private final AtomicLong executions = new AtomicLong();
+    private final List<String> preparedSql = new CopyOnWriteArrayList<>();
+
+    public long count() {
+        return executions.get();
+    }
+
+    public List<String> preparedSql() {
+        return List.copyOf(preparedSql);
+    }
+
+    public void reset() {
+        executions.set(0);
+        preparedSql.clear();
+    }
+
+    DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (method, args, result) -> {
+            if (result instanceof Connection connection) {
+                return wrapConnection(connection);
+            }
+            return result;
+        });
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, result) -> {
+            if (method.getName().equals("prepareStatement") && args[0] instanceof String sql && !isBackgroundMonitor()) {
+                preparedSql.add(sql);
+            }
+            if (result instanceof CallableStatement statement) {
+                return wrapStatement(CallableStatement.class, statement);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return wrapStatement(PreparedStatement.class, statement);
+            }
+            if (result instanceof Statement statement) {
+                return wrapStatement(Statement.class, statement);
+            }
+            return result;
+        });
+    }
+
+    private <T extends Statement> T wrapStatement(Class<T> type, T statement) {
+        return proxy(type, statement, (method, args, result) -> {
+            if (method.getName().startsWith("execute") && !isBackgroundMonitor()) {
+                executions.incrementAndGet();
+            }
+            return result;
+        });
+    }
+
+    // The low-stock monitor and the scheduled tasks (such as the change outbox flush) react to the
+    // changes of the code under measurement on their own threads and at their own pace; their
+    // statements are not round trips of that code.
+    private static boolean isBackgroundMonitor() {
+        String thread = Thread.currentThread().getName();
+        return thread.equals(LowStockMonitor.THREAD_NAME) || thread.startsWith("scheduling-");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, ResultDecorator decorator) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals("unwrap") && args != null && args[0] instanceof Class<?> iface
+                && iface.isInstance(target)) {
+                return iface.cast(target);
+            }
+            try {
+                return decorator.decorate(method, args, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private interface ResultDecorator {
+        Object decorate(Method method, Object[] args, Object result);
+    }
+
+    /**
+     * Registers a shared {@link StatementCounter} and wraps the DataSource with it.
+     */
+    @TestConfiguration
+    public static class Config {
+
+        @Bean
+        public static StatementCounter statementCounter() {
+            return new StatementCounter();
+        }
+
+        @Bean
+        public static BeanPostProcessor statementCountingPostProcessor(StatementCounter counter) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    //Only the application DataSource, not the pools it may route between
+                    return bean instanceof DataSource dataSource && "dataSource".equals(beanName) ? counter.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
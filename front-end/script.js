@@ -90,17 +90,18 @@ function deleteDiv(count) {
 }
 
 function calculateTotal() {
-    let total = 0;
+    // Sum in whole cents so the total matches the one computed by the server
+    let totalCents = 0;
     for (let i = 1; i <= Ordercount; i++) {
         totalField = document.getElementById(`orderTotal${i}`);
         if (totalField) {
             if (totalField.value)
-                total = total + parseInt(totalField.value)
+                totalCents = totalCents + Math.round(parseFloat(totalField.value) * 100)
         }
 
     }
 
-    document.getElementById('totalOrderValue').value = total;
+    document.getElementById('totalOrderValue').value = (totalCents / 100).toFixed(2);
 }
 
 
@@ -184,7 +185,7 @@ function calculatePrice(count) {
     price = document.getElementById(`orderProductPrice${count}`).value;
     quantity = document.getElementById(`orderProductQuantity${count}`).value;
     total = document.getElementById(`orderTotal${count}`);
-    total.value = (price * quantity);
+    total.value = (Math.round(parseFloat(price) * 100) * (parseInt(quantity) || 0) / 100).toFixed(2);
     calculateTotal();
 }
 
@@ -351,7 +352,7 @@ async function createData(products, storeId) {
 
         const stockLevel = document.createElement('td');
         stockLevel.classList.add('expandable');
-        stockLevel.textContent = product.inventory[0].stockLevel;
+        stockLevel.textContent = product.stockLevel;
 
         const reviewCol = document.createElement('td');
         const reviewBtn = document.createElement('button');
@@ -369,7 +370,7 @@ async function createData(products, storeId) {
         button.classList.add('btn', 'btn-warning');
         button.textContent = 'Edit';
         button.addEventListener('click', () => {
-            window.location = `edit-product.html?productId=${product.id}&storeId=${storeId}&stockLevel=${product.inventory[0].stockLevel}`;
+            window.location = `edit-product.html?productId=${product.id}&storeId=${storeId}&stockLevel=${product.stockLevel}`;
 
         });
         buttoncolumn.appendChild(button);
@@ -938,7 +939,7 @@ async function placeOrder(event) {
                 location.href = "index.html?id=navBar4";
             }
             else {
-                alert(data.error);
+                alert(data.Error);
             }
         })
 